@@ -31,11 +31,12 @@ public class Main {
         scanner = new Scanner(System.in);
         sincronizador = GerenciadorSincronizacao.getInstancia();
 
-        // Adicionar shutdown hook para parar sincronização ao fechar
+        // Adicionar shutdown hook para parar sincronização e liberar OCR ao fechar
         Runtime.getRuntime().addShutdownHook(new Thread(() -> {
             if (sincronizador.isExecutando()) {
                 sincronizador.parar(); // apenas para em silêncio; logs ficam no SistemaLog
             }
+            fachada.encerrar();
         }));
 
         System.out.println("╔═══════════════════════════════════════════════════════════╗");
@@ -431,6 +432,7 @@ public class Main {
         System.out.println("5. Retomar monitoramento");
         System.out.println("6. Parar monitoramento");
         System.out.println("7. Verificar estado do monitoramento");
+        System.out.println("8. Calibrar leitura por templates de um SHA");
         System.out.println("0. Voltar");
         System.out.print("\nOpção: ");
         
@@ -445,6 +447,7 @@ public class Main {
             case 5: retomarMonitoramento(); break;
             case 6: pararMonitoramento(); break;
             case 7: verificarEstadoMonitoramento(); break;
+            case 8: calibrarTemplatesSHA(); break;
         }
     }
     
@@ -481,10 +484,20 @@ public class Main {
         System.out.print("Intervalo em segundos: ");
         int intervalo = lerInteiro();
         
+        System.out.print("Intervalo máximo sem consumo em segundos (Enter = fixo): ");
+        int intervaloMaximo = lerInteiro();
+        
         try {
-            fachada.iniciarMonitoramentoConta(numeroConta, intervalo);
-            System.out.println("\n✅ Monitoramento iniciado!");
-            System.out.println("💡 O sistema verificará o consumo a cada " + intervalo + " segundos");
+            if (intervaloMaximo > intervalo) {
+                fachada.iniciarMonitoramentoAdaptativo(numeroConta, intervalo, intervaloMaximo);
+                System.out.println("\n✅ Monitoramento iniciado!");
+                System.out.println("💡 O sistema verificará o consumo a cada " + intervalo + " a " +
+                                   intervaloMaximo + " segundos, conforme o consumo");
+            } else {
+                fachada.iniciarMonitoramentoConta(numeroConta, intervalo);
+                System.out.println("\n✅ Monitoramento iniciado!");
+                System.out.println("💡 O sistema verificará o consumo a cada " + intervalo + " segundos");
+            }
             System.out.println("💡 Se o limite for excedido, alertas serão disparados automaticamente");
         } catch (Exception e) {
             System.out.println("\n❌ Erro: " + e.getMessage());
@@ -515,6 +528,22 @@ public class Main {
         System.out.println("\n✅ Monitoramento parado!");
     }
     
+    private static void calibrarTemplatesSHA() {
+        System.out.print("ID do SHA: ");
+        int idSHA = lerInteiro();
+        
+        System.out.print("Leitura exibida no odômetro (ex.: 000123): ");
+        String leitura = scanner.nextLine().trim();
+        
+        try {
+            fachada.calibrarTemplatesSHA(idSHA, leitura);
+            System.out.println("\n✅ Templates do SHA " + idSHA + " calibrados!");
+            System.out.println("💡 Repita com outras leituras até cobrir os dígitos 0 a 9");
+        } catch (Exception e) {
+            System.out.println("\n❌ Erro: " + e.getMessage());
+        }
+    }
+    
     private static void verificarEstadoMonitoramento() {
         System.out.print("Número da conta: ");
         String numeroConta = scanner.nextLine();
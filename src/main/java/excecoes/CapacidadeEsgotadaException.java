@@ -0,0 +1,30 @@
+package excecoes;
+
+/**
+ * Exceção lançada quando a leitura não chega a ser concluída por falta de
+ * capacidade ou de tempo: nenhum motor/trabalhador OCR livre no prazo,
+ * leitura que estourou o prazo, ou leitura abandonada sem resultado.
+ *
+ * Não indica defeito na câmera nem na imagem: o leitor estava saturado.
+ * Por isso não conta como falha no disjuntor do SHA (que suspenderia uma
+ * câmera saudável justamente sob carga).
+ *
+ * @author Pedro Henrique
+ * @date 2026-10-16
+ */
+public class CapacidadeEsgotadaException extends ErroDeLeituraImagemException {
+
+    /**
+     * Construtor com mensagem
+     */
+    public CapacidadeEsgotadaException(String mensagem) {
+        super(mensagem);
+    }
+
+    /**
+     * Construtor com mensagem e causa
+     */
+    public CapacidadeEsgotadaException(String mensagem, Throwable causa) {
+        super(mensagem, causa);
+    }
+}
@@ -0,0 +1,32 @@
+package excecoes;
+
+/**
+ * Exceção lançada quando a leitura de um SHA é bloqueada pelo disjuntor
+ * (circuito ABERTO após falhas consecutivas da câmera/imagem).
+ *
+ * Nenhum OCR é executado: o SHA só volta a ser lido quando o tempo de
+ * recuo acabar e a leitura de sondagem for bem-sucedida. Por isso não conta
+ * como nova falha no monitoramento.
+ *
+ * @author Pedro Henrique
+ * @date 2026-10-16
+ */
+public class CircuitoAbertoException extends ErroDeLeituraImagemException {
+
+    private final long tempoAteSondagemMs;
+
+    /**
+     * Construtor com mensagem e tempo restante até a próxima sondagem
+     */
+    public CircuitoAbertoException(String mensagem, long tempoAteSondagemMs) {
+        super(mensagem);
+        this.tempoAteSondagemMs = tempoAteSondagemMs;
+    }
+
+    /**
+     * @return Tempo (ms) até o disjuntor permitir uma nova tentativa (0 = sondagem em andamento)
+     */
+    public long getTempoAteSondagemMs() {
+        return tempoAteSondagemMs;
+    }
+}
@@ -0,0 +1,48 @@
+package excecoes;
+
+/**
+ * Exceção lançada quando um quadro é rejeitado pelo filtro de qualidade
+ * ANTES do OCR (desfocado, mal exposto ou sem dígitos legíveis), ou quando
+ * nenhum motor o reconhece com confiança suficiente (CONFIANCA_BAIXA).
+ *
+ * Não indica defeito na câmera nem no OCR: o quadro simplesmente não pode
+ * ser lido, e a próxima captura provavelmente poderá. Por isso não conta
+ * como falha consecutiva no monitoramento.
+ *
+ * @author Pedro Henrique
+ * @date 2026-10-16
+ */
+public class ImagemRejeitadaException extends ErroDeLeituraImagemException {
+
+    /**
+     * Motivo da rejeição.
+     */
+    public enum Motivo {
+        /** Variância do Laplaciano abaixo do limiar (borrado/tremido) */
+        DESFOCADA,
+        /** Histograma concentrado nos tons escuros */
+        ESCURA,
+        /** Histograma concentrado nos tons claros (reflexo/estouro) */
+        ESTOURADA,
+        /** Poucas bordas na faixa do visor (sem dígitos ou região errada) */
+        SEM_DIGITOS,
+        /** Bordas demais na faixa do visor (dígitos rolando, ruído) */
+        RUIDOSA,
+        /** Lido, mas nenhum motor atingiu o limiar de confiança (LeitorHedgeImpl) */
+        CONFIANCA_BAIXA
+    }
+
+    private final Motivo motivo;
+
+    /**
+     * Construtor com mensagem e motivo
+     */
+    public ImagemRejeitadaException(String mensagem, Motivo motivo) {
+        super(mensagem);
+        this.motivo = motivo;
+    }
+
+    public Motivo getMotivo() {
+        return motivo;
+    }
+}
@@ -3,7 +3,9 @@ package fachada;
 import dto.AlertaDTO;
 import dto.ContaAguaDTO;
 import dto.UsuarioDTO;
+import excecoes.ErroDeLeituraImagemException;
 import excecoes.OperacaoNaoPermitidaException;
+import modelo.AgendamentoMonitoramento;
 import modelo.enums.PerfilUsuario;
 import modelo.enums.TipoEstadoConta;
 import modelo.enums.TipoNotificacao;
@@ -12,15 +14,31 @@ import subsistemas.alertas.SistemaAlertas;
 import subsistemas.comandos.GerenciadorComandos;
 import subsistemas.contas.GerenciadorContas;
 import subsistemas.log.SistemaLog;
-import subsistemas.monitoramento.LeitorOCRImpl;
+import subsistemas.monitoramento.CacheRegioesVisor;
+import subsistemas.monitoramento.CarregadorImagem;
+import subsistemas.monitoramento.ContextoMonitoramento;
+import subsistemas.monitoramento.ConvencaoImagemSHA;
+import subsistemas.monitoramento.FiltroQualidadeImagem;
+import subsistemas.monitoramento.LeitorCacheImpl;
+import subsistemas.monitoramento.LeitorHedgeImpl;
+import subsistemas.monitoramento.LeitorImplementador;
+import subsistemas.monitoramento.LeitorOCRPoolImpl;
+import subsistemas.monitoramento.LeitorProcessoImpl;
+import subsistemas.monitoramento.LeitorTemplateDigitosImpl;
+import subsistemas.monitoramento.LeitorTessAPIImpl;
 import subsistemas.monitoramento.MonitorConsumo;
+import subsistemas.monitoramento.PreProcessadorImagem;
+import subsistemas.monitoramento.ResultadoLeitura;
 import subsistemas.notificacoes.GerenciadorNotificacoes;
 import subsistemas.persistencia.GerenciadorDados;
 import subsistemas.persistencia.PersistenciaArquivoImpl;
 import subsistemas.usuarios.GerenciadorUsuarios;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Fachada do Painel de Monitoramento de Hidrômetros.
@@ -43,6 +61,13 @@ public class FachadaPainel {
     protected GerenciadorDados dados;
     protected SistemaLog log;
     protected GerenciadorComandos comandos;
+    protected LeitorOCRPoolImpl leitorOCR;
+    protected LeitorProcessoImpl leitorProcessos;
+    protected LeitorTemplateDigitosImpl leitorTemplates;
+    protected LeitorHedgeImpl leitorHedge;
+    protected LeitorCacheImpl cacheLeituras;
+    protected FiltroQualidadeImagem filtroQualidade;
+
 
     // SINGLETON - Construtor PROTEGIDO
     protected FachadaPainel() {
@@ -60,14 +85,52 @@ public class FachadaPainel {
         this.usuarios = new GerenciadorUsuarios();
         log.info("✓ Gerenciador de Usuários inicializado");
 
-        // 4. Contas
-        this.contas = new GerenciadorContas();
-        log.info("✓ Gerenciador de Contas inicializado");
+        // 4. Contas (persistidas, com os SHAs vinculados)
+        this.contas = new GerenciadorContas(dados);
+        log.info("✓ Gerenciador de Contas inicializado (" + contas.quantidade() + " conta(s) carregada(s))");
 
         // 5. Monitoramento (Bridge)
-        // é lido o valor do consumo via OCR
-        this.monitor = new MonitorConsumo(new LeitorOCRImpl(), contas);
-        log.info("✓ Monitor de Consumo inicializado (Bridge com LeitorOCRImpl)");
+        // é lido o valor do consumo via OCR (um handle Tesseract persistente por núcleo),
+        // reconhecendo apenas a faixa do visor recortada e binarizada pelo OpenCV.
+        // A região do visor de cada SHA é detectada uma vez e persistida, e
+        // imagens inalteradas (mesma impressão digital) reaproveitam o último resultado.
+        // Template e OCR disputam cada leitura (hedge): vence o primeiro resultado
+        // confiável; o OCR parte logo depois do template, ou na hora se ele falhar.
+        // Leituras confiáveis do OCR calibram os modelos do template de cada SHA.
+        // Com -Dpainel.ocr.processos=true o OCR roda em processos trabalhadores
+        // isolados: uma falha nativa do Tesseract derruba só o trabalhador
+        // (limiares do filtro e regiões do visor continuam os do painel).
+        // Quadros borrados/escuros/sem dígitos são rejeitados antes do OCR.
+        this.filtroQualidade = new FiltroQualidadeImagem();
+        PreProcessadorImagem preProcessador = new PreProcessadorImagem(new CarregadorImagem(), filtroQualidade);
+        CacheRegioesVisor cacheRegioes = new CacheRegioesVisor(dados);
+        LeitorImplementador motorOCR;
+        int motores;
+        if (Boolean.getBoolean("painel.ocr.processos")) {
+            this.leitorProcessos = new LeitorProcessoImpl(filtroQualidade, cacheRegioes);
+            motorOCR = leitorProcessos;
+            motores = leitorProcessos.getQuantidadeTrabalhadores();
+        } else {
+            this.leitorOCR = new LeitorOCRPoolImpl(
+                Runtime.getRuntime().availableProcessors(),
+                LeitorOCRPoolImpl.TIMEOUT_CHECKOUT_PADRAO_MS,
+                () -> new LeitorTessAPIImpl(preProcessador, cacheRegioes)
+            );
+            motorOCR = leitorOCR;
+            motores = leitorOCR.getTamanhoPool();
+        }
+        this.leitorTemplates = new LeitorTemplateDigitosImpl(preProcessador, cacheRegioes, null);
+        this.leitorHedge = new LeitorHedgeImpl()
+            .adicionarMotor("template", leitorTemplates, 0)
+            .adicionarMotor("ocr", motorOCR, LeitorHedgeImpl.ATRASO_PARTIDA_PADRAO_MS, motores);
+        this.leitorHedge.setOuvinteVencedor(leitorTemplates::aprenderComLeitura);
+        this.cacheLeituras = new LeitorCacheImpl(leitorHedge);
+        // Ciclos em estágios limitados; no máximo um ciclo por motor na etapa de OCR
+        this.monitor = new MonitorConsumo(cacheLeituras, contas, "202311250023", motores);
+        log.info("✓ Monitor de Consumo inicializado (Bridge com LeitorCacheImpl + LeitorHedgeImpl + " +
+                 (leitorProcessos != null
+                     ? "LeitorProcessoImpl, " + motores + " processos OCR)"
+                     : "LeitorOCRPoolImpl, " + motores + " motores TessAPI)"));
 
         // 6. Notificações (Strategy + Factory)
         subsistemas.notificacoes.EnviadorEmail enviadorEmail =
@@ -87,6 +150,11 @@ public class FachadaPainel {
         this.comandos = new GerenciadorComandos();
         log.info("✓ Gerenciador de Comandos inicializado");
 
+        // 9. Monitoramento persistido (retomado sem reconfiguração manual;
+        // conta que entra em ERRO sai do disco junto com o agendamento)
+        this.monitor.setOuvinteFimAgendamento(this::persistirAgendamento);
+        restaurarAgendamentosMonitoramento();
+
         log.info("═══════════════════════════════════════════════");
         log.info("Sistema PAINEL SHA iniciado com sucesso!");
         log.info("═══════════════════════════════════════════════");
@@ -100,6 +168,72 @@ public class FachadaPainel {
         return instancia;
     }
 
+    /**
+     * Encerra monitoramento e libera os motores OCR (handles nativos).
+     */
+    public void encerrar() {
+        monitor.shutdown();
+        leitorHedge.close();
+        if (leitorOCR != null) {
+            leitorOCR.encerrar();
+        }
+        if (leitorProcessos != null) {
+            leitorProcessos.close();
+        }
+        log.info("Painel encerrado: monitoramento parado e motores OCR liberados");
+    }
+
+    /**
+     * Retoma o monitoramento persistido de cada conta (as contas e seus SHAs
+     * já foram carregados). Os primeiros ciclos são espalhados em poucos
+     * segundos (MonitorConsumo.restaurarMonitoramento). Agendamentos de contas
+     * que não existem mais são descartados.
+     */
+    private void restaurarAgendamentosMonitoramento() {
+        int restaurados = 0;
+        for (AgendamentoMonitoramento agendamento : dados.listarAgendamentosMonitoramento()) {
+            String numeroConta = agendamento.getNumeroConta();
+            if (!contas.existe(numeroConta)) {
+                log.warn("Agendamento de monitoramento descartado: conta " + numeroConta + " não cadastrada");
+                dados.removerAgendamentoMonitoramento(numeroConta);
+                continue;
+            }
+            if (restaurarAgendamento(agendamento)) {
+                restaurados++;
+            }
+        }
+        if (restaurados > 0) {
+            log.info("✓ Monitoramento restaurado: " + restaurados + " conta(s)");
+        }
+    }
+
+    private boolean restaurarAgendamento(AgendamentoMonitoramento agendamento) {
+        try {
+            monitor.restaurarMonitoramento(agendamento.getNumeroConta(), agendamento.getIntervaloMinimoSegundos(),
+                agendamento.getIntervaloMaximoSegundos(), agendamento.isPausado());
+            log.info("Monitoramento restaurado para conta " + agendamento.getNumeroConta() +
+                     (agendamento.isPausado() ? " (pausado)" : ""));
+            return true;
+        } catch (IllegalArgumentException e) {
+            log.error("Agendamento de monitoramento inválido para conta " + agendamento.getNumeroConta(), e);
+            return false;
+        }
+    }
+
+    /**
+     * Persiste o agendamento atual da conta (ou o remove, se não há monitoramento).
+     */
+    private void persistirAgendamento(String numeroConta) {
+        ContextoMonitoramento contexto = monitor.getContexto(numeroConta);
+        if (contexto == null || !contexto.isAgendado()) {
+            dados.removerAgendamentoMonitoramento(numeroConta);
+            return;
+        }
+        boolean pausado = "PAUSADO".equals(contexto.getEstadoMonitoramento().getNomeEstado());
+        dados.salvarAgendamentoMonitoramento(new AgendamentoMonitoramento(numeroConta,
+            contexto.getIntervaloMinimoSegundos(), contexto.getIntervaloMaximoSegundos(), pausado));
+    }
+
     // ========================================================================
     // RF01 – CRUD DE USUÁRIOS
     // ========================================================================
@@ -152,7 +286,10 @@ public class FachadaPainel {
     }
 
     public void removerConta(String numeroConta) {
+        // Sem a conta, o monitoramento só acumularia falhas até o ERRO
+        monitor.pararMonitoramentoConta(numeroConta);
         contas.remover(numeroConta);
+        persistirAgendamento(numeroConta);
         log.info("Conta removida: " + numeroConta);
     }
 
@@ -162,11 +299,13 @@ public class FachadaPainel {
 
     public void vincularSHAConta(String numeroConta, int idSHA) {
         contas.vincularSHA(numeroConta, idSHA);
+        monitor.atualizarDemandaSHAs(numeroConta);
         log.info("SHA " + idSHA + " vinculado à conta " + numeroConta);
     }
 
     public void desvincularSHAConta(String numeroConta, int idSHA) {
         contas.desvincularSHA(numeroConta, idSHA);
+        monitor.atualizarDemandaSHAs(numeroConta);
         log.info("SHA " + idSHA + " desvinculado da conta " + numeroConta);
     }
 
@@ -217,35 +356,143 @@ public class FachadaPainel {
         }
     }
 
+    /**
+     * Lê vários SHAs de uma vez (em paralelo no pool OCR).
+     * Falhas individuais são registradas no log e retornadas no resultado.
+     */
+    public Map<Integer, ResultadoLeitura> obterConsumoSHAs(Collection<Integer> shaIds) {
+        Map<Integer, ResultadoLeitura> resultados = monitor.lerConsumoSHAs(shaIds);
+        for (Map.Entry<Integer, ResultadoLeitura> leitura : resultados.entrySet()) {
+            ResultadoLeitura resultado = leitura.getValue();
+            if (resultado.isSucesso()) {
+                log.info("Consumo do SHA " + leitura.getKey() + ": " + resultado.getConsumo() + " m³");
+            } else {
+                log.error("Erro ao ler consumo do SHA " + leitura.getKey(), resultado.getErro());
+            }
+        }
+        return resultados;
+    }
+
     public void iniciarMonitoramentoConta(String numeroConta, int intervaloSegundos) {
         monitor.iniciarMonitoramentoConta(numeroConta, intervaloSegundos);
+        persistirAgendamento(numeroConta);
         log.info("Monitoramento iniciado para conta " + numeroConta +
                  " (intervalo: " + intervaloSegundos + "s)");
     }
 
+    /**
+     * Monitoramento com intervalo adaptativo: alonga o intervalo enquanto o
+     * consumo não muda e volta ao mínimo ao detectar consumo ou perto do limite.
+     */
+    public void iniciarMonitoramentoAdaptativo(String numeroConta, int intervaloMinimoSegundos,
+                                               int intervaloMaximoSegundos) {
+        monitor.iniciarMonitoramentoAdaptativo(numeroConta, intervaloMinimoSegundos, intervaloMaximoSegundos);
+        persistirAgendamento(numeroConta);
+        log.info("Monitoramento adaptativo iniciado para conta " + numeroConta +
+                 " (intervalo: " + intervaloMinimoSegundos + "s a " + intervaloMaximoSegundos + "s)");
+    }
+
     public void pausarMonitoramentoConta(String numeroConta) {
         monitor.pausarMonitoramento(numeroConta);
+        persistirAgendamento(numeroConta);
         log.info("Monitoramento pausado para conta " + numeroConta);
     }
 
     public void retomarMonitoramentoConta(String numeroConta) {
         monitor.retomarMonitoramento(numeroConta);
+        persistirAgendamento(numeroConta);
         log.info("Monitoramento retomado para conta " + numeroConta);
     }
 
     public void pararMonitoramentoConta(String numeroConta) {
         monitor.pararMonitoramentoConta(numeroConta);
+        persistirAgendamento(numeroConta);
         log.info("Monitoramento parado para conta " + numeroConta);
     }
 
     public subsistemas.monitoramento.state.EstadoMonitoramento consultarEstadoMonitoramento(String numeroConta) {
-        return monitor.getEstadoMonitoramento();
+        return monitor.getEstadoMonitoramento(numeroConta);
     }
 
     public boolean isMonitoramentoAtivo(String numeroConta) {
         return monitor.isMonitoramentoAtivo(numeroConta);
     }
 
+    public String obterEstatisticasBarramento() {
+        return monitor.getEstatisticasBarramento();
+    }
+
+    public String obterEstatisticasAgendador() {
+        return monitor.getEstatisticasAgendador();
+    }
+
+    /**
+     * @return Fila, espera e processamento de cada estágio do ciclo de leitura
+     */
+    public String obterEstatisticasPipeline() {
+        return monitor.getEstatisticasPipeline();
+    }
+
+    /**
+     * Assina as leituras de um SHA (ex.: painel ao vivo). O SHA é lido uma vez
+     * por período efetivo, compartilhado com as contas que o monitoram.
+     */
+    public void assinarConsumoSHA(int idSHA, String assinante, int intervaloSegundos,
+                                  Consumer<ResultadoLeitura> ouvinte) {
+        monitor.assinarConsumoSHA(idSHA, assinante, intervaloSegundos, ouvinte);
+        log.info("Assinatura do SHA " + idSHA + " por " + assinante + " (" + intervaloSegundos + "s)");
+    }
+
+    public void cancelarAssinaturaConsumoSHA(int idSHA, String assinante) {
+        monitor.cancelarAssinaturaConsumoSHA(idSHA, assinante);
+    }
+
+    /**
+     * @return Nível de carga do OCR e decisões de degradação (intervalos esticados, cache)
+     */
+    public String obterEstatisticasSobrecarga() {
+        return monitor.getEstatisticasSobrecarga();
+    }
+
+    public String obterEstatisticasAgendadorSHA() {
+        return monitor.getEstatisticasAgendadorSHA();
+    }
+
+    /**
+     * @return SHAs em recuo (disjuntor aberto) e ciclos bloqueados
+     */
+    public String obterEstatisticasDisjuntores() {
+        return monitor.getEstatisticasDisjuntores();
+    }
+
+    /**
+     * @return Atraso, duração e ticks pulados do monitoramento de uma conta
+     */
+    public String obterEstatisticasMonitoramentoConta(String numeroConta) {
+        return monitor.getEstatisticasConta(numeroConta);
+    }
+
+    /**
+     * Calibra os modelos de dígitos de um SHA com a imagem atual e a leitura
+     * exibida no odômetro (ex.: "000123"), sem esperar o aprendizado pelo OCR.
+     */
+    public void calibrarTemplatesSHA(int idSHA, String leituraConhecida) {
+        try {
+            leitorTemplates.calibrar(ConvencaoImagemSHA.construirCaminho(idSHA), idSHA, leituraConhecida);
+            log.info("Templates calibrados para SHA " + idSHA + " (" + leituraConhecida + ")");
+        } catch (ErroDeLeituraImagemException e) {
+            log.error("Erro ao calibrar templates do SHA " + idSHA, e);
+            throw new RuntimeException("Erro ao calibrar templates do SHA " + idSHA, e);
+        }
+    }
+
+    public String obterEstatisticasOCR() {
+        return monitor.getEstatisticasCoalescencia() + " | " +
+               cacheLeituras.getEstatisticas() + " | " + filtroQualidade.getEstatisticas() +
+               " | " + leitorHedge.getEstatisticas() + " | " + leitorTemplates.getEstatisticas() +
+               " | " + (leitorOCR != null ? leitorOCR.getEstatisticas() : leitorProcessos.getEstatisticas());
+    }
+
     // ========================================================================
     // RF03 – SISTEMA DE ALERTAS
     // ========================================================================
@@ -0,0 +1,87 @@
+package modelo;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Agendamento do monitoramento de uma conta, persistido para sobreviver a
+ * reinícios: intervalo (mínimo e máximo, se adaptativo) e se está pausado.
+ * Na inicialização o painel retoma cada agendamento sem reconfiguração manual.
+ *
+ * @author Pedro Henrique
+ */
+public class AgendamentoMonitoramento {
+    private String numeroConta;
+    private int intervaloMinimoSegundos;
+    private int intervaloMaximoSegundos;
+    private boolean pausado;
+    private LocalDateTime dataAtualizacao;
+
+    /**
+     * Construtor completo
+     */
+    public AgendamentoMonitoramento(String numeroConta, int intervaloMinimoSegundos,
+                                    int intervaloMaximoSegundos, boolean pausado) {
+        this.numeroConta = numeroConta;
+        this.intervaloMinimoSegundos = intervaloMinimoSegundos;
+        this.intervaloMaximoSegundos = intervaloMaximoSegundos;
+        this.pausado = pausado;
+        this.dataAtualizacao = LocalDateTime.now();
+    }
+
+    // Getters e Setters
+
+    public String getNumeroConta() {
+        return numeroConta;
+    }
+
+    public int getIntervaloMinimoSegundos() {
+        return intervaloMinimoSegundos;
+    }
+
+    public int getIntervaloMaximoSegundos() {
+        return intervaloMaximoSegundos;
+    }
+
+    public boolean isAdaptativo() {
+        return intervaloMaximoSegundos > intervaloMinimoSegundos;
+    }
+
+    public boolean isPausado() {
+        return pausado;
+    }
+
+    public LocalDateTime getDataAtualizacao() {
+        return dataAtualizacao;
+    }
+
+    public void setDataAtualizacao(LocalDateTime dataAtualizacao) {
+        this.dataAtualizacao = dataAtualizacao;
+    }
+
+    // Equals e HashCode baseados na conta
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        AgendamentoMonitoramento that = (AgendamentoMonitoramento) o;
+        return Objects.equals(numeroConta, that.numeroConta);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(numeroConta);
+    }
+
+    @Override
+    public String toString() {
+        return "AgendamentoMonitoramento{" +
+                "numeroConta='" + numeroConta + '\'' +
+                ", intervaloMinimoSegundos=" + intervaloMinimoSegundos +
+                ", intervaloMaximoSegundos=" + intervaloMaximoSegundos +
+                ", pausado=" + pausado +
+                ", dataAtualizacao=" + dataAtualizacao +
+                '}';
+    }
+}
@@ -0,0 +1,121 @@
+package modelo;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Região do visor (odômetro) detectada na imagem de um hidrômetro (SHA).
+ * Como cada SHA tem câmera fixa, a região é detectada uma vez e reaproveitada
+ * nas leituras seguintes, até a confiança do OCR cair ou o quadro mudar de tamanho.
+ *
+ * @author Pedro Henrique
+ */
+public class RegiaoVisor {
+    private int idSHA;
+    private int x;
+    private int y;
+    private int largura;
+    private int altura;
+    private int larguraQuadro;
+    private int alturaQuadro;
+    private double inclinacao;
+    private LocalDateTime dataDeteccao;
+
+    /**
+     * Construtor completo
+     */
+    public RegiaoVisor(int idSHA, int x, int y, int largura, int altura,
+                       int larguraQuadro, int alturaQuadro, double inclinacao) {
+        this.idSHA = idSHA;
+        this.x = x;
+        this.y = y;
+        this.largura = largura;
+        this.altura = altura;
+        this.larguraQuadro = larguraQuadro;
+        this.alturaQuadro = alturaQuadro;
+        this.inclinacao = inclinacao;
+        this.dataDeteccao = LocalDateTime.now();
+    }
+
+    /**
+     * Verifica se a região foi detectada em um quadro com a mesma geometria.
+     *
+     * @param larguraQuadro Largura do quadro atual
+     * @param alturaQuadro Altura do quadro atual
+     * @return true se a região continua válida para o quadro
+     */
+    public boolean compativelCom(int larguraQuadro, int alturaQuadro) {
+        return this.larguraQuadro == larguraQuadro && this.alturaQuadro == alturaQuadro;
+    }
+
+    // Getters e Setters
+
+    public int getIdSHA() {
+        return idSHA;
+    }
+
+    public int getX() {
+        return x;
+    }
+
+    public int getY() {
+        return y;
+    }
+
+    public int getLargura() {
+        return largura;
+    }
+
+    public int getAltura() {
+        return altura;
+    }
+
+    public int getLarguraQuadro() {
+        return larguraQuadro;
+    }
+
+    public int getAlturaQuadro() {
+        return alturaQuadro;
+    }
+
+    public double getInclinacao() {
+        return inclinacao;
+    }
+
+    public LocalDateTime getDataDeteccao() {
+        return dataDeteccao;
+    }
+
+    public void setDataDeteccao(LocalDateTime dataDeteccao) {
+        this.dataDeteccao = dataDeteccao;
+    }
+
+    // Equals e HashCode baseados no SHA
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        RegiaoVisor that = (RegiaoVisor) o;
+        return idSHA == that.idSHA;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(idSHA);
+    }
+
+    @Override
+    public String toString() {
+        return "RegiaoVisor{" +
+                "idSHA=" + idSHA +
+                ", x=" + x +
+                ", y=" + y +
+                ", largura=" + largura +
+                ", altura=" + altura +
+                ", quadro=" + larguraQuadro + "x" + alturaQuadro +
+                ", inclinacao=" + inclinacao +
+                ", dataDeteccao=" + dataDeteccao +
+                '}';
+    }
+}
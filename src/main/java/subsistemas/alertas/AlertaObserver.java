@@ -1,7 +1,10 @@
 package subsistemas.alertas;
 
+import subsistemas.monitoramento.LeituraConsumo;
 import subsistemas.monitoramento.MonitorConsumo;
 
+import java.util.List;
+
 /**
  * Classe abstrata Observer no padrão Observer.
  * Define o contrato para todos os observers que serão notificados pelo MonitorConsumo.
@@ -9,7 +12,10 @@ import subsistemas.monitoramento.MonitorConsumo;
  * PADRÃO OBSERVER:
  * - Observer mantém referência ao Subject
  * - Construtor recebe Subject
- * - Método abstrato update() implementado pelos observers concretos
+ * - Método abstrato update(leitura) implementado pelos observers concretos
+ * - A leitura é entregue no próprio update (push): com várias contas
+ *   monitoradas em paralelo, consultar o Subject poderia retornar
+ *   o valor de outra conta
  *
  * @pattern Observer (Observer)
  * @author Pedro Henrique
@@ -33,9 +39,23 @@ public abstract class AlertaObserver {
     }
 
     /**
-     * Método chamado quando o Subject notifica mudança de estado.
+     * Método chamado quando o Subject notifica uma nova leitura.
      * Cada observer concreto implementa sua lógica específica.
+     *
+     * @param leitura Leitura de consumo da conta (imutável)
      */
-    public abstract void update();
+    public abstract void update(LeituraConsumo leitura);
+
+    /**
+     * Recebe um lote de leituras (thread do observer no BarramentoEventos).
+     * Por padrão, chama update() para cada leitura, na ordem de publicação.
+     *
+     * @param leituras Leituras publicadas desde a última entrega
+     */
+    public void updateLote(List<LeituraConsumo> leituras) {
+        for (LeituraConsumo leitura : leituras) {
+            update(leitura);
+        }
+    }
 }
 
@@ -3,11 +3,13 @@ package subsistemas.alertas;
 import modelo.Alerta;
 import modelo.ContaAgua;
 import subsistemas.contas.GerenciadorContas;
+import subsistemas.monitoramento.LeituraConsumo;
 import subsistemas.monitoramento.MonitorConsumo;
 import subsistemas.persistencia.GerenciadorDados;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
@@ -23,13 +25,13 @@ import java.util.stream.Collectors;
  * PADRÃO OBSERVER:
  * - Estende AlertaObserver
  * - Recebe Subject (MonitorConsumo) no construtor
- * - Implementa update() com lógica específica
+ * - Implementa update(leitura) com lógica específica
  * - É notificado automaticamente quando há mudança de estado
  *
  * Fluxo:
  * 1. MonitorConsumo lê nova imagem
- * 2. MonitorConsumo chama notifyObservers()
- * 3. SistemaAlertas.update() é chamado
+ * 2. MonitorConsumo chama notifyObservers(leitura)
+ * 3. SistemaAlertas.update(leitura) é chamado
  * 4. Verifica limite e cria alerta se necessário
  *
  * @pattern Observer (Observer Concreto)
@@ -44,6 +46,7 @@ public class SistemaAlertas extends AlertaObserver {
 
     /**
      * Configurações de alerta por conta: numeroConta -> ConfiguracaoAlerta
+     * (concorrente: ciclos de contas diferentes chamam update() em paralelo)
      */
     private Map<String, ConfiguracaoAlerta> configuracoes;
 
@@ -68,7 +71,7 @@ public class SistemaAlertas extends AlertaObserver {
         this.gerenciadorContas = gerenciadorContas;
         this.gerenciadorDados = gerenciadorDados;
         this.gerenciadorNotificacoes = gerenciadorNotificacoes;
-        this.configuracoes = new HashMap<>();
+        this.configuracoes = new ConcurrentHashMap<>();
         this.geradorIdAlerta = new AtomicInteger(1);
 
         // Carrega próximo ID de alerta baseado nos alertas existentes
@@ -76,19 +79,17 @@ public class SistemaAlertas extends AlertaObserver {
     }
 
     /**
-     * Método update() chamado quando MonitorConsumo notifica mudança.
+     * Método update() chamado quando MonitorConsumo notifica uma leitura.
      *
      * PADRÃO OBSERVER: Este método é chamado automaticamente pelo Subject.
+     *
+     * @param leitura Leitura da conta (conta + consumo, imutável)
      */
     @Override
-    public void update() {
-        // Obtém conta e consumo atual do Subject
-        String numeroConta = subject.getContaAtualMonitorada();
-        double consumoAtual = subject.getConsumoAtual();
-
-        if (numeroConta == null) {
-            return; // Nenhuma conta sendo monitorada
-        }
+    public void update(LeituraConsumo leitura) {
+        // Obtém conta e consumo da própria leitura notificada
+        String numeroConta = leitura.getNumeroConta();
+        double consumoAtual = leitura.getConsumo();
 
         // Verifica se há configuração de alerta para esta conta
         ConfiguracaoAlerta config = configuracoes.get(numeroConta);
@@ -102,6 +103,26 @@ public class SistemaAlertas extends AlertaObserver {
         }
     }
 
+    /**
+     * Recebe um lote de leituras do barramento.
+     *
+     * O consumo do hidrômetro é acumulado: dentro do lote, apenas a leitura
+     * mais recente de cada conta é avaliada (evita vários alertas iguais
+     * para a mesma conta em sequência).
+     *
+     * @param leituras Leituras publicadas desde a última entrega
+     */
+    @Override
+    public void updateLote(List<LeituraConsumo> leituras) {
+        Map<String, LeituraConsumo> maisRecentes = new LinkedHashMap<>();
+        for (LeituraConsumo leitura : leituras) {
+            maisRecentes.put(leitura.getNumeroConta(), leitura);
+        }
+        for (LeituraConsumo leitura : maisRecentes.values()) {
+            update(leitura);
+        }
+    }
+
     // ========================================================================
     // CONFIGURAÇÃO DE ALERTAS
     // ========================================================================
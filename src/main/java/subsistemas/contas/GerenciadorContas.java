@@ -6,6 +6,7 @@ import modelo.ContaAgua;
 import modelo.enums.TipoEstadoConta;
 import modelo.enums.TipoOperacao;
 import subsistemas.contas.state.EstadoConta;
+import subsistemas.persistencia.GerenciadorDados;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -13,6 +14,9 @@ import java.util.stream.Collectors;
 /**
  * Gerenciador responsável pelo CRUD de contas de água e associação de hidrômetros (SHAs).
  *
+ * Com um GerenciadorDados, as contas (estado e SHAs vinculados) são
+ * carregadas na criação e gravadas a cada alteração, sobrevivendo a reinícios.
+ *
  * @author Pedro Henrique
  * @date 2025-12-08
  */
@@ -21,7 +25,30 @@ public class GerenciadorContas {
     private final Map<String, ContaAgua> contas = new HashMap<>();
     private final Map<Integer, String> shaParaConta = new HashMap<>();
 
+    /**
+     * Persistência das contas (null = somente em memória).
+     */
+    private final GerenciadorDados dados;
+
     public GerenciadorContas() {
+        this(null);
+    }
+
+    /**
+     * Construtor com persistência: carrega as contas salvas e seus vínculos de SHA.
+     *
+     * @param dados Gerenciador de dados (null = somente em memória)
+     */
+    public GerenciadorContas(GerenciadorDados dados) {
+        this.dados = dados;
+        if (dados != null) {
+            for (ContaAgua conta : dados.listarContas()) {
+                contas.put(conta.getNumeroConta(), conta);
+                for (Integer idSHA : conta.getShaIds()) {
+                    shaParaConta.put(idSHA, conta.getNumeroConta());
+                }
+            }
+        }
     }
 
     // CRUD - CREATE
@@ -32,6 +59,7 @@ public class GerenciadorContas {
         }
         ContaAgua conta = new ContaAgua(numeroConta, cpfUsuario);
         contas.put(numeroConta, conta);
+        persistir(conta);
     }
 
     // CRUD - READ
@@ -69,6 +97,7 @@ public class GerenciadorContas {
         }
         ContaAgua conta = contas.get(numeroConta);
         conta.setCpfUsuario(cpfUsuario);
+        persistir(conta);
     }
 
     // CRUD - DELETE
@@ -81,7 +110,11 @@ public class GerenciadorContas {
                 desvincularSHA(numeroConta, idSHA);
             }
         }
-        return contas.remove(numeroConta);
+        ContaAgua removida = contas.remove(numeroConta);
+        if (removida != null && dados != null) {
+            dados.removerConta(numeroConta);
+        }
+        return removida;
     }
 
     // GESTÃO DE VÍNCULOS SHA
@@ -108,6 +141,7 @@ public class GerenciadorContas {
 
         conta.adicionarSHA(idSHA);
         shaParaConta.put(idSHA, numeroConta);
+        persistir(conta);
     }
 
     public void desvincularSHA(String numeroConta, int idSHA) {
@@ -120,6 +154,7 @@ public class GerenciadorContas {
         }
         conta.removerSHA(idSHA);
         shaParaConta.remove(idSHA);
+        persistir(conta);
     }
 
     public Set<Integer> listarSHAs(String numeroConta) {
@@ -154,6 +189,7 @@ public class GerenciadorContas {
             throw new IllegalArgumentException("Conta não encontrada: " + numeroConta);
         }
         conta.alterarEstado(novoEstado);
+        persistir(conta);
     }
 
     public EstadoConta consultarEstado(String numeroConta) {
@@ -188,6 +224,12 @@ public class GerenciadorContas {
     }
 
     // MÉTODOS AUXILIARES
+    private void persistir(ContaAgua conta) {
+        if (dados != null) {
+            dados.salvarConta(conta);
+        }
+    }
+
     private void validarCamposObrigatorios(String numeroConta, String cpfUsuario) {
         if (numeroConta == null || numeroConta.trim().isEmpty()) {
             throw new IllegalArgumentException("Número da conta é obrigatório");
@@ -0,0 +1,297 @@
+package subsistemas.monitoramento;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+/**
+ * Agendador de leituras por SHA (e não por assinante).
+ *
+ * O monitoramento é agendado por conta e a fachada ainda lê SHAs avulsos;
+ * um SHA compartilhado ou consultado por vários interessados era lido por
+ * cada um deles. Aqui cada SHA tem uma lista de assinaturas
+ * (assinante → período desejado):
+ * - Período efetivo do SHA = menor período entre os assinantes
+ * - Assinaturas com ouvinte: UM agendamento na roda por SHA, no período
+ *   efetivo; cada leitura é entregue a todos os ouvintes cujo período venceu
+ * - Assinaturas sem ouvinte (demanda): só informam o período efetivo; quem
+ *   lê o SHA reaproveita leituras mais novas que ele (MonitorConsumo,
+ *   via CoalescedorLeituras)
+ *
+ * O trabalho por tick cresce com a quantidade de medidores, não com a
+ * quantidade de assinaturas.
+ *
+ * @author Pedro Henrique
+ * @date 2026-10-16
+ */
+public class AgendadorLeiturasSHA {
+
+    private final RodaTemporizacao roda;
+    private final Executor executor;
+    private final IntFunction<ResultadoLeitura> leitor;
+    private final Map<Integer, EntradaSHA> entradas;
+
+    // Métricas
+    private final AtomicLong leituras;
+    private final AtomicLong entregas;
+    private final AtomicLong ticksSobrepostos;
+    private final AtomicLong leiturasRecusadas;
+
+    /**
+     * @param roda Roda de temporização compartilhada (disparos)
+     * @param executor Executor das leituras (pode recusar com RejectedExecutionException: o disparo é pulado)
+     * @param leitor Leitura de um SHA (não lança exceções: falhas vêm no resultado)
+     */
+    public AgendadorLeiturasSHA(RodaTemporizacao roda, Executor executor, IntFunction<ResultadoLeitura> leitor) {
+        if (roda == null || executor == null || leitor == null) {
+            throw new IllegalArgumentException("Roda, executor e leitor são obrigatórios");
+        }
+        this.roda = roda;
+        this.executor = executor;
+        this.leitor = leitor;
+        this.entradas = new ConcurrentHashMap<>();
+        this.leituras = new AtomicLong(0);
+        this.entregas = new AtomicLong(0);
+        this.ticksSobrepostos = new AtomicLong(0);
+        this.leiturasRecusadas = new AtomicLong(0);
+    }
+
+    /**
+     * Assina as leituras de um SHA (substitui a assinatura anterior do mesmo assinante).
+     *
+     * @param idSHA ID do SHA
+     * @param assinante Identificação do assinante (ex.: "conta:123")
+     * @param periodoMs Período desejado entre leituras
+     * @param ouvinte Recebe cada leitura (null = apenas demanda, sem entrega)
+     */
+    public void assinar(int idSHA, String assinante, long periodoMs, Consumer<ResultadoLeitura> ouvinte) {
+        if (assinante == null || assinante.trim().isEmpty()) {
+            throw new IllegalArgumentException("Assinante é obrigatório");
+        }
+        if (periodoMs <= 0) {
+            throw new IllegalArgumentException("Período deve ser maior que zero");
+        }
+        while (true) {
+            EntradaSHA entrada = entradas.computeIfAbsent(idSHA, EntradaSHA::new);
+            synchronized (entrada) {
+                if (entrada.removida) {
+                    continue; // Removida por cancelar() entre a busca e o lock
+                }
+                entrada.assinaturas.put(assinante, new Assinatura(periodoMs, ouvinte));
+                entrada.recalcular();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Cancela a assinatura de um assinante em um SHA.
+     */
+    public void cancelar(int idSHA, String assinante) {
+        EntradaSHA entrada = entradas.get(idSHA);
+        if (entrada == null) {
+            return;
+        }
+        synchronized (entrada) {
+            if (entrada.assinaturas.remove(assinante) != null) {
+                entrada.recalcular();
+            }
+            // Sem assinantes: a entrada sai do mapa (SHAs descartados não se acumulam)
+            if (entrada.assinaturas.isEmpty() && !entrada.removida) {
+                entrada.removida = true;
+                entradas.remove(idSHA, entrada);
+            }
+        }
+    }
+
+    /**
+     * Cancela as assinaturas de um assinante em todos os SHAs.
+     */
+    public void cancelarAssinante(String assinante) {
+        for (Integer idSHA : entradas.keySet()) {
+            cancelar(idSHA, assinante);
+        }
+    }
+
+    /**
+     * @return Menor período (ms) entre os assinantes do SHA (0 = sem assinantes)
+     */
+    public long getPeriodoEfetivoMs(int idSHA) {
+        EntradaSHA entrada = entradas.get(idSHA);
+        return entrada == null ? 0 : entrada.periodoEfetivoMs;
+    }
+
+    // ========================================================================
+    // MÉTRICAS
+    // ========================================================================
+
+    /**
+     * @return Leituras disparadas pelo agendador (uma por SHA e período efetivo)
+     */
+    public long getLeituras() {
+        return leituras.get();
+    }
+
+    /**
+     * @return Leituras entregues aos ouvintes
+     */
+    public long getEntregas() {
+        return entregas.get();
+    }
+
+    public String getEstatisticas() {
+        int shas = 0;
+        int assinaturas = 0;
+        int agendados = 0;
+        for (EntradaSHA entrada : entradas.values()) {
+            synchronized (entrada) {
+                if (entrada.assinaturas.isEmpty()) {
+                    continue;
+                }
+                shas++;
+                assinaturas += entrada.assinaturas.size();
+                if (entrada.agendamento != null) {
+                    agendados++;
+                }
+            }
+        }
+        return String.format(
+            "Agendador por SHA: %d SHAs, %d assinaturas, %d SHAs agendados, %d leituras, %d entregas, " +
+            "%d ticks sobrepostos, %d leituras recusadas",
+            shas, assinaturas, agendados, getLeituras(), getEntregas(), ticksSobrepostos.get(),
+            leiturasRecusadas.get()
+        );
+    }
+
+    // ========================================================================
+    // CLASSES INTERNAS
+    // ========================================================================
+
+    private static final class Assinatura {
+        final long periodoMs;
+        final Consumer<ResultadoLeitura> ouvinte;
+        long ultimaEntregaNanos;
+        boolean entregue;
+
+        Assinatura(long periodoMs, Consumer<ResultadoLeitura> ouvinte) {
+            this.periodoMs = periodoMs;
+            this.ouvinte = ouvinte;
+        }
+    }
+
+    /**
+     * Assinaturas e agendamento de um SHA (protegidos pelo monitor da entrada).
+     */
+    private final class EntradaSHA {
+        final int idSHA;
+        final Map<String, Assinatura> assinaturas = new HashMap<>();
+        final AtomicBoolean emLeitura = new AtomicBoolean(false);
+        boolean removida;
+        volatile long periodoEfetivoMs;
+        RodaTemporizacao.Agendamento agendamento;
+        long periodoAgendadoMs;
+
+        EntradaSHA(int idSHA) {
+            this.idSHA = idSHA;
+        }
+
+        /**
+         * Recalcula o período efetivo e reagenda o SHA se ele mudou.
+         */
+        void recalcular() {
+            long menor = 0;
+            long menorComOuvinte = 0;
+            for (Assinatura assinatura : assinaturas.values()) {
+                if (menor == 0 || assinatura.periodoMs < menor) {
+                    menor = assinatura.periodoMs;
+                }
+                if (assinatura.ouvinte != null &&
+                    (menorComOuvinte == 0 || assinatura.periodoMs < menorComOuvinte)) {
+                    menorComOuvinte = assinatura.periodoMs;
+                }
+            }
+            periodoEfetivoMs = menor;
+
+            // Só há disparos se alguém quer receber as leituras
+            long periodoAgendado = menorComOuvinte == 0 ? 0 : menor;
+            if (agendamento != null && periodoAgendado != periodoAgendadoMs) {
+                agendamento.cancelar();
+                agendamento = null;
+            }
+            if (agendamento == null && periodoAgendado > 0) {
+                agendamento = roda.agendarPeriodico(this::disparar, calcularFase(periodoAgendado), periodoAgendado);
+            }
+            periodoAgendadoMs = periodoAgendado;
+        }
+
+        /**
+         * Fase estável por SHA: SHAs com o mesmo período não disparam juntos.
+         */
+        private long calcularFase(long periodoMs) {
+            long hash = idSHA * 0x9E3779B97F4A7C15L;
+            return Math.floorMod(hash ^ (hash >>> 32), periodoMs);
+        }
+
+        /**
+         * Disparo na thread da roda: apenas despacha a leitura.
+         */
+        void disparar() {
+            if (!emLeitura.compareAndSet(false, true)) {
+                ticksSobrepostos.incrementAndGet();
+                return;
+            }
+            try {
+                executor.execute(() -> {
+                    try {
+                        leituras.incrementAndGet();
+                        entregar(leitor.apply(idSHA));
+                    } finally {
+                        emLeitura.set(false);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                leiturasRecusadas.incrementAndGet();
+                emLeitura.set(false);
+            }
+        }
+
+        /**
+         * Entrega a leitura aos ouvintes cujo período venceu (com folga de um tick).
+         */
+        void entregar(ResultadoLeitura resultado) {
+            long agora = System.nanoTime();
+            long folgaMs = roda.getDuracaoTickMs();
+            Map<String, Assinatura> destinatarios = new HashMap<>();
+            synchronized (this) {
+                for (Map.Entry<String, Assinatura> entrada : assinaturas.entrySet()) {
+                    Assinatura assinatura = entrada.getValue();
+                    if (assinatura.ouvinte == null) {
+                        continue;
+                    }
+                    long decorridoMs = (agora - assinatura.ultimaEntregaNanos) / 1_000_000;
+                    if (!assinatura.entregue || decorridoMs + folgaMs >= assinatura.periodoMs) {
+                        assinatura.entregue = true;
+                        assinatura.ultimaEntregaNanos = agora;
+                        destinatarios.put(entrada.getKey(), assinatura);
+                    }
+                }
+            }
+            // Ouvintes chamados fora do lock (podem ser lentos ou reassinar)
+            for (Map.Entry<String, Assinatura> destinatario : destinatarios.entrySet()) {
+                try {
+                    destinatario.getValue().ouvinte.accept(resultado);
+                    entregas.incrementAndGet();
+                } catch (RuntimeException e) {
+                    System.err.println("⚠️  Erro no assinante " + destinatario.getKey() +
+                        " do SHA " + idSHA + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,369 @@
+package subsistemas.monitoramento;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Barramento de eventos assíncrono entre o MonitorConsumo e seus observers.
+ *
+ * Antes, notifyObservers() executava update() de cada observer na própria
+ * thread do ciclo: avaliação do alerta, gravação do JSON e envio de
+ * notificações entravam na latência de cada leitura. Aqui o ciclo apenas
+ * publica o evento (imutável) e segue em frente:
+ * - Cada assinante tem sua própria fila limitada (buffer circular) e uma
+ *   thread dedicada que a consome
+ * - A thread drena a fila em LOTES (até tamanhoLote eventos por entrega)
+ * - Com a fila cheia, aplica a política de contrapressão do assinante
+ *
+ * Um assinante lento afeta apenas a própria fila, nunca o publicador nem
+ * os demais assinantes.
+ *
+ * @param <E> Tipo do evento (deve ser imutável)
+ * @author Pedro Henrique
+ * @date 2026-10-16
+ */
+public class BarramentoEventos<E> {
+
+    public static final int CAPACIDADE_PADRAO = 1024;
+    public static final int TAMANHO_LOTE_PADRAO = 64;
+    public static final long TIMEOUT_BLOQUEIO_PADRAO_MS = 1000;
+    public static final long TIMEOUT_ENCERRAMENTO_PADRAO_MS = 5000;
+
+    /**
+     * O que fazer quando a fila de um assinante está cheia.
+     */
+    public enum PoliticaContraPressao {
+        /** Bloqueia o publicador até haver espaço (até o timeout da assinatura; depois descarta o novo) */
+        BLOQUEAR,
+        /** Descarta o evento mais antigo da fila para abrir espaço ao novo */
+        DESCARTAR_MAIS_ANTIGO,
+        /** Descarta o evento novo */
+        DESCARTAR_NOVO
+    }
+
+    private final List<Assinatura> assinaturas;
+    private final String nome;
+    private volatile boolean encerrado;
+
+    public BarramentoEventos(String nome) {
+        this.nome = nome;
+        this.assinaturas = new CopyOnWriteArrayList<>();
+    }
+
+    /**
+     * Registra um assinante com os parâmetros padrão
+     * (capacidade 1024, lotes de 64, descarta o mais antigo).
+     */
+    public Assinatura assinar(String nomeAssinante, Consumer<List<E>> consumidor) {
+        return assinar(nomeAssinante, consumidor, CAPACIDADE_PADRAO, TAMANHO_LOTE_PADRAO,
+                       PoliticaContraPressao.DESCARTAR_MAIS_ANTIGO);
+    }
+
+    /**
+     * Registra um assinante com fila e thread próprias.
+     *
+     * @param nomeAssinante Nome (usado na thread e nas métricas)
+     * @param consumidor Recebe cada lote de eventos, na ordem de publicação
+     * @param capacidade Tamanho máximo da fila do assinante
+     * @param tamanhoLote Máximo de eventos por entrega
+     * @param politica Política quando a fila está cheia
+     * @return Assinatura (permite cancelar e consultar métricas)
+     */
+    public Assinatura assinar(String nomeAssinante, Consumer<List<E>> consumidor,
+                              int capacidade, int tamanhoLote, PoliticaContraPressao politica) {
+        return assinar(nomeAssinante, consumidor, capacidade, tamanhoLote, politica, TIMEOUT_BLOQUEIO_PADRAO_MS);
+    }
+
+    /**
+     * Registra um assinante com fila e thread próprias.
+     *
+     * @param nomeAssinante Nome (usado na thread e nas métricas)
+     * @param consumidor Recebe cada lote de eventos, na ordem de publicação
+     * @param capacidade Tamanho máximo da fila do assinante
+     * @param tamanhoLote Máximo de eventos por entrega
+     * @param politica Política quando a fila está cheia
+     * @param timeoutBloqueioMs Espera máxima do publicador com a política BLOQUEAR
+     * @return Assinatura (permite cancelar e consultar métricas)
+     */
+    public Assinatura assinar(String nomeAssinante, Consumer<List<E>> consumidor,
+                              int capacidade, int tamanhoLote, PoliticaContraPressao politica,
+                              long timeoutBloqueioMs) {
+        if (consumidor == null) {
+            throw new IllegalArgumentException("Consumidor não pode ser nulo");
+        }
+        if (capacidade <= 0 || tamanhoLote <= 0) {
+            throw new IllegalArgumentException("Capacidade e tamanho do lote devem ser maiores que zero");
+        }
+        if (politica == null) {
+            throw new IllegalArgumentException("Política de contrapressão é obrigatória");
+        }
+        if (timeoutBloqueioMs < 0) {
+            throw new IllegalArgumentException("Timeout de bloqueio não pode ser negativo");
+        }
+        if (encerrado) {
+            throw new IllegalStateException("Barramento " + nome + " já foi encerrado");
+        }
+
+        Assinatura assinatura = new Assinatura(nomeAssinante, consumidor, capacidade, tamanhoLote, politica,
+                                               timeoutBloqueioMs);
+        assinaturas.add(assinatura);
+        assinatura.thread.start();
+        return assinatura;
+    }
+
+    /**
+     * Publica um evento para todos os assinantes.
+     * Não bloqueia, exceto para assinantes com política BLOQUEAR e fila cheia.
+     *
+     * @param evento Evento imutável
+     */
+    public void publicar(E evento) {
+        if (evento == null || encerrado) {
+            return;
+        }
+        for (Assinatura assinatura : assinaturas) {
+            assinatura.enfileirar(evento);
+        }
+    }
+
+    /**
+     * Encerra o barramento: os assinantes entregam o que já está na fila e
+     * terminam (aguarda até TIMEOUT_ENCERRAMENTO_PADRAO_MS).
+     */
+    public void encerrar() {
+        encerrar(TIMEOUT_ENCERRAMENTO_PADRAO_MS);
+    }
+
+    /**
+     * Encerra o barramento e aguarda os assinantes entregarem o que já está
+     * na fila (as threads são daemon: sem esta espera, a JVM sairia antes).
+     *
+     * @param timeoutMs Espera máxima total pelas entregas pendentes
+     * @return true se todos os assinantes terminaram dentro do prazo
+     */
+    public boolean encerrar(long timeoutMs) {
+        encerrado = true;
+        List<Assinatura> pendentes = new ArrayList<>(assinaturas);
+        for (Assinatura assinatura : pendentes) {
+            assinatura.cancelar();
+        }
+        long prazo = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        boolean concluido = true;
+        for (Assinatura assinatura : pendentes) {
+            long restanteMs = TimeUnit.NANOSECONDS.toMillis(prazo - System.nanoTime());
+            try {
+                if (restanteMs > 0) {
+                    assinatura.thread.join(restanteMs);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            concluido &= !assinatura.thread.isAlive();
+        }
+        return concluido;
+    }
+
+    public List<Assinatura> getAssinaturas() {
+        return new ArrayList<>(assinaturas);
+    }
+
+    public String getEstatisticas() {
+        StringBuilder sb = new StringBuilder("Barramento " + nome + ":");
+        for (Assinatura assinatura : assinaturas) {
+            sb.append(" [").append(assinatura.getEstatisticas()).append("]");
+        }
+        return sb.toString();
+    }
+
+    // ========================================================================
+    // CLASSE INTERNA: ASSINATURA
+    // ========================================================================
+
+    /**
+     * Fila + thread de consumo de um assinante.
+     */
+    public final class Assinatura {
+        private final String nomeAssinante;
+        private final Consumer<List<E>> consumidor;
+        private final BlockingQueue<E> fila;
+        private final int tamanhoLote;
+        private final PoliticaContraPressao politica;
+        private final long timeoutBloqueioMs;
+        private final Thread thread;
+        private volatile boolean ativa;
+        private boolean entregando; // protegido por this
+
+        // Métricas
+        private final AtomicLong publicados = new AtomicLong(0);
+        private final AtomicLong entregues = new AtomicLong(0);
+        private final AtomicLong descartados = new AtomicLong(0);
+        private final AtomicLong lotes = new AtomicLong(0);
+        private final AtomicInteger picoFila = new AtomicInteger(0);
+
+        private Assinatura(String nomeAssinante, Consumer<List<E>> consumidor,
+                           int capacidade, int tamanhoLote, PoliticaContraPressao politica,
+                           long timeoutBloqueioMs) {
+            this.nomeAssinante = nomeAssinante;
+            this.consumidor = consumidor;
+            this.fila = new ArrayBlockingQueue<>(capacidade);
+            this.tamanhoLote = tamanhoLote;
+            this.politica = politica;
+            this.timeoutBloqueioMs = timeoutBloqueioMs;
+            this.ativa = true;
+            this.thread = new Thread(this::consumir, nome + "-" + nomeAssinante);
+            this.thread.setDaemon(true);
+        }
+
+        private void enfileirar(E evento) {
+            if (!ativa) {
+                return;
+            }
+            publicados.incrementAndGet();
+
+            boolean aceito = fila.offer(evento);
+            if (!aceito) {
+                switch (politica) {
+                    case BLOQUEAR:
+                        try {
+                            aceito = fila.offer(evento, timeoutBloqueioMs, TimeUnit.MILLISECONDS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        break;
+                    case DESCARTAR_MAIS_ANTIGO:
+                        while (!aceito) {
+                            if (fila.poll() != null) {
+                                descartados.incrementAndGet();
+                            }
+                            aceito = fila.offer(evento);
+                        }
+                        break;
+                    case DESCARTAR_NOVO:
+                    default:
+                        break;
+                }
+            }
+
+            if (aceito) {
+                picoFila.accumulateAndGet(fila.size(), Math::max);
+            } else {
+                descartados.incrementAndGet();
+            }
+        }
+
+        /**
+         * Loop da thread do assinante: aguarda um evento e entrega em lote
+         * tudo o que estiver disponível (até tamanhoLote).
+         */
+        private void consumir() {
+            List<E> lote = new ArrayList<>(tamanhoLote);
+            while (ativa || !fila.isEmpty()) {
+                try {
+                    E primeiro = fila.poll(100, TimeUnit.MILLISECONDS);
+                    if (primeiro == null) {
+                        continue;
+                    }
+                    lote.add(primeiro);
+                } catch (InterruptedException e) {
+                    if (ativa) {
+                        continue;
+                    }
+                    // Encerrando: entrega o que restou
+                }
+                fila.drainTo(lote, tamanhoLote - lote.size());
+                if (lote.isEmpty()) {
+                    continue;
+                }
+
+                synchronized (this) {
+                    entregando = true;
+                    // Descarta uma interrupção de cancelar() anterior à entrega
+                    Thread.interrupted();
+                }
+                try {
+                    consumidor.accept(lote);
+                } catch (RuntimeException e) {
+                    System.err.println("Erro no assinante " + nomeAssinante + ": " + e.getMessage());
+                } finally {
+                    synchronized (this) {
+                        entregando = false;
+                    }
+                }
+                entregues.addAndGet(lote.size());
+                lotes.incrementAndGet();
+                lote = new ArrayList<>(tamanhoLote);
+            }
+        }
+
+        /**
+         * Cancela a assinatura; eventos já enfileirados ainda são entregues.
+         * A thread só é interrompida se estiver ociosa (aguardando eventos):
+         * uma entrega em andamento (ex.: gravação, e-mail) nunca é abortada.
+         */
+        public void cancelar() {
+            ativa = false;
+            assinaturas.remove(this);
+            synchronized (this) {
+                if (!entregando) {
+                    thread.interrupt();
+                }
+            }
+        }
+
+        public String getNomeAssinante() {
+            return nomeAssinante;
+        }
+
+        public PoliticaContraPressao getPolitica() {
+            return politica;
+        }
+
+        public long getTimeoutBloqueioMs() {
+            return timeoutBloqueioMs;
+        }
+
+        public int getTamanhoFila() {
+            return fila.size();
+        }
+
+        public int getPicoFila() {
+            return picoFila.get();
+        }
+
+        public long getPublicados() {
+            return publicados.get();
+        }
+
+        public long getEntregues() {
+            return entregues.get();
+        }
+
+        public long getDescartados() {
+            return descartados.get();
+        }
+
+        /**
+         * @return Tamanho médio dos lotes entregues
+         */
+        public double getTamanhoMedioLote() {
+            long quantidade = lotes.get();
+            return quantidade == 0 ? 0.0 : (double) entregues.get() / quantidade;
+        }
+
+        public String getEstatisticas() {
+            return String.format(
+                "%s: fila %d (pico %d), %d publicados, %d entregues, %d descartados, lote médio %.1f, %s",
+                nomeAssinante, getTamanhoFila(), getPicoFila(), getPublicados(),
+                getEntregues(), getDescartados(), getTamanhoMedioLote(), politica
+            );
+        }
+    }
+}
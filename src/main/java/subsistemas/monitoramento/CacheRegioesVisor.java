@@ -0,0 +1,88 @@
+package subsistemas.monitoramento;
+
+import modelo.RegiaoVisor;
+import subsistemas.persistencia.GerenciadorDados;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache das regiões do visor (ROI) detectadas por SHA.
+ *
+ * - Em memória: mapa concorrente idSHA -> RegiaoVisor (compartilhado pelos motores OCR)
+ * - Persistido: via GerenciadorDados (entidade "RegiaoVisor"), recarregado na criação
+ *
+ * A região só é recalculada quando o leitor a invalida (confiança baixa)
+ * ou quando a geometria do quadro muda.
+ *
+ * @author Pedro Henrique
+ * @date 2026-10-16
+ */
+public class CacheRegioesVisor {
+
+    private final Map<Integer, RegiaoVisor> regioes;
+    private final GerenciadorDados gerenciadorDados;
+
+    /**
+     * Cache apenas em memória.
+     */
+    public CacheRegioesVisor() {
+        this(null);
+    }
+
+    /**
+     * Cache persistido: carrega as regiões já salvas.
+     *
+     * @param gerenciadorDados Gerenciador de persistência (null = só memória)
+     */
+    public CacheRegioesVisor(GerenciadorDados gerenciadorDados) {
+        this.gerenciadorDados = gerenciadorDados;
+        this.regioes = new ConcurrentHashMap<>();
+
+        if (gerenciadorDados != null) {
+            for (RegiaoVisor regiao : gerenciadorDados.listarRegioesVisor()) {
+                regioes.put(regiao.getIdSHA(), regiao);
+            }
+        }
+    }
+
+    /**
+     * Retorna a região conhecida de um SHA.
+     *
+     * @param idSHA ID do SHA
+     * @return Região ou null se ainda não detectada
+     */
+    public RegiaoVisor obter(int idSHA) {
+        return regioes.get(idSHA);
+    }
+
+    /**
+     * Registra (e persiste) uma região recém-detectada.
+     *
+     * @param regiao Região detectada
+     */
+    public void registrar(RegiaoVisor regiao) {
+        if (regiao == null) {
+            return;
+        }
+        regioes.put(regiao.getIdSHA(), regiao);
+        if (gerenciadorDados != null) {
+            gerenciadorDados.salvarRegiaoVisor(regiao);
+        }
+    }
+
+    /**
+     * Invalida a região de um SHA (força nova detecção na próxima leitura).
+     *
+     * @param idSHA ID do SHA
+     */
+    public void invalidar(int idSHA) {
+        if (regioes.remove(idSHA) != null && gerenciadorDados != null) {
+            gerenciadorDados.removerRegiaoVisor(idSHA);
+        }
+    }
+
+    public int quantidade() {
+        return regioes.size();
+    }
+}
@@ -0,0 +1,336 @@
+package subsistemas.monitoramento;
+
+import excecoes.ErroDeLeituraImagemException;
+import org.opencv.core.CvType;
+import org.opencv.core.Mat;
+import org.opencv.core.Rect;
+import org.opencv.core.Size;
+import org.opencv.imgcodecs.Imgcodecs;
+import org.opencv.imgproc.Imgproc;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Estágio de carga (decodificação) das imagens dos hidrômetros.
+ *
+ * Antes, cada leitura decodificava o quadro inteiro em resolução total
+ * (Imgcodecs.imread / ImageIO.read) e descartava o raster logo em seguida:
+ * com monitoramento a cada segundo isso virava CPU de decodificação e
+ * pressão de GC na geração jovem. Aqui a decodificação usa ImageReadParam:
+ * - Subamostragem na origem: a detecção do visor roda em um quadro reduzido
+ *   (largura até LARGURA_MAXIMA_DETECCAO), decodificado já reduzido
+ * - Região na origem: com a região do visor conhecida, apenas o recorte do
+ *   visor é convertido em pixels, em resolução total
+ * - Destino reaproveitado: ImageReader, BufferedImage de destino e Mats de
+ *   saída são mantidos POR THREAD e reutilizados entre leituras
+ *
+ * Formatos sem ImageReader no ImageIO caem no Imgcodecs.imread.
+ *
+ * Como no PreProcessadorImagem, os buffers retornados só são válidos até a
+ * próxima chamada na mesma thread.
+ *
+ * @author Pedro Henrique
+ * @date 2026-10-16
+ */
+public class CarregadorImagem {
+
+    /**
+     * Largura máxima do quadro usado para localizar o visor.
+     */
+    public static final int LARGURA_MAXIMA_DETECCAO = 800;
+
+    /**
+     * Quantidade de BufferedImages de destino mantidas por thread
+     * (uma por combinação tipo/dimensões, ex.: visores de SHAs diferentes).
+     */
+    private static final int DESTINOS_POR_THREAD = 8;
+
+    private static final ThreadLocal<Buffers> BUFFERS = ThreadLocal.withInitial(Buffers::new);
+
+    public CarregadorImagem() {
+        PreProcessadorImagem.carregarOpenCV();
+    }
+
+    /**
+     * Lê apenas o cabeçalho da imagem (sem decodificar pixels).
+     *
+     * @param caminhoImagem Caminho da imagem
+     * @return Largura e altura do quadro
+     * @throws ErroDeLeituraImagemException Se a imagem não puder ser lida
+     */
+    public Dimension lerDimensoes(String caminhoImagem) throws ErroDeLeituraImagemException {
+        File arquivo = validarArquivo(caminhoImagem);
+        Buffers b = BUFFERS.get();
+        try (ImageInputStream entrada = ImageIO.createImageInputStream(arquivo)) {
+            ImageReader leitor = entrada != null ? b.obterLeitor(entrada) : null;
+            if (leitor == null) {
+                Mat quadro = decodificarComOpenCV(arquivo, null, 1, b);
+                return new Dimension(quadro.cols(), quadro.rows());
+            }
+            leitor.setInput(entrada, true, true);
+            try {
+                return new Dimension(leitor.getWidth(0), leitor.getHeight(0));
+            } finally {
+                leitor.setInput(null);
+            }
+        } catch (IOException e) {
+            throw new ErroDeLeituraImagemException("Erro ao ler cabeçalho da imagem: " + caminhoImagem, e);
+        }
+    }
+
+    /**
+     * Fator de subamostragem para que a largura fique até larguraMaxima.
+     */
+    public static int calcularSubamostragem(int largura, int larguraMaxima) {
+        if (larguraMaxima <= 0) {
+            throw new IllegalArgumentException("Largura máxima deve ser maior que zero");
+        }
+        return Math.max(1, (largura + larguraMaxima - 1) / larguraMaxima);
+    }
+
+    /**
+     * Decodifica a imagem (ou uma região dela) em tons de cinza.
+     *
+     * @param caminhoImagem Caminho da imagem
+     * @param regiao Região do quadro a decodificar (null = quadro inteiro)
+     * @param subamostragem Fator de redução na origem (1 = resolução total)
+     * @return Mat CV_8UC1 (buffer da thread: válido até a próxima chamada)
+     * @throws ErroDeLeituraImagemException Se a imagem não puder ser decodificada
+     */
+    public Mat carregarEmCinza(String caminhoImagem, Rectangle regiao, int subamostragem)
+            throws ErroDeLeituraImagemException {
+        if (subamostragem < 1) {
+            throw new IllegalArgumentException("Subamostragem deve ser pelo menos 1");
+        }
+        File arquivo = validarArquivo(caminhoImagem);
+        Buffers b = BUFFERS.get();
+
+        BufferedImage imagem;
+        try (ImageInputStream entrada = ImageIO.createImageInputStream(arquivo)) {
+            ImageReader leitor = entrada != null ? b.obterLeitor(entrada) : null;
+            if (leitor == null) {
+                return decodificarComOpenCV(arquivo, regiao, subamostragem, b);
+            }
+            imagem = decodificar(leitor, entrada, regiao, subamostragem, b);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new ErroDeLeituraImagemException(
+                "Erro ao decodificar a imagem: " + arquivo.getAbsolutePath(), e
+            );
+        }
+        return paraMatCinza(imagem, b);
+    }
+
+    /**
+     * Decodifica a imagem (ou uma região dela) em tons de cinza, como BufferedImage.
+     *
+     * @return BufferedImage TYPE_BYTE_GRAY (buffer da thread: válida até a próxima chamada)
+     * @throws ErroDeLeituraImagemException Se a imagem não puder ser decodificada
+     */
+    public BufferedImage carregarImagemEmCinza(String caminhoImagem, Rectangle regiao, int subamostragem)
+            throws ErroDeLeituraImagemException {
+        Mat cinza = carregarEmCinza(caminhoImagem, regiao, subamostragem);
+        Buffers b = BUFFERS.get();
+        b.imagemCinza = PreProcessadorImagem.paraBufferedImage(cinza, b.imagemCinza);
+        return b.imagemCinza;
+    }
+
+    // ========================================================================
+    // DECODIFICAÇÃO
+    // ========================================================================
+
+    private BufferedImage decodificar(ImageReader leitor, ImageInputStream entrada, Rectangle regiao,
+                                      int subamostragem, Buffers b) throws IOException {
+        leitor.setInput(entrada, true, true);
+        try {
+            int larguraQuadro = leitor.getWidth(0);
+            int alturaQuadro = leitor.getHeight(0);
+            Rectangle origem = regiao != null
+                ? regiao.intersection(new Rectangle(0, 0, larguraQuadro, alturaQuadro))
+                : new Rectangle(0, 0, larguraQuadro, alturaQuadro);
+            if (origem.isEmpty()) {
+                throw new IllegalArgumentException("Região fora do quadro: " + regiao);
+            }
+
+            ImageReadParam parametros = leitor.getDefaultReadParam();
+            parametros.setSourceRegion(origem);
+            if (subamostragem > 1) {
+                parametros.setSourceSubsampling(subamostragem, subamostragem, 0, 0);
+            }
+
+            int tipo = escolherTipoDestino(leitor);
+            if (tipo != BufferedImage.TYPE_CUSTOM) {
+                int largura = (origem.width + subamostragem - 1) / subamostragem;
+                int altura = (origem.height + subamostragem - 1) / subamostragem;
+                parametros.setDestination(b.obterDestino(tipo, largura, altura));
+            }
+            return leitor.read(0, parametros);
+        } finally {
+            leitor.setInput(null);
+        }
+    }
+
+    /**
+     * Prefere destino em cinza (sem conversão); senão BGR de 3 bytes
+     * (formato nativo do OpenCV). Outros tipos: o leitor aloca o destino.
+     */
+    private static int escolherTipoDestino(ImageReader leitor) throws IOException {
+        boolean bgr = false;
+        Iterator<ImageTypeSpecifier> tipos = leitor.getImageTypes(0);
+        while (tipos.hasNext()) {
+            int tipo = tipos.next().getBufferedImageType();
+            if (tipo == BufferedImage.TYPE_BYTE_GRAY) {
+                return tipo;
+            }
+            bgr |= tipo == BufferedImage.TYPE_3BYTE_BGR;
+        }
+        return bgr ? BufferedImage.TYPE_3BYTE_BGR : BufferedImage.TYPE_CUSTOM;
+    }
+
+    /**
+     * Copia os pixels para o Mat de saída da thread, convertendo para cinza se preciso.
+     */
+    private static Mat paraMatCinza(BufferedImage imagem, Buffers b) {
+        int largura = imagem.getWidth();
+        int altura = imagem.getHeight();
+
+        if (imagem.getType() == BufferedImage.TYPE_BYTE_GRAY) {
+            b.cinza.create(altura, largura, CvType.CV_8UC1);
+            b.cinza.put(0, 0, ((DataBufferByte) imagem.getRaster().getDataBuffer()).getData());
+            return b.cinza;
+        }
+        if (imagem.getType() == BufferedImage.TYPE_3BYTE_BGR) {
+            b.colorida.create(altura, largura, CvType.CV_8UC3);
+            b.colorida.put(0, 0, ((DataBufferByte) imagem.getRaster().getDataBuffer()).getData());
+            Imgproc.cvtColor(b.colorida, b.cinza, Imgproc.COLOR_BGR2GRAY);
+            return b.cinza;
+        }
+
+        // Tipo exótico (paleta, 16 bits...): desenha em cinza reaproveitando o destino
+        BufferedImage cinza = b.obterDestino(BufferedImage.TYPE_BYTE_GRAY, largura, altura);
+        Graphics2D g = cinza.createGraphics();
+        try {
+            g.drawImage(imagem, 0, 0, null);
+        } finally {
+            g.dispose();
+        }
+        return paraMatCinza(cinza, b);
+    }
+
+    /**
+     * Fallback para formatos sem ImageReader: decodifica inteiro e reduz depois.
+     */
+    private static Mat decodificarComOpenCV(File arquivo, Rectangle regiao, int subamostragem, Buffers b)
+            throws ErroDeLeituraImagemException {
+        Mat quadro = Imgcodecs.imread(arquivo.getPath(), Imgcodecs.IMREAD_GRAYSCALE);
+        try {
+            if (quadro.empty()) {
+                throw new ErroDeLeituraImagemException(
+                    "Não foi possível decodificar a imagem: " + arquivo.getAbsolutePath()
+                );
+            }
+            Mat origem = quadro;
+            Mat recorteQuadro = null;
+            if (regiao != null) {
+                Rectangle recorte = regiao.intersection(new Rectangle(0, 0, quadro.cols(), quadro.rows()));
+                if (recorte.isEmpty()) {
+                    throw new ErroDeLeituraImagemException("Região fora do quadro: " + regiao);
+                }
+                recorteQuadro = quadro.submat(new Rect(recorte.x, recorte.y, recorte.width, recorte.height));
+                origem = recorteQuadro;
+            }
+            try {
+                if (subamostragem > 1) {
+                    Imgproc.resize(origem, b.cinza,
+                                   new Size((origem.cols() + subamostragem - 1) / subamostragem,
+                                            (origem.rows() + subamostragem - 1) / subamostragem),
+                                   0, 0, Imgproc.INTER_AREA);
+                } else {
+                    origem.copyTo(b.cinza);
+                }
+            } finally {
+                // Cabeçalho do submat (os pixels são do quadro, liberado abaixo)
+                if (recorteQuadro != null) {
+                    recorteQuadro.release();
+                }
+            }
+            return b.cinza;
+        } finally {
+            quadro.release();
+        }
+    }
+
+    private static File validarArquivo(String caminhoImagem) throws ErroDeLeituraImagemException {
+        if (caminhoImagem == null || caminhoImagem.trim().isEmpty()) {
+            throw new ErroDeLeituraImagemException("Caminho da imagem não pode ser nulo ou vazio");
+        }
+        File arquivo = new File(caminhoImagem);
+        if (!arquivo.isFile() || !arquivo.canRead()) {
+            throw new ErroDeLeituraImagemException(
+                "Arquivo de imagem inválido ou sem permissão de leitura: " + arquivo.getAbsolutePath()
+            );
+        }
+        return arquivo;
+    }
+
+    // ========================================================================
+    // BUFFERS POR THREAD
+    // ========================================================================
+
+    /**
+     * Leitor e destinos de decodificação de uma thread.
+     */
+    private static class Buffers {
+        final Mat cinza = new Mat();
+        final Mat colorida = new Mat();
+        BufferedImage imagemCinza;
+        ImageReader leitor;
+
+        /**
+         * Destinos por tipo/dimensões, em ordem de acesso (descarta o menos usado).
+         */
+        final Map<Long, BufferedImage> destinos =
+            new LinkedHashMap<Long, BufferedImage>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, BufferedImage> maisAntigo) {
+                    return size() > DESTINOS_POR_THREAD;
+                }
+            };
+
+        /**
+         * Reaproveita o ImageReader da thread enquanto o formato for o mesmo.
+         */
+        ImageReader obterLeitor(ImageInputStream entrada) throws IOException {
+            if (leitor != null && leitor.getOriginatingProvider().canDecodeInput(entrada)) {
+                return leitor;
+            }
+            Iterator<ImageReader> leitores = ImageIO.getImageReaders(entrada);
+            if (!leitores.hasNext()) {
+                return null;
+            }
+            if (leitor != null) {
+                leitor.dispose();
+            }
+            leitor = leitores.next();
+            return leitor;
+        }
+
+        BufferedImage obterDestino(int tipo, int largura, int altura) {
+            long chave = ((long) tipo << 48) | ((long) largura << 24) | altura;
+            return destinos.computeIfAbsent(chave, k -> new BufferedImage(largura, altura, tipo));
+        }
+    }
+}
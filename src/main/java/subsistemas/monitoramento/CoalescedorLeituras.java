@@ -0,0 +1,218 @@
+package subsistemas.monitoramento;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Agrupa leituras simultâneas do mesmo SHA em uma única execução ("single-flight").
+ *
+ * O mesmo SHA pode ser lido ao mesmo tempo pela tarefa de monitoramento da
+ * conta, por FachadaPainel.obterConsumoSHA e por obterConsumoConta; cada
+ * chamada disparava um OCR próprio do mesmo arquivo. Aqui:
+ * - O primeiro chamador de um SHA vira o LÍDER e executa a leitura
+ * - Quem chega com a leitura em andamento aguarda o resultado do líder
+ * - Um sucesso continua valendo por uma janela curta de frescor; depois
+ *   dela (ou após uma falha) o próximo chamador inicia uma leitura nova
+ *
+ * O trabalho de OCR passa a depender da quantidade de SHAs, e não da
+ * quantidade de chamadores simultâneos.
+ *
+ * @author Pedro Henrique
+ * @date 2026-10-16
+ */
+public class CoalescedorLeituras {
+
+    /**
+     * Janela padrão em que um sucesso é reaproveitado (a imagem é
+     * sincronizada a cada segundo).
+     */
+    public static final long JANELA_FRESCOR_PADRAO_MS = 500;
+
+    private final Map<Integer, Voo> voos;
+    private final long janelaFrescorNanos;
+
+    // Métricas
+    private final AtomicLong leituras;
+    private final AtomicLong compartilhadas;
+    private final AtomicLong reaproveitadas;
+
+    public CoalescedorLeituras() {
+        this(JANELA_FRESCOR_PADRAO_MS);
+    }
+
+    /**
+     * @param janelaFrescorMs Tempo em que um sucesso é reaproveitado (0 = só leituras em andamento)
+     */
+    public CoalescedorLeituras(long janelaFrescorMs) {
+        if (janelaFrescorMs < 0) {
+            throw new IllegalArgumentException("Janela de frescor não pode ser negativa");
+        }
+        this.voos = new ConcurrentHashMap<>();
+        this.janelaFrescorNanos = TimeUnit.MILLISECONDS.toNanos(janelaFrescorMs);
+        this.leituras = new AtomicLong(0);
+        this.compartilhadas = new AtomicLong(0);
+        this.reaproveitadas = new AtomicLong(0);
+    }
+
+    /**
+     * Entra na leitura de um SHA, com a janela de frescor padrão.
+     *
+     * Se isLider() for true, o chamador DEVE executar a leitura e chamar
+     * concluir() (inclusive em caso de erro); senão basta aguardar getFuturo().
+     *
+     * @param idSHA ID do SHA
+     * @return Participação na leitura (líder ou seguidor)
+     */
+    public Participacao entrar(int idSHA) {
+        return entrarComJanela(idSHA, janelaFrescorNanos);
+    }
+
+    /**
+     * Entra na leitura de um SHA, aceitando sucessos mais novos que a janela informada
+     * (ex.: o período efetivo do SHA no AgendadorLeiturasSHA).
+     *
+     * @param idSHA ID do SHA
+     * @param janelaFrescorMs Idade máxima de um sucesso reaproveitado
+     * @return Participação na leitura (líder ou seguidor)
+     */
+    public Participacao entrar(int idSHA, long janelaFrescorMs) {
+        if (janelaFrescorMs < 0) {
+            throw new IllegalArgumentException("Janela de frescor não pode ser negativa");
+        }
+        return entrarComJanela(idSHA, TimeUnit.MILLISECONDS.toNanos(janelaFrescorMs));
+    }
+
+    private Participacao entrarComJanela(int idSHA, long janelaNanos) {
+        while (true) {
+            Voo atual = voos.get(idSHA);
+            long agora = System.nanoTime();
+            if (atual != null) {
+                if (!atual.futuro.isDone()) {
+                    compartilhadas.incrementAndGet();
+                    return new Participacao(idSHA, atual, false);
+                }
+                if (atual.isFresco(agora, janelaNanos)) {
+                    reaproveitadas.incrementAndGet();
+                    return new Participacao(idSHA, atual, false);
+                }
+            }
+
+            Voo novo = new Voo();
+            boolean assumiu = atual == null
+                ? voos.putIfAbsent(idSHA, novo) == null
+                : voos.replace(idSHA, atual, novo);
+            if (assumiu) {
+                leituras.incrementAndGet();
+                return new Participacao(idSHA, novo, true);
+            }
+            // Outro chamador assumiu a leitura entre a consulta e a troca: tenta de novo
+        }
+    }
+
+    /**
+     * Consulta o último sucesso do SHA sem iniciar leitura.
+     *
+     * @param janelaFrescorMs Idade máxima aceita
+     * @return Sucesso dentro da janela, ou null
+     */
+    public ResultadoLeitura getRecente(int idSHA, long janelaFrescorMs) {
+        Voo atual = voos.get(idSHA);
+        if (atual == null || !atual.isFresco(System.nanoTime(), TimeUnit.MILLISECONDS.toNanos(janelaFrescorMs))) {
+            return null;
+        }
+        reaproveitadas.incrementAndGet();
+        return atual.futuro.getNow(null);
+    }
+
+    /**
+     * Entrega o resultado do líder a todos que aguardam.
+     */
+    public void concluir(Participacao participacao, ResultadoLeitura resultado) {
+        if (!participacao.lider) {
+            throw new IllegalArgumentException("Apenas o líder conclui a leitura do SHA " + participacao.idSHA);
+        }
+        Voo voo = participacao.voo;
+        voo.concluidoEm = System.nanoTime();
+        voo.futuro.complete(resultado);
+    }
+
+    // ========================================================================
+    // MÉTRICAS
+    // ========================================================================
+
+    public long getJanelaFrescorMs() {
+        return TimeUnit.NANOSECONDS.toMillis(janelaFrescorNanos);
+    }
+
+    /**
+     * @return Leituras efetivamente executadas (líderes)
+     */
+    public long getLeituras() {
+        return leituras.get();
+    }
+
+    /**
+     * @return Chamadas que aguardaram uma leitura em andamento
+     */
+    public long getCompartilhadas() {
+        return compartilhadas.get();
+    }
+
+    /**
+     * @return Chamadas atendidas por um sucesso ainda dentro da janela de frescor
+     */
+    public long getReaproveitadas() {
+        return reaproveitadas.get();
+    }
+
+    public String getEstatisticas() {
+        return String.format(
+            "Coalescência: %d leituras, %d compartilhadas em andamento, %d reaproveitadas (janela %dms)",
+            getLeituras(), getCompartilhadas(), getReaproveitadas(), getJanelaFrescorMs()
+        );
+    }
+
+    // ========================================================================
+    // CLASSES INTERNAS
+    // ========================================================================
+
+    /**
+     * Participação de um chamador na leitura de um SHA.
+     */
+    public static final class Participacao {
+        private final int idSHA;
+        private final Voo voo;
+        private final boolean lider;
+
+        private Participacao(int idSHA, Voo voo, boolean lider) {
+            this.idSHA = idSHA;
+            this.voo = voo;
+            this.lider = lider;
+        }
+
+        public int getIdSHA() {
+            return idSHA;
+        }
+
+        public boolean isLider() {
+            return lider;
+        }
+
+        public CompletableFuture<ResultadoLeitura> getFuturo() {
+            return voo.futuro;
+        }
+    }
+
+    private static final class Voo {
+        final CompletableFuture<ResultadoLeitura> futuro = new CompletableFuture<>();
+        volatile long concluidoEm;
+
+        boolean isFresco(long agora, long janelaNanos) {
+            ResultadoLeitura resultado = futuro.getNow(null);
+            return resultado != null && resultado.isSucesso() && agora - concluidoEm < janelaNanos;
+        }
+    }
+}
@@ -0,0 +1,315 @@
+package subsistemas.monitoramento;
+
+import subsistemas.monitoramento.state.EstadoMonitoramento;
+import subsistemas.monitoramento.state.EstadoMonitoramentoParado;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Contexto de monitoramento de UMA conta (Contexto do padrão State).
+ *
+ * Antes, MonitorConsumo guardava um único estado e um único "consumo atual"
+ * para todas as contas: ciclos concorrentes sobrescreviam os valores uns dos
+ * outros e uma conta em ERRO bloqueava todas as demais. Agora cada conta
+ * monitorada tem o seu contexto, com:
+ * - Máquina de estados própria (INICIADO, PAUSADO, PARADO, ERRO)
+ * - Contador de falhas consecutivas próprio
+ * - Agendamento periódico e última leitura da conta
+ * - Intervalo adaptativo (opcional): cresce enquanto o consumo não muda
+ * - Métricas de pontualidade: atraso e duração dos ciclos, ticks pulados
+ *
+ * Todos os campos mutáveis são atômicos/voláteis; apenas a troca do
+ * agendamento é sincronizada (um ciclo que reagenda não pode reviver uma
+ * conta parada pela fachada ao mesmo tempo).
+ *
+ * @pattern State (Contexto)
+ * @author Pedro Henrique
+ * @date 2026-10-16
+ */
+public class ContextoMonitoramento {
+
+    private final String numeroConta;
+    private final AtomicReference<EstadoMonitoramento> estado;
+    private final AtomicInteger falhasConsecutivas;
+
+    /**
+     * Fator de crescimento do intervalo adaptativo a cada leitura sem consumo.
+     */
+    static final int FATOR_CRESCIMENTO_INTERVALO = 2;
+
+    private volatile RodaTemporizacao.Agendamento agendamento;
+    private volatile int intervaloSegundos;
+    private volatile int intervaloMinimoSegundos;
+    private volatile int intervaloMaximoSegundos;
+    private volatile double ultimoConsumo;
+    private volatile LocalDateTime dataUltimaLeitura;
+
+    // Métricas de pontualidade dos ciclos
+    private final HistogramaLatencia atrasos = new HistogramaLatencia();
+    private final HistogramaLatencia duracoes = new HistogramaLatencia();
+    private final AtomicLong ticksSobrepostos = new AtomicLong(0);
+    private final AtomicLong ticksAtrasados = new AtomicLong(0);
+    private final AtomicLong ticksSobCarga = new AtomicLong(0);
+
+    public ContextoMonitoramento(String numeroConta) {
+        if (numeroConta == null || numeroConta.trim().isEmpty()) {
+            throw new IllegalArgumentException("Número da conta é obrigatório");
+        }
+        this.numeroConta = numeroConta;
+        this.estado = new AtomicReference<>(new EstadoMonitoramentoParado());
+        this.falhasConsecutivas = new AtomicInteger(0);
+    }
+
+    // ========================================================================
+    // STATE - Delegação para o estado atual
+    // ========================================================================
+
+    public void iniciar() {
+        estado.get().iniciar(this);
+    }
+
+    public void pausar() {
+        estado.get().pausar(this);
+    }
+
+    public void retomar() {
+        estado.get().retomar(this);
+    }
+
+    public void parar() {
+        estado.get().parar(this);
+    }
+
+    /**
+     * Consulta o estado atual antes de um ciclo de leitura.
+     *
+     * @return true se o ciclo pode ler (estado INICIADO)
+     */
+    public boolean executarLeitura() {
+        EstadoMonitoramento atual = estado.get();
+        atual.executarLeitura(this);
+        return "INICIADO".equals(atual.getNomeEstado());
+    }
+
+    public EstadoMonitoramento getEstadoMonitoramento() {
+        return estado.get();
+    }
+
+    /**
+     * Define o estado do monitoramento.
+     * Usado pelos estados concretos nas transições.
+     *
+     * @param novoEstado Novo estado
+     */
+    public void setEstadoMonitoramento(EstadoMonitoramento novoEstado) {
+        estado.set(novoEstado);
+    }
+
+    // ========================================================================
+    // FALHAS CONSECUTIVAS
+    // ========================================================================
+
+    /**
+     * @return Quantidade de falhas consecutivas após esta
+     */
+    public int registrarFalha() {
+        return falhasConsecutivas.incrementAndGet();
+    }
+
+    public void registrarSucesso(double consumo) {
+        falhasConsecutivas.set(0);
+        this.ultimoConsumo = consumo;
+        this.dataUltimaLeitura = LocalDateTime.now();
+    }
+
+    /**
+     * Reseta o contador de falhas (usado ao reiniciar após erro).
+     */
+    public void resetarContadorFalhas() {
+        falhasConsecutivas.set(0);
+    }
+
+    public int getFalhasConsecutivas() {
+        return falhasConsecutivas.get();
+    }
+
+    // ========================================================================
+    // AGENDAMENTO E ÚLTIMA LEITURA
+    // ========================================================================
+
+    /**
+     * Substitui o agendamento periódico da conta, cancelando o anterior.
+     * O intervalo fica fixo (sem adaptação).
+     */
+    void setAgendamento(RodaTemporizacao.Agendamento novoAgendamento, int intervaloSegundos) {
+        setAgendamento(novoAgendamento, intervaloSegundos, intervaloSegundos);
+    }
+
+    /**
+     * Substitui o agendamento periódico da conta, cancelando o anterior.
+     * Com mínimo < máximo, o intervalo passa a ser adaptativo.
+     *
+     * @param novoAgendamento Agendamento criado com o intervalo mínimo
+     * @param intervaloMinimoSegundos Intervalo inicial e de retorno ao haver consumo
+     * @param intervaloMaximoSegundos Teto do intervalo enquanto o consumo não muda
+     */
+    synchronized void setAgendamento(RodaTemporizacao.Agendamento novoAgendamento,
+                                     int intervaloMinimoSegundos, int intervaloMaximoSegundos) {
+        RodaTemporizacao.Agendamento anterior = this.agendamento;
+        this.agendamento = novoAgendamento;
+        this.intervaloSegundos = intervaloMinimoSegundos;
+        this.intervaloMinimoSegundos = intervaloMinimoSegundos;
+        this.intervaloMaximoSegundos = intervaloMaximoSegundos;
+        if (anterior != null) {
+            anterior.cancelar();
+        }
+    }
+
+    /**
+     * Troca o agendamento por outro com novo intervalo, SE o monitoramento
+     * ainda estiver agendado (um ciclo não pode reviver uma conta já parada).
+     *
+     * @return true se o agendamento foi substituído (senão o novo é cancelado)
+     */
+    synchronized boolean reagendar(RodaTemporizacao.Agendamento novoAgendamento, int novoIntervaloSegundos) {
+        RodaTemporizacao.Agendamento anterior = this.agendamento;
+        if (anterior == null || anterior.isCancelado()) {
+            novoAgendamento.cancelar();
+            return false;
+        }
+        this.agendamento = novoAgendamento;
+        this.intervaloSegundos = novoIntervaloSegundos;
+        anterior.cancelar();
+        return true;
+    }
+
+    /**
+     * Intervalo do próximo ciclo no modo adaptativo:
+     * - Consumo mudou ou está perto do limite de alerta → volta ao mínimo
+     * - Consumo parado → multiplica o intervalo atual, até o máximo
+     *
+     * @param houveConsumo Consumo diferente da leitura anterior
+     * @param proximoDoLimite Consumo perto do limite de alerta da conta
+     * @return Intervalo em segundos (igual ao atual se nada mudar ou não for adaptativo)
+     */
+    int calcularProximoIntervalo(boolean houveConsumo, boolean proximoDoLimite) {
+        if (!isAdaptativo()) {
+            return intervaloSegundos;
+        }
+        if (houveConsumo || proximoDoLimite) {
+            return intervaloMinimoSegundos;
+        }
+        return (int) Math.min((long) intervaloSegundos * FATOR_CRESCIMENTO_INTERVALO, intervaloMaximoSegundos);
+    }
+
+    /**
+     * Cancela o agendamento periódico da conta.
+     *
+     * @return true se havia agendamento ativo
+     */
+    synchronized boolean cancelarAgendamento() {
+        RodaTemporizacao.Agendamento anterior = this.agendamento;
+        this.agendamento = null;
+        if (anterior == null || anterior.isCancelado()) {
+            return false;
+        }
+        anterior.cancelar();
+        return true;
+    }
+
+    public boolean isAgendado() {
+        RodaTemporizacao.Agendamento atual = agendamento;
+        return atual != null && !atual.isCancelado();
+    }
+
+    // ========================================================================
+    // PONTUALIDADE DOS CICLOS
+    // ========================================================================
+
+    /**
+     * Tick descartado porque o ciclo anterior ainda estava em andamento.
+     */
+    void registrarTickSobreposto() {
+        ticksSobrepostos.incrementAndGet();
+    }
+
+    /**
+     * Tick descartado porque só conseguiria ler com um intervalo inteiro de atraso.
+     */
+    void registrarTickAtrasado() {
+        ticksAtrasados.incrementAndGet();
+    }
+
+    /**
+     * @return Quantidade de ticks da conta com o OCR sobrecarregado (antes deste)
+     */
+    long registrarTickSobCarga() {
+        return ticksSobCarga.getAndIncrement();
+    }
+
+    /**
+     * @return Atraso entre o disparo do tick e o início da leitura (fila de OCR)
+     */
+    public HistogramaLatencia getAtrasos() {
+        return atrasos;
+    }
+
+    /**
+     * @return Duração da leitura da conta (todos os SHAs)
+     */
+    public HistogramaLatencia getDuracoes() {
+        return duracoes;
+    }
+
+    public long getTicksSobrepostos() {
+        return ticksSobrepostos.get();
+    }
+
+    public long getTicksAtrasados() {
+        return ticksAtrasados.get();
+    }
+
+    public String getEstatisticas() {
+        return String.format(
+            "Conta %s: intervalo %ds, %d ticks sobrepostos, %d ticks atrasados | atraso [%s] | duração [%s]",
+            numeroConta, intervaloSegundos, getTicksSobrepostos(), getTicksAtrasados(), atrasos, duracoes
+        );
+    }
+
+    public String getNumeroConta() {
+        return numeroConta;
+    }
+
+    /**
+     * @return Intervalo atual entre ciclos (no modo adaptativo, varia entre mínimo e máximo)
+     */
+    public int getIntervaloSegundos() {
+        return intervaloSegundos;
+    }
+
+    public int getIntervaloMinimoSegundos() {
+        return intervaloMinimoSegundos;
+    }
+
+    public int getIntervaloMaximoSegundos() {
+        return intervaloMaximoSegundos;
+    }
+
+    public boolean isAdaptativo() {
+        return intervaloMaximoSegundos > intervaloMinimoSegundos;
+    }
+
+    public double getUltimoConsumo() {
+        return ultimoConsumo;
+    }
+
+    /**
+     * @return Data da última leitura bem-sucedida, ou null se nunca leu
+     */
+    public LocalDateTime getDataUltimaLeitura() {
+        return dataUltimaLeitura;
+    }
+}
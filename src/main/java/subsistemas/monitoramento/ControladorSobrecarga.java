@@ -0,0 +1,220 @@
+package subsistemas.monitoramento;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Controle de sobrecarga da etapa de OCR.
+ *
+ * Quando o OCR não dava conta, o MonitorConsumo não percebia: os ciclos
+ * atrasavam e a fila de leituras crescia (ex.: rajada de contas novas).
+ * Aqui a carga é avaliada a cada ciclo pela fila de espera do OCR e pelo
+ * atraso médio (EWMA) entre o tick e o início da leitura:
+ * - NORMAL: nenhuma degradação
+ * - ALERTA / CRITICO: contas de baixa prioridade leem só 1 a cada N ticks
+ *   (intervalo esticado), e leituras em cache mais velhas (até N vezes a
+ *   janela de frescor) são servidas em vez de refazer o OCR
+ *
+ * Há histerese: o nível só cai quando fila e atraso ficam abaixo da metade
+ * dos limites do nível atual (CRITICO → ALERTA abaixo da metade dos limites
+ * de CRITICO, ALERTA → NORMAL abaixo da metade dos de ALERTA). Cada decisão
+ * é contada (getEstatisticas).
+ *
+ * @author Pedro Henrique
+ * @date 2026-10-16
+ */
+public class ControladorSobrecarga {
+
+    /**
+     * Nível de carga, com o fator de degradação aplicado.
+     */
+    public enum Nivel {
+        NORMAL(1),
+        ALERTA(2),
+        CRITICO(4);
+
+        private final int fator;
+
+        Nivel(int fator) {
+            this.fator = fator;
+        }
+
+        /**
+         * @return Multiplicador do intervalo (baixa prioridade) e da janela de frescor
+         */
+        public int getFator() {
+            return fator;
+        }
+    }
+
+    /**
+     * Fila de espera do OCR (em múltiplos das permissões) que leva a ALERTA / CRITICO.
+     */
+    public static final double FILA_ALERTA_PADRAO = 2.0;
+    public static final double FILA_CRITICO_PADRAO = 8.0;
+
+    /**
+     * Atraso médio entre tick e leitura que leva a ALERTA / CRITICO.
+     */
+    public static final long ATRASO_ALERTA_PADRAO_MS = 2_000;
+    public static final long ATRASO_CRITICO_PADRAO_MS = 10_000;
+
+    /**
+     * Contas abaixo desta prioridade (MonitorConsumo.calcularPrioridade) são esticadas.
+     */
+    public static final double PRIORIDADE_BAIXA_PADRAO = 0.3;
+
+    private static final double PESO_EWMA = 0.2;
+
+    private final double filaAlerta;
+    private final double filaCritico;
+    private final long atrasoAlertaNanos;
+    private final long atrasoCriticoNanos;
+    private final double prioridadeBaixa;
+
+    private volatile Nivel nivel;
+    private double atrasoMedioNanos; // protegido por this
+
+    // Métricas
+    private final AtomicLong transicoes;
+    private final AtomicLong ciclosEsticados;
+    private final AtomicLong servidasDoCache;
+
+    public ControladorSobrecarga() {
+        this(FILA_ALERTA_PADRAO, FILA_CRITICO_PADRAO, ATRASO_ALERTA_PADRAO_MS, ATRASO_CRITICO_PADRAO_MS,
+             PRIORIDADE_BAIXA_PADRAO);
+    }
+
+    /**
+     * @param filaAlerta Pedidos aguardando OCR, por permissão, que levam a ALERTA
+     * @param filaCritico Pedidos aguardando OCR, por permissão, que levam a CRITICO
+     * @param atrasoAlertaMs Atraso médio até a leitura que leva a ALERTA
+     * @param atrasoCriticoMs Atraso médio até a leitura que leva a CRITICO
+     * @param prioridadeBaixa Prioridade abaixo da qual a conta tem o intervalo esticado
+     */
+    public ControladorSobrecarga(double filaAlerta, double filaCritico, long atrasoAlertaMs,
+                                 long atrasoCriticoMs, double prioridadeBaixa) {
+        if (filaAlerta <= 0 || filaCritico < filaAlerta) {
+            throw new IllegalArgumentException("Limites de fila devem respeitar 0 < alerta <= crítico");
+        }
+        if (atrasoAlertaMs <= 0 || atrasoCriticoMs < atrasoAlertaMs) {
+            throw new IllegalArgumentException("Limites de atraso devem respeitar 0 < alerta <= crítico");
+        }
+        if (prioridadeBaixa < 0.0 || prioridadeBaixa > 1.0) {
+            throw new IllegalArgumentException("Prioridade baixa deve estar entre 0.0 e 1.0");
+        }
+        this.filaAlerta = filaAlerta;
+        this.filaCritico = filaCritico;
+        this.atrasoAlertaNanos = TimeUnit.MILLISECONDS.toNanos(atrasoAlertaMs);
+        this.atrasoCriticoNanos = TimeUnit.MILLISECONDS.toNanos(atrasoCriticoMs);
+        this.prioridadeBaixa = prioridadeBaixa;
+        this.nivel = Nivel.NORMAL;
+        this.transicoes = new AtomicLong(0);
+        this.ciclosEsticados = new AtomicLong(0);
+        this.servidasDoCache = new AtomicLong(0);
+    }
+
+    /**
+     * Alimenta a média de atraso (tick → início da leitura).
+     */
+    public synchronized void registrarAtraso(long atrasoNanos) {
+        atrasoMedioNanos += PESO_EWMA * (Math.max(0, atrasoNanos) - atrasoMedioNanos);
+    }
+
+    /**
+     * Reavalia o nível de carga.
+     *
+     * @param aguardando Pedidos aguardando vaga no OCR
+     * @param permissoes Leituras simultâneas permitidas
+     * @return Nível atual
+     */
+    public synchronized Nivel avaliar(int aguardando, int permissoes) {
+        double fila = (double) aguardando / Math.max(1, permissoes);
+        Nivel novo;
+        if (fila >= filaCritico || atrasoMedioNanos >= atrasoCriticoNanos) {
+            novo = Nivel.CRITICO;
+        } else if (nivel == Nivel.CRITICO
+                   && (fila >= filaCritico / 2 || atrasoMedioNanos >= atrasoCriticoNanos / 2.0)) {
+            // Entre a metade e o limite de CRITICO: mantém CRITICO (histerese)
+            novo = Nivel.CRITICO;
+        } else if (fila >= filaAlerta || atrasoMedioNanos >= atrasoAlertaNanos) {
+            novo = Nivel.ALERTA;
+        } else if (fila < filaAlerta / 2 && atrasoMedioNanos < atrasoAlertaNanos / 2.0) {
+            novo = Nivel.NORMAL;
+        } else {
+            // Entre a metade e o limite de ALERTA: mantém o nível (histerese),
+            // no máximo ALERTA
+            novo = nivel == Nivel.NORMAL ? Nivel.NORMAL : Nivel.ALERTA;
+        }
+        if (novo != nivel) {
+            transicoes.incrementAndGet();
+            System.out.println((novo == Nivel.NORMAL ? "🟢" : "🟠") + " Carga do OCR: " + nivel + " → " + novo +
+                String.format(" (fila %d, atraso médio %.0fms)", aguardando, atrasoMedioNanos / 1_000_000.0));
+            nivel = novo;
+        }
+        return novo;
+    }
+
+    /**
+     * Decide se o ciclo de uma conta de baixa prioridade é pulado (intervalo esticado).
+     *
+     * @param nivelAtual Nível retornado por avaliar()
+     * @param prioridade Prioridade do ciclo
+     * @param tickConta Contador de ticks da conta sob sobrecarga
+     * @return true se o ciclo deve ser pulado
+     */
+    public boolean deveEsticar(Nivel nivelAtual, double prioridade, long tickConta) {
+        if (nivelAtual == Nivel.NORMAL || prioridade >= prioridadeBaixa) {
+            return false;
+        }
+        if (tickConta % nivelAtual.getFator() == 0) {
+            return false;
+        }
+        ciclosEsticados.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Conta um ciclo atendido por leituras em cache, sem OCR.
+     */
+    public void registrarServidaDoCache() {
+        servidasDoCache.incrementAndGet();
+    }
+
+    // ========================================================================
+    // MÉTRICAS
+    // ========================================================================
+
+    public Nivel getNivel() {
+        return nivel;
+    }
+
+    public synchronized double getAtrasoMedioMs() {
+        return atrasoMedioNanos / 1_000_000.0;
+    }
+
+    public long getTransicoes() {
+        return transicoes.get();
+    }
+
+    /**
+     * @return Ciclos de contas de baixa prioridade pulados sob sobrecarga
+     */
+    public long getCiclosEsticados() {
+        return ciclosEsticados.get();
+    }
+
+    /**
+     * @return Ciclos atendidos por leituras em cache sob sobrecarga
+     */
+    public long getServidasDoCache() {
+        return servidasDoCache.get();
+    }
+
+    public String getEstatisticas() {
+        return String.format(
+            "Sobrecarga: nível %s, atraso médio %.0fms, %d transições, %d ciclos esticados, %d servidos do cache",
+            getNivel(), getAtrasoMedioMs(), getTransicoes(), getCiclosEsticados(), getServidasDoCache()
+        );
+    }
+}
@@ -0,0 +1,59 @@
+package subsistemas.monitoramento;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Convenção de nomes das imagens sincronizadas pelo GerenciadorSincronizacao:
+ *   saida/leitura_do_hidrometro_<idSHA>.jpg
+ *
+ * Centraliza a construção do caminho a partir do ID do SHA e o caminho
+ * inverso (extrair o ID do SHA de um caminho), usado pelos leitores que
+ * mantêm estado por hidrômetro.
+ *
+ * @author Pedro Henrique
+ * @date 2026-10-16
+ */
+public final class ConvencaoImagemSHA {
+
+    private static final String DIRETORIO = "saida/";
+    private static final String PREFIXO = "leitura_do_hidrometro_";
+    private static final Pattern PADRAO_ID = Pattern.compile(PREFIXO + "(\\d+)\\.jpe?g$");
+
+    private ConvencaoImagemSHA() {
+    }
+
+    /**
+     * Constrói o caminho padronizado da imagem de um SHA.
+     *
+     * @param idSHA ID do hidrômetro SHA (ex.: 1001)
+     * @return Caminho da imagem sincronizada
+     */
+    public static String construirCaminho(int idSHA) {
+        if (idSHA <= 0) {
+            throw new IllegalArgumentException("idSHA deve ser positivo");
+        }
+        return DIRETORIO + PREFIXO + idSHA + ".jpg";
+    }
+
+    /**
+     * Extrai o ID do SHA de um caminho que segue a convenção.
+     *
+     * @param caminhoImagem Caminho da imagem
+     * @return ID do SHA, ou -1 se o caminho não seguir a convenção
+     */
+    public static int extrairIdSHA(String caminhoImagem) {
+        if (caminhoImagem == null) {
+            return -1;
+        }
+        Matcher m = PADRAO_ID.matcher(caminhoImagem);
+        if (!m.find()) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(m.group(1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package subsistemas.monitoramento;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Disjuntor (circuit breaker) das leituras de UM SHA.
+ *
+ * Antes, falhas seguidas levavam a conta inteira ao estado ERRO e a leitura
+ * só voltava com iniciar() manual. Aqui cada SHA tem seu próprio disjuntor:
+ * - FECHADO: leituras normais; falhas consecutivas são contadas
+ * - ABERTO: após o limite de falhas, leituras são bloqueadas (sem OCR)
+ *   durante o tempo de recuo
+ * - SEMIABERTO: terminado o recuo, UMA leitura de sondagem é permitida.
+ *   Sucesso fecha o disjuntor; falha reabre com o recuo dobrado (até o máximo)
+ *
+ * Uma câmera quebrada deixa de consumir OCR, e os demais SHAs seguem lidos.
+ *
+ * @author Pedro Henrique
+ * @date 2026-10-16
+ */
+public class DisjuntorLeitura {
+
+    public static final int LIMITE_FALHAS_PADRAO = 3;
+    public static final long RECUO_INICIAL_PADRAO_MS = 5_000;
+    public static final long RECUO_MAXIMO_PADRAO_MS = 5 * 60_000;
+
+    /**
+     * Estado do disjuntor.
+     */
+    public enum Estado {
+        FECHADO,
+        ABERTO,
+        SEMIABERTO
+    }
+
+    private final int limiteFalhas;
+    private final long recuoInicialNanos;
+    private final long recuoMaximoNanos;
+
+    // Protegidos pelo monitor do objeto
+    private Estado estado;
+    private int falhasConsecutivas;
+    private long recuoAtualNanos;
+    private long sondagemEm;
+    private boolean sondagemEmAndamento;
+
+    // Métricas (protegidas pelo monitor do objeto)
+    private long aberturas;
+    private long bloqueios;
+
+    public DisjuntorLeitura() {
+        this(LIMITE_FALHAS_PADRAO, RECUO_INICIAL_PADRAO_MS, RECUO_MAXIMO_PADRAO_MS);
+    }
+
+    /**
+     * @param limiteFalhas Falhas consecutivas que abrem o disjuntor
+     * @param recuoInicialMs Tempo aberto após a primeira abertura
+     * @param recuoMaximoMs Teto do tempo aberto (o recuo dobra a cada sondagem falha)
+     */
+    public DisjuntorLeitura(int limiteFalhas, long recuoInicialMs, long recuoMaximoMs) {
+        if (limiteFalhas <= 0) {
+            throw new IllegalArgumentException("Limite de falhas deve ser maior que zero");
+        }
+        if (recuoInicialMs <= 0 || recuoMaximoMs < recuoInicialMs) {
+            throw new IllegalArgumentException("Recuo deve respeitar 0 < inicial <= máximo");
+        }
+        this.limiteFalhas = limiteFalhas;
+        this.recuoInicialNanos = TimeUnit.MILLISECONDS.toNanos(recuoInicialMs);
+        this.recuoMaximoNanos = TimeUnit.MILLISECONDS.toNanos(recuoMaximoMs);
+        this.estado = Estado.FECHADO;
+        this.recuoAtualNanos = recuoInicialNanos;
+    }
+
+    /**
+     * Consulta o disjuntor antes de uma leitura.
+     *
+     * Se retornar true, o chamador DEVE informar o desfecho (registrarSucesso,
+     * registrarFalha ou registrarInconclusiva): no estado SEMIABERTO a
+     * sondagem fica reservada até lá.
+     *
+     * @return true se a leitura pode ser executada
+     */
+    public synchronized boolean permitir() {
+        switch (estado) {
+            case FECHADO:
+                return true;
+            case ABERTO:
+                if (System.nanoTime() - sondagemEm >= 0) {
+                    estado = Estado.SEMIABERTO;
+                    sondagemEmAndamento = true;
+                    return true;
+                }
+                break;
+            case SEMIABERTO:
+                if (!sondagemEmAndamento) {
+                    sondagemEmAndamento = true;
+                    return true;
+                }
+                break;
+        }
+        bloqueios++;
+        return false;
+    }
+
+    /**
+     * Leitura bem-sucedida: fecha o disjuntor e zera o recuo.
+     */
+    public synchronized void registrarSucesso() {
+        estado = Estado.FECHADO;
+        falhasConsecutivas = 0;
+        recuoAtualNanos = recuoInicialNanos;
+        sondagemEmAndamento = false;
+    }
+
+    /**
+     * Leitura falhou: abre o disjuntor no limite de falhas, ou reabre com o
+     * recuo dobrado se era a sondagem.
+     */
+    public synchronized void registrarFalha() {
+        if (estado == Estado.SEMIABERTO) {
+            recuoAtualNanos = Math.min(recuoAtualNanos * 2, recuoMaximoNanos);
+            abrir();
+            return;
+        }
+        falhasConsecutivas++;
+        if (estado == Estado.FECHADO && falhasConsecutivas >= limiteFalhas) {
+            abrir();
+        }
+    }
+
+    /**
+     * Leitura sem conclusão sobre a câmera (ex.: quadro rejeitado pelo filtro
+     * de qualidade): não altera o estado, apenas libera a sondagem.
+     */
+    public synchronized void registrarInconclusiva() {
+        sondagemEmAndamento = false;
+    }
+
+    private void abrir() {
+        estado = Estado.ABERTO;
+        sondagemEmAndamento = false;
+        sondagemEm = System.nanoTime() + recuoAtualNanos;
+        aberturas++;
+    }
+
+    // ========================================================================
+    // CONSULTA E MÉTRICAS
+    // ========================================================================
+
+    public synchronized Estado getEstado() {
+        return estado;
+    }
+
+    public synchronized int getFalhasConsecutivas() {
+        return falhasConsecutivas;
+    }
+
+    /**
+     * @return Recuo (ms) aplicado na próxima abertura
+     */
+    public synchronized long getRecuoAtualMs() {
+        return TimeUnit.NANOSECONDS.toMillis(recuoAtualNanos);
+    }
+
+    /**
+     * @return Tempo (ms) até a próxima sondagem (0 se não estiver ABERTO)
+     */
+    public synchronized long getTempoAteSondagemMs() {
+        if (estado != Estado.ABERTO) {
+            return 0;
+        }
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(sondagemEm - System.nanoTime()));
+    }
+
+    public synchronized long getAberturas() {
+        return aberturas;
+    }
+
+    /**
+     * @return Leituras bloqueadas sem OCR
+     */
+    public synchronized long getBloqueios() {
+        return bloqueios;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("%s, %d falhas, %d aberturas, %d bloqueios, recuo %dms",
+            estado, falhasConsecutivas, aberturas, bloqueios, getRecuoAtualMs());
+    }
+}
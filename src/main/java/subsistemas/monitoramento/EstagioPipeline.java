@@ -0,0 +1,282 @@
+package subsistemas.monitoramento;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Estágio de um pipeline em etapas (SEDA): fila limitada + threads próprias.
+ *
+ * O caminho de leitura era uma única tarefa que fazia tudo em sequência, e
+ * não dava para saber qual etapa era o gargalo. Cada estágio aqui tem:
+ * - Fila limitada (FIFO, ou ordenada por um Comparator, ex.: prioridade)
+ * - Quantidade própria de threads, dimensionada para a sua etapa
+ * - Contrapressão: enviar() bloqueia o estágio anterior (até o prazo)
+ *   quando a fila está cheia; oferecer() recusa na hora
+ * - Métricas: profundidade da fila, tempo de espera e de processamento
+ * - Opcionalmente, threads virtuais (Java 21+) para estágios que passam a
+ *   maior parte do tempo bloqueados (ex.: aguardando processos OCR)
+ *
+ * @param <E> Tipo do item que atravessa o estágio
+ * @author Pedro Henrique
+ * @date 2026-10-16
+ */
+public class EstagioPipeline<E> {
+
+    public static final int CAPACIDADE_PADRAO = 1024;
+
+    private final String nome;
+    private final int capacidade;
+    private final Semaphore vagas;
+    private final BlockingQueue<Item<E>> fila;
+    private final Consumer<E> processador;
+    private final List<Thread> threads;
+    private final AtomicLong sequencia;
+    private volatile boolean encerrado;
+
+    // Métricas
+    private final AtomicLong aceitos;
+    private final AtomicLong recusados;
+    private final AtomicLong processados;
+    private final AtomicLong erros;
+    private final HistogramaLatencia espera;
+    private final HistogramaLatencia processamento;
+
+    /**
+     * Estágio com fila FIFO.
+     */
+    public EstagioPipeline(String nome, int quantidadeThreads, int capacidade, Consumer<E> processador) {
+        this(nome, quantidadeThreads, capacidade, null, processador);
+    }
+
+    /**
+     * Estágio com threads de plataforma.
+     */
+    public EstagioPipeline(String nome, int quantidadeThreads, int capacidade,
+                           Comparator<? super E> ordem, Consumer<E> processador) {
+        this(nome, quantidadeThreads, capacidade, ordem, processador, false);
+    }
+
+    /**
+     * @param nome Nome do estágio (threads e métricas)
+     * @param quantidadeThreads Threads que processam a fila
+     * @param capacidade Itens aguardando na fila, no máximo
+     * @param ordem Ordem de atendimento (null = chegada); em empate, chegada
+     * @param processador Trabalho do estágio (em geral encaminha ao próximo estágio)
+     * @param threadsVirtuais true para usar threads virtuais quando o runtime
+     *        as oferece (Java 21+); em Java 17 usa threads de plataforma
+     */
+    public EstagioPipeline(String nome, int quantidadeThreads, int capacidade,
+                           Comparator<? super E> ordem, Consumer<E> processador,
+                           boolean threadsVirtuais) {
+        if (quantidadeThreads <= 0) {
+            throw new IllegalArgumentException("Quantidade de threads deve ser maior que zero");
+        }
+        if (capacidade <= 0) {
+            throw new IllegalArgumentException("Capacidade da fila deve ser maior que zero");
+        }
+        if (processador == null) {
+            throw new IllegalArgumentException("Processador não pode ser nulo");
+        }
+        this.nome = nome;
+        this.capacidade = capacidade;
+        this.vagas = new Semaphore(capacidade);
+        if (ordem == null) {
+            this.fila = new LinkedBlockingQueue<>();
+        } else {
+            Comparator<Item<E>> porValor = (a, b) -> ordem.compare(a.valor, b.valor);
+            this.fila = new PriorityBlockingQueue<>(Math.min(capacidade, 64),
+                porValor.thenComparingLong(item -> item.ordem));
+        }
+        this.processador = processador;
+        this.sequencia = new AtomicLong(0);
+        this.aceitos = new AtomicLong(0);
+        this.recusados = new AtomicLong(0);
+        this.processados = new AtomicLong(0);
+        this.erros = new AtomicLong(0);
+        this.espera = new HistogramaLatencia();
+        this.processamento = new HistogramaLatencia();
+
+        this.threads = new ArrayList<>(quantidadeThreads);
+        for (int i = 1; i <= quantidadeThreads; i++) {
+            String nomeThread = "estagio-" + nome + "-" + i;
+            Thread thread = threadsVirtuais ? criarThreadVirtual(this::executar, nomeThread) : null;
+            if (thread == null) {
+                thread = new Thread(this::executar, nomeThread);
+                thread.setDaemon(true);
+            }
+            threads.add(thread);
+            thread.start();
+        }
+    }
+
+    /**
+     * Cria uma thread virtual (não iniciada) via Thread.ofVirtual().
+     * Obtida por reflexão para manter compatibilidade com Java 17.
+     *
+     * @return Thread virtual, ou null se o runtime não oferece threads virtuais
+     */
+    private static Thread criarThreadVirtual(Runnable tarefa, String nome) {
+        try {
+            Class<?> tipoBuilder = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = tipoBuilder.getMethod("name", String.class).invoke(builder, nome);
+            return (Thread) tipoBuilder.getMethod("unstarted", Runnable.class).invoke(builder, tarefa);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Envia um item, aguardando vaga na fila até o prazo (contrapressão).
+     *
+     * @param timeoutMs Prazo máximo de espera por vaga
+     * @return true se o item entrou na fila; false se o prazo acabou ou o estágio foi encerrado
+     * @throws InterruptedException Se a thread for interrompida aguardando vaga
+     */
+    public boolean enviar(E item, long timeoutMs) throws InterruptedException {
+        if (encerrado || !vagas.tryAcquire(Math.max(0, timeoutMs), TimeUnit.MILLISECONDS)) {
+            recusados.incrementAndGet();
+            return false;
+        }
+        enfileirar(item);
+        return true;
+    }
+
+    /**
+     * Envia um item sem bloquear (ex.: da thread da roda de temporização).
+     *
+     * @return true se o item entrou na fila; false se a fila está cheia
+     */
+    public boolean oferecer(E item) {
+        if (encerrado || !vagas.tryAcquire()) {
+            recusados.incrementAndGet();
+            return false;
+        }
+        enfileirar(item);
+        return true;
+    }
+
+    private void enfileirar(E item) {
+        fila.add(new Item<>(item, System.nanoTime(), sequencia.getAndIncrement()));
+        aceitos.incrementAndGet();
+    }
+
+    private void executar() {
+        while (!encerrado) {
+            Item<E> item;
+            try {
+                item = fila.take();
+            } catch (InterruptedException e) {
+                break;
+            }
+            vagas.release();
+
+            long inicio = System.nanoTime();
+            espera.registrar(inicio - item.entradaNanos);
+            try {
+                processador.accept(item.valor);
+                processados.incrementAndGet();
+            } catch (Throwable e) {
+                // Inclui Error: uma falha do processador nunca encolhe o estágio
+                erros.incrementAndGet();
+                System.err.println("⚠️  Erro no estágio " + nome + ": " + e.getMessage());
+            } finally {
+                processamento.registrar(System.nanoTime() - inicio);
+            }
+        }
+    }
+
+    /**
+     * Encerra as threads do estágio. Itens ainda na fila são descartados.
+     */
+    public void encerrar() {
+        encerrado = true;
+        for (Thread thread : threads) {
+            thread.interrupt();
+        }
+    }
+
+    // ========================================================================
+    // MÉTRICAS
+    // ========================================================================
+
+    public String getNome() {
+        return nome;
+    }
+
+    public int getCapacidade() {
+        return capacidade;
+    }
+
+    public int getQuantidadeThreads() {
+        return threads.size();
+    }
+
+    /**
+     * @return Itens aguardando na fila
+     */
+    public int getProfundidade() {
+        return fila.size();
+    }
+
+    public long getAceitos() {
+        return aceitos.get();
+    }
+
+    /**
+     * @return Itens recusados por fila cheia (contrapressão) ou estágio encerrado
+     */
+    public long getRecusados() {
+        return recusados.get();
+    }
+
+    public long getProcessados() {
+        return processados.get();
+    }
+
+    /**
+     * @return Tempo dos itens na fila
+     */
+    public HistogramaLatencia getEspera() {
+        return espera;
+    }
+
+    /**
+     * @return Tempo de processamento de cada item
+     */
+    public HistogramaLatencia getProcessamento() {
+        return processamento;
+    }
+
+    public String getEstatisticas() {
+        return String.format(
+            "Estágio %s: %d threads, fila %d/%d, %d aceitos, %d recusados, %d processados, %d erros | espera [%s] | processamento [%s]",
+            nome, getQuantidadeThreads(), getProfundidade(), capacidade, getAceitos(), getRecusados(),
+            getProcessados(), erros.get(), espera, processamento
+        );
+    }
+
+    // ========================================================================
+    // CLASSE INTERNA: ITEM
+    // ========================================================================
+
+    private static final class Item<E> {
+        final E valor;
+        final long entradaNanos;
+        final long ordem;
+
+        Item(E valor, long entradaNanos, long ordem) {
+            this.valor = valor;
+            this.entradaNanos = entradaNanos;
+            this.ordem = ordem;
+        }
+    }
+}
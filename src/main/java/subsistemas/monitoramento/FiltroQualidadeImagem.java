@@ -0,0 +1,287 @@
+package subsistemas.monitoramento;
+
+import excecoes.ImagemRejeitadaException;
+import excecoes.ImagemRejeitadaException.Motivo;
+import org.opencv.core.Core;
+import org.opencv.core.CvType;
+import org.opencv.core.Mat;
+import org.opencv.core.MatOfDouble;
+import org.opencv.core.MatOfFloat;
+import org.opencv.core.MatOfInt;
+import org.opencv.imgproc.Imgproc;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Filtro de qualidade do quadro, executado ANTES do OCR.
+ *
+ * Quadros borrados, escuros ou com o odômetro rolando consumiam o OCR
+ * inteiro e depois ainda contavam como falha de leitura da conta. Aqui a
+ * faixa do visor (em cinza, já alinhada) passa por três verificações
+ * baratas, da mais barata para a mais cara:
+ * 1. Exposição: histograma (fração de pixels muito escuros / muito claros)
+ * 2. Nitidez: variância do Laplaciano
+ * 3. Dígitos: densidade de bordas (Canny) na faixa do visor
+ *
+ * Na faixa recortada (algumas centenas de pixels de largura) o custo total
+ * fica na casa dos microssegundos. Quadros reprovados geram
+ * ImagemRejeitadaException com o motivo, e são contados por SHA.
+ *
+ * Limiares ajustáveis em tempo de execução (setters).
+ *
+ * @author Pedro Henrique
+ * @date 2026-10-16
+ */
+public class FiltroQualidadeImagem {
+
+    public static final double NITIDEZ_MINIMA_PADRAO = 40.0;
+    public static final double FRACAO_EXPOSICAO_MAXIMA_PADRAO = 0.90;
+    public static final double DENSIDADE_BORDAS_MINIMA_PADRAO = 0.02;
+    public static final double DENSIDADE_BORDAS_MAXIMA_PADRAO = 0.35;
+
+    /**
+     * Tons considerados "muito escuros" (até) e "muito claros" (a partir de).
+     */
+    private static final int TOM_ESCURO = 16;
+    private static final int TOM_CLARO = 240;
+
+    private volatile double nitidezMinima = NITIDEZ_MINIMA_PADRAO;
+    private volatile double fracaoExposicaoMaxima = FRACAO_EXPOSICAO_MAXIMA_PADRAO;
+    private volatile double densidadeBordasMinima = DENSIDADE_BORDAS_MINIMA_PADRAO;
+    private volatile double densidadeBordasMaxima = DENSIDADE_BORDAS_MAXIMA_PADRAO;
+
+    /**
+     * Contadores por SHA (0 = imagem fora da convenção de nomes).
+     */
+    private final Map<Integer, Contadores> contadores = new ConcurrentHashMap<>();
+
+    private static final ThreadLocal<Buffers> BUFFERS = ThreadLocal.withInitial(Buffers::new);
+
+    public FiltroQualidadeImagem() {
+        PreProcessadorImagem.carregarOpenCV();
+    }
+
+    /**
+     * Verifica a faixa do visor; retorna normalmente se o quadro for legível.
+     *
+     * @param faixaCinza Faixa do visor em tons de cinza (CV_8UC1), antes da binarização
+     * @param idSHA ID do SHA (para os contadores)
+     * @throws ImagemRejeitadaException Se o quadro não tiver qualidade para o OCR
+     */
+    public void verificar(Mat faixaCinza, int idSHA) throws ImagemRejeitadaException {
+        Motivo motivo = avaliar(faixaCinza, BUFFERS.get());
+        if (motivo == null) {
+            registrarAprovado(idSHA);
+            return;
+        }
+        registrarRejeitado(idSHA, motivo);
+        throw new ImagemRejeitadaException(
+            "Quadro rejeitado antes do OCR (SHA " + idSHA + "): " + motivo, motivo
+        );
+    }
+
+    /**
+     * @return Motivo da rejeição, ou null se o quadro passou
+     */
+    private Motivo avaliar(Mat faixa, Buffers b) {
+        double total = faixa.total();
+        if (total == 0) {
+            return Motivo.SEM_DIGITOS;
+        }
+
+        // 1. Exposição
+        Imgproc.calcHist(Collections.singletonList(faixa), b.canais, b.mascara, b.histograma,
+                         b.tamanhoHistograma, b.faixaValores);
+        b.histograma.get(0, 0, b.contagens);
+        double escuros = 0;
+        double claros = 0;
+        for (int tom = 0; tom < TOM_ESCURO; tom++) {
+            escuros += b.contagens[tom];
+        }
+        for (int tom = TOM_CLARO; tom < 256; tom++) {
+            claros += b.contagens[tom];
+        }
+        if (escuros / total > fracaoExposicaoMaxima) {
+            return Motivo.ESCURA;
+        }
+        if (claros / total > fracaoExposicaoMaxima) {
+            return Motivo.ESTOURADA;
+        }
+
+        // 2. Nitidez
+        Imgproc.Laplacian(faixa, b.laplaciano, CvType.CV_64F);
+        Core.meanStdDev(b.laplaciano, b.media, b.desvio);
+        double desvio = b.desvio.toArray()[0];
+        if (desvio * desvio < nitidezMinima) {
+            return Motivo.DESFOCADA;
+        }
+
+        // 3. Densidade de bordas na faixa dos dígitos
+        Imgproc.Canny(faixa, b.bordas, 50, 150);
+        double densidade = Core.countNonZero(b.bordas) / total;
+        if (densidade < densidadeBordasMinima) {
+            return Motivo.SEM_DIGITOS;
+        }
+        if (densidade > densidadeBordasMaxima) {
+            return Motivo.RUIDOSA;
+        }
+        return null;
+    }
+
+    // ========================================================================
+    // CONFIGURAÇÃO
+    // ========================================================================
+
+    /**
+     * @param nitidezMinima Variância mínima do Laplaciano (0 desativa)
+     */
+    public void setNitidezMinima(double nitidezMinima) {
+        if (nitidezMinima < 0) {
+            throw new IllegalArgumentException("Nitidez mínima não pode ser negativa");
+        }
+        this.nitidezMinima = nitidezMinima;
+    }
+
+    /**
+     * @param fracaoExposicaoMaxima Fração máxima de pixels muito escuros ou muito claros (1 desativa)
+     */
+    public void setFracaoExposicaoMaxima(double fracaoExposicaoMaxima) {
+        if (fracaoExposicaoMaxima <= 0 || fracaoExposicaoMaxima > 1) {
+            throw new IllegalArgumentException("Fração de exposição deve estar em (0, 1]");
+        }
+        this.fracaoExposicaoMaxima = fracaoExposicaoMaxima;
+    }
+
+    /**
+     * @param minima Fração mínima de pixels de borda na faixa (0 desativa)
+     * @param maxima Fração máxima de pixels de borda na faixa (1 desativa)
+     */
+    public void setDensidadeBordas(double minima, double maxima) {
+        if (minima < 0 || maxima > 1 || minima >= maxima) {
+            throw new IllegalArgumentException("Densidade de bordas deve respeitar 0 <= mínima < máxima <= 1");
+        }
+        this.densidadeBordasMinima = minima;
+        this.densidadeBordasMaxima = maxima;
+    }
+
+    public double getNitidezMinima() {
+        return nitidezMinima;
+    }
+
+    public double getFracaoExposicaoMaxima() {
+        return fracaoExposicaoMaxima;
+    }
+
+    public double getDensidadeBordasMinima() {
+        return densidadeBordasMinima;
+    }
+
+    public double getDensidadeBordasMaxima() {
+        return densidadeBordasMaxima;
+    }
+
+    // ========================================================================
+    // MÉTRICAS
+    // ========================================================================
+
+    /**
+     * Conta um quadro aprovado por um filtro com estes limiares fora desta
+     * instância (ex.: no processo TrabalhadorOCR).
+     */
+    public void registrarAprovado(int idSHA) {
+        contadores.computeIfAbsent(idSHA, id -> new Contadores()).aprovados.incrementAndGet();
+    }
+
+    /**
+     * Conta um quadro rejeitado por um filtro com estes limiares fora desta instância.
+     */
+    public void registrarRejeitado(int idSHA, Motivo motivo) {
+        contadores.computeIfAbsent(idSHA, id -> new Contadores()).rejeitados.get(motivo).incrementAndGet();
+    }
+
+    public long getAprovados(int idSHA) {
+        Contadores doSHA = contadores.get(idSHA);
+        return doSHA == null ? 0 : doSHA.aprovados.get();
+    }
+
+    public long getRejeitados(int idSHA) {
+        Contadores doSHA = contadores.get(idSHA);
+        return doSHA == null ? 0 : doSHA.getTotalRejeitados();
+    }
+
+    public long getRejeitados(int idSHA, Motivo motivo) {
+        Contadores doSHA = contadores.get(idSHA);
+        return doSHA == null ? 0 : doSHA.rejeitados.get(motivo).get();
+    }
+
+    public String getEstatisticas() {
+        long aprovados = 0;
+        long rejeitados = 0;
+        StringBuilder porSHA = new StringBuilder();
+        for (Map.Entry<Integer, Contadores> entrada : contadores.entrySet()) {
+            Contadores doSHA = entrada.getValue();
+            aprovados += doSHA.aprovados.get();
+            long rejeitadosSHA = doSHA.getTotalRejeitados();
+            rejeitados += rejeitadosSHA;
+            if (rejeitadosSHA > 0) {
+                porSHA.append(" [SHA ").append(entrada.getKey()).append(": ").append(doSHA).append("]");
+            }
+        }
+        return String.format("Filtro de qualidade: %d aprovados, %d rejeitados", aprovados, rejeitados) + porSHA;
+    }
+
+    // ========================================================================
+    // CLASSES INTERNAS
+    // ========================================================================
+
+    private static class Contadores {
+        final AtomicLong aprovados = new AtomicLong(0);
+        final Map<Motivo, AtomicLong> rejeitados = new EnumMap<>(Motivo.class);
+
+        Contadores() {
+            for (Motivo motivo : Motivo.values()) {
+                rejeitados.put(motivo, new AtomicLong(0));
+            }
+        }
+
+        long getTotalRejeitados() {
+            long total = 0;
+            for (AtomicLong contador : rejeitados.values()) {
+                total += contador.get();
+            }
+            return total;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder(aprovados.get() + " aprovados");
+            for (Map.Entry<Motivo, AtomicLong> entrada : rejeitados.entrySet()) {
+                if (entrada.getValue().get() > 0) {
+                    sb.append(", ").append(entrada.getValue().get()).append(" ")
+                      .append(entrada.getKey().name().toLowerCase());
+                }
+            }
+            return sb.toString();
+        }
+    }
+
+    /**
+     * Mats de trabalho de uma thread.
+     */
+    private static class Buffers {
+        final MatOfInt canais = new MatOfInt(0);
+        final MatOfInt tamanhoHistograma = new MatOfInt(256);
+        final MatOfFloat faixaValores = new MatOfFloat(0f, 256f);
+        final Mat mascara = new Mat();
+        final Mat histograma = new Mat();
+        final float[] contagens = new float[256];
+        final Mat laplaciano = new Mat();
+        final MatOfDouble media = new MatOfDouble();
+        final MatOfDouble desvio = new MatOfDouble();
+        final Mat bordas = new Mat();
+    }
+}
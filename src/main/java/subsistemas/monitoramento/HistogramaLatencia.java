@@ -0,0 +1,102 @@
+package subsistemas.monitoramento;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histograma de latências com faixas em potências de 2 (em milissegundos).
+ *
+ * Faixa i conta amostras em (2^(i-1), 2^i] ms; a faixa 0 conta até 1 ms e a
+ * última acumula tudo acima de ~17 minutos. Registro O(1) e sem lock
+ * (contadores atômicos), barato o bastante para ser chamado em todo ciclo.
+ * Percentis são aproximados pelo limite superior da faixa.
+ *
+ * @author Pedro Henrique
+ * @date 2026-10-16
+ */
+public class HistogramaLatencia {
+
+    private static final int QUANTIDADE_FAIXAS = 21;
+
+    private final AtomicLongArray faixas;
+    private final AtomicLong quantidade;
+    private final AtomicLong somaNanos;
+    private final AtomicLong maximoNanos;
+
+    public HistogramaLatencia() {
+        this.faixas = new AtomicLongArray(QUANTIDADE_FAIXAS);
+        this.quantidade = new AtomicLong(0);
+        this.somaNanos = new AtomicLong(0);
+        this.maximoNanos = new AtomicLong(0);
+    }
+
+    /**
+     * Registra uma amostra.
+     *
+     * @param nanos Duração em nanossegundos (negativos contam como zero)
+     */
+    public void registrar(long nanos) {
+        long valor = Math.max(0, nanos);
+        faixas.incrementAndGet(faixa(valor));
+        quantidade.incrementAndGet();
+        somaNanos.addAndGet(valor);
+        maximoNanos.accumulateAndGet(valor, Math::max);
+    }
+
+    private static int faixa(long nanos) {
+        // Arredonda para cima: 1,2 ms pertence a (1, 2], não à faixa de 1 ms
+        long ms = TimeUnit.NANOSECONDS.toMillis(nanos);
+        if (nanos % 1_000_000 != 0) {
+            ms++;
+        }
+        if (ms <= 1) {
+            return 0;
+        }
+        // Menor i com 2^i >= ms
+        int i = 64 - Long.numberOfLeadingZeros(ms - 1);
+        return Math.min(i, QUANTIDADE_FAIXAS - 1);
+    }
+
+    public long getQuantidade() {
+        return quantidade.get();
+    }
+
+    public double getMediaMs() {
+        long total = quantidade.get();
+        return total == 0 ? 0.0 : somaNanos.get() / 1_000_000.0 / total;
+    }
+
+    public double getMaximoMs() {
+        return maximoNanos.get() / 1_000_000.0;
+    }
+
+    /**
+     * @param percentil Percentil entre 0 e 100
+     * @return Limite superior (ms) da faixa que contém o percentil (0 sem amostras)
+     */
+    public long getPercentilMs(double percentil) {
+        if (percentil < 0 || percentil > 100) {
+            throw new IllegalArgumentException("Percentil deve estar entre 0 e 100");
+        }
+        long total = quantidade.get();
+        if (total == 0) {
+            return 0;
+        }
+        long alvo = Math.max(1, (long) Math.ceil(total * percentil / 100.0));
+        long acumulado = 0;
+        for (int i = 0; i < QUANTIDADE_FAIXAS; i++) {
+            acumulado += faixas.get(i);
+            if (acumulado >= alvo) {
+                return 1L << i;
+            }
+        }
+        return 1L << (QUANTIDADE_FAIXAS - 1);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("n=%d, média %.1fms, p50≤%dms, p99≤%dms, máx %.1fms",
+            getQuantidade(), getMediaMs(), getPercentilMs(50), getPercentilMs(99), getMaximoMs());
+    }
+}
@@ -0,0 +1,332 @@
+package subsistemas.monitoramento;
+
+import excecoes.ErroDeLeituraImagemException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32C;
+
+/**
+ * Cache de resultados de OCR na frente de qualquer LeitorImplementador.
+ *
+ * O GerenciadorSincronizacao sobrescreve saida/leitura_do_hidrometro_<id>.jpg
+ * a cada segundo mesmo quando o simulador não gerou um quadro novo, e o OCR
+ * era refeito sobre bytes idênticos. Aqui cada SHA guarda a "impressão
+ * digital" da última imagem reconhecida:
+ * 1. Tamanho + data de modificação iguais → acerto imediato (sem ler o arquivo)
+ * 2. Tamanho igual, data diferente → calcula CRC32C do conteúdo; se igual, acerto
+ * 3. Caso contrário → falha: delega o reconhecimento e atualiza a entrada
+ *
+ * Como o arquivo é regravado no lugar (cópia não atômica), uma entrada só é
+ * gravada se tamanho e data de modificação continuarem os mesmos após o
+ * hash e após o reconhecimento: assim o valor nunca fica associado à
+ * impressão digital de outro quadro.
+ *
+ * O cache é limitado (LRU por SHA) e expõe contadores de acerto/falha.
+ *
+ * @pattern Bridge (Implementação Concreta), Decorator
+ * @author Pedro Henrique
+ * @date 2026-10-16
+ */
+public class LeitorCacheImpl implements LeitorImplementador {
+
+    /**
+     * Quantidade padrão de SHAs mantidos em cache.
+     */
+    public static final int CAPACIDADE_PADRAO = 10_000;
+
+    private final LeitorImplementador delegado;
+    private final Map<String, Entrada> entradas;
+
+    // Métricas
+    private final AtomicLong acertosMetadados;
+    private final AtomicLong acertosConteudo;
+    private final AtomicLong falhas;
+
+    public LeitorCacheImpl(LeitorImplementador delegado) {
+        this(delegado, CAPACIDADE_PADRAO);
+    }
+
+    /**
+     * @param delegado Leitor que executa o reconhecimento real
+     * @param capacidade Quantidade máxima de SHAs em cache
+     */
+    public LeitorCacheImpl(LeitorImplementador delegado, int capacidade) {
+        if (delegado == null) {
+            throw new IllegalArgumentException("Leitor delegado não pode ser nulo");
+        }
+        if (capacidade <= 0) {
+            throw new IllegalArgumentException("Capacidade do cache deve ser maior que zero");
+        }
+        this.delegado = delegado;
+        this.entradas = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entrada> maisAntiga) {
+                return size() > capacidade;
+            }
+        };
+        this.acertosMetadados = new AtomicLong(0);
+        this.acertosConteudo = new AtomicLong(0);
+        this.falhas = new AtomicLong(0);
+    }
+
+    @Override
+    public double lerConsumo(String caminhoImagem) throws ErroDeLeituraImagemException {
+        Consulta consulta = consultar(caminhoImagem);
+        if (consulta == null) {
+            // Arquivo ausente/ilegível: o delegado produz o erro adequado
+            return delegado.lerConsumo(caminhoImagem);
+        }
+        if (consulta.acerto) {
+            return consulta.valor;
+        }
+
+        double valor = delegado.lerConsumo(caminhoImagem);
+        consulta.guardar(valor);
+        return valor;
+    }
+
+    /**
+     * Atende do cache o que for possível e delega APENAS as imagens alteradas
+     * ao leitor real, em um único lote (preservando o paralelismo do pool).
+     */
+    @Override
+    public List<ResultadoLeitura> lerConsumoLote(List<String> caminhosImagens) {
+        ResultadoLeitura[] resultados = new ResultadoLeitura[caminhosImagens.size()];
+        List<String> pendentes = new ArrayList<>();
+        List<Integer> posicoesPendentes = new ArrayList<>();
+        List<Consulta> consultasPendentes = new ArrayList<>();
+
+        for (int i = 0; i < caminhosImagens.size(); i++) {
+            String caminho = caminhosImagens.get(i);
+            Consulta consulta;
+            try {
+                consulta = consultar(caminho);
+            } catch (ErroDeLeituraImagemException e) {
+                resultados[i] = ResultadoLeitura.falha(caminho, e);
+                continue;
+            }
+            if (consulta != null && consulta.acerto) {
+                resultados[i] = ResultadoLeitura.sucesso(caminho, consulta.valor);
+            } else {
+                pendentes.add(caminho);
+                posicoesPendentes.add(i);
+                consultasPendentes.add(consulta);
+            }
+        }
+
+        if (!pendentes.isEmpty()) {
+            List<ResultadoLeitura> lidos = delegado.lerConsumoLote(pendentes);
+            for (int j = 0; j < lidos.size(); j++) {
+                ResultadoLeitura lido = lidos.get(j);
+                Consulta consulta = consultasPendentes.get(j);
+                if (lido.isSucesso() && consulta != null) {
+                    consulta.guardar(lido.getConsumo());
+                }
+                resultados[posicoesPendentes.get(j)] = lido;
+            }
+        }
+
+        return Arrays.asList(resultados);
+    }
+
+    /**
+     * Remove todas as entradas (ex.: após trocar a calibração do OCR).
+     */
+    public synchronized void limpar() {
+        entradas.clear();
+    }
+
+    // ========================================================================
+    // MÉTODOS AUXILIARES
+    // ========================================================================
+
+    /**
+     * Chave por ID do SHA; caminhos fora da convenção usam o próprio caminho.
+     */
+    private static String chaveDe(String caminhoImagem) {
+        int idSHA = ConvencaoImagemSHA.extrairIdSHA(caminhoImagem);
+        return idSHA > 0 ? "SHA-" + idSHA : caminhoImagem;
+    }
+
+    /**
+     * Compara a impressão digital atual da imagem com a entrada em cache.
+     *
+     * @return Consulta (acerto ou falha), ou null se o arquivo não puder ser inspecionado
+     */
+    private Consulta consultar(String caminhoImagem) throws ErroDeLeituraImagemException {
+        if (caminhoImagem == null || caminhoImagem.trim().isEmpty()) {
+            throw new ErroDeLeituraImagemException("Caminho da imagem não pode ser nulo ou vazio");
+        }
+
+        Path arquivo = Paths.get(caminhoImagem);
+        BasicFileAttributes atributos;
+        try {
+            atributos = Files.readAttributes(arquivo, BasicFileAttributes.class);
+        } catch (IOException e) {
+            return null;
+        }
+
+        String chave = chaveDe(caminhoImagem);
+        long tamanho = atributos.size();
+        long modificacao = atributos.lastModifiedTime().toMillis();
+        Entrada entrada = obter(chave);
+
+        // 1. Metadados idênticos: mesma imagem
+        if (entrada != null && entrada.tamanho == tamanho && entrada.modificacao == modificacao) {
+            acertosMetadados.incrementAndGet();
+            return new Consulta(arquivo, chave, tamanho, modificacao, entrada.hash, true, entrada.valor);
+        }
+
+        // 2. Arquivo regravado: compara o conteúdo
+        long hash = calcularHash(arquivo, caminhoImagem);
+        if (entrada != null && entrada.tamanho == tamanho && entrada.hash == hash) {
+            acertosConteudo.incrementAndGet();
+            if (inalterado(arquivo, tamanho, modificacao)) {
+                guardar(chave, new Entrada(tamanho, modificacao, hash, entrada.valor));
+            }
+            return new Consulta(arquivo, chave, tamanho, modificacao, hash, true, entrada.valor);
+        }
+
+        // 3. Imagem nova: o chamador reconhece e atualiza
+        falhas.incrementAndGet();
+        return new Consulta(arquivo, chave, tamanho, modificacao, hash, false, 0.0);
+    }
+
+    /**
+     * Verifica se o arquivo ainda tem o tamanho e a data de modificação
+     * observados na consulta (não foi regravado nesse intervalo).
+     */
+    private static boolean inalterado(Path arquivo, long tamanho, long modificacao) {
+        try {
+            BasicFileAttributes atributos = Files.readAttributes(arquivo, BasicFileAttributes.class);
+            return atributos.size() == tamanho && atributos.lastModifiedTime().toMillis() == modificacao;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private synchronized Entrada obter(String chave) {
+        return entradas.get(chave);
+    }
+
+    private synchronized void guardar(String chave, Entrada entrada) {
+        entradas.put(chave, entrada);
+    }
+
+    private static long calcularHash(Path arquivo, String caminhoImagem) throws ErroDeLeituraImagemException {
+        try {
+            CRC32C crc = new CRC32C();
+            crc.update(Files.readAllBytes(arquivo));
+            return crc.getValue();
+        } catch (IOException e) {
+            throw new ErroDeLeituraImagemException("Erro ao ler a imagem: " + caminhoImagem, e);
+        }
+    }
+
+    // ========================================================================
+    // MÉTRICAS
+    // ========================================================================
+
+    public long getAcertos() {
+        return acertosMetadados.get() + acertosConteudo.get();
+    }
+
+    public long getAcertosMetadados() {
+        return acertosMetadados.get();
+    }
+
+    public long getAcertosConteudo() {
+        return acertosConteudo.get();
+    }
+
+    public long getFalhas() {
+        return falhas.get();
+    }
+
+    public synchronized int getTamanho() {
+        return entradas.size();
+    }
+
+    /**
+     * Fração das leituras atendidas pelo cache (0.0 a 1.0).
+     */
+    public double getTaxaAcerto() {
+        long acertos = getAcertos();
+        long total = acertos + falhas.get();
+        return total == 0 ? 0.0 : (double) acertos / total;
+    }
+
+    public String getEstatisticas() {
+        return String.format(
+            "Cache OCR: %d SHAs, %d acertos (%d metadados, %d conteúdo), %d falhas, %.1f%% acerto",
+            getTamanho(), getAcertos(), getAcertosMetadados(), getAcertosConteudo(),
+            getFalhas(), getTaxaAcerto() * 100.0
+        );
+    }
+
+    // ========================================================================
+    // CLASSES INTERNAS
+    // ========================================================================
+
+    /**
+     * Impressão digital da última imagem reconhecida de um SHA (imutável).
+     */
+    private static final class Entrada {
+        final long tamanho;
+        final long modificacao;
+        final long hash;
+        final double valor;
+
+        Entrada(long tamanho, long modificacao, long hash, double valor) {
+            this.tamanho = tamanho;
+            this.modificacao = modificacao;
+            this.hash = hash;
+            this.valor = valor;
+        }
+    }
+
+    /**
+     * Resultado da comparação de impressão digital de uma leitura.
+     */
+    private final class Consulta {
+        final Path arquivo;
+        final String chave;
+        final long tamanho;
+        final long modificacao;
+        final long hash;
+        final boolean acerto;
+        final double valor;
+
+        Consulta(Path arquivo, String chave, long tamanho, long modificacao, long hash,
+                 boolean acerto, double valor) {
+            this.arquivo = arquivo;
+            this.chave = chave;
+            this.tamanho = tamanho;
+            this.modificacao = modificacao;
+            this.hash = hash;
+            this.acerto = acerto;
+            this.valor = valor;
+        }
+
+        /**
+         * Registra o valor reconhecido para a impressão digital consultada,
+         * exceto se o arquivo foi regravado desde a consulta: nesse caso o
+         * delegado pode ter lido outro quadro e a próxima leitura refaz o OCR.
+         */
+        void guardar(double valorLido) {
+            if (inalterado(arquivo, tamanho, modificacao)) {
+                LeitorCacheImpl.this.guardar(chave, new Entrada(tamanho, modificacao, hash, valorLido));
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package subsistemas.monitoramento;
+
+import excecoes.ErroDeLeituraImagemException;
+
+/**
+ * Implementador que, além do valor, informa a confiança do reconhecimento.
+ *
+ * Permite a quem compõe leitores (fallback, hedge) decidir se aceita a
+ * leitura ou tenta outro motor.
+ *
+ * @pattern Bridge (Implementador)
+ * @author Pedro Henrique
+ * @date 2026-10-16
+ */
+public interface LeitorComConfianca extends LeitorImplementador {
+
+    /**
+     * Reconhece o consumo de uma imagem, com confiança e motor utilizado.
+     *
+     * @param caminhoImagem Caminho do arquivo de imagem
+     * @return Valor lido e confiança
+     * @throws ErroDeLeituraImagemException Se houver erro na leitura da imagem
+     */
+    ResultadoReconhecimento reconhecer(String caminhoImagem) throws ErroDeLeituraImagemException;
+
+    @Override
+    default double lerConsumo(String caminhoImagem) throws ErroDeLeituraImagemException {
+        return reconhecer(caminhoImagem).getValor();
+    }
+}
@@ -0,0 +1,493 @@
+package subsistemas.monitoramento;
+
+import excecoes.ErroDeLeituraImagemException;
+import excecoes.ImagemRejeitadaException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+/**
+ * Leitura "hedged": vários motores competem pela mesma imagem e vence o
+ * primeiro resultado com confiança suficiente.
+ *
+ * Perto de um limite de alerta, a latência da leitura importa mais que a
+ * CPU. Em vez de encadear motores (template → OCR) e pagar a soma dos
+ * tempos no pior caso, cada motor é iniciado em paralelo:
+ * - Cada motor tem um atraso de partida (0 = imediato). Motores atrasados
+ *   são antecipados quando todos os iniciados terminam sem resultado confiável
+ * - Cada motor roda em threads próprias, tantas quanto a sua capacidade
+ *   (ex.: motores do pool). Um motor atrasado sem thread livre não entra na
+ *   disputa: só parte se os iniciados terminarem sem resultado confiável
+ * - O primeiro resultado com confiança >= limiar vence; os demais são
+ *   cancelados. Só o que ainda não começou é evitado: o Tesseract nativo não
+ *   atende a interrupção e termina ocupando apenas a thread do seu motor
+ * - Sem vencedor, reconhecer() retorna o resultado de maior confiança com a
+ *   confiança dele (abaixo do limiar); lerConsumo() e o lote, que não levam
+ *   a confiança adiante, rejeitam a leitura (ImagemRejeitadaException
+ *   CONFIANCA_BAIXA: o ciclo é pulado sem contar como falha). Se todos
+ *   falharem, relança o primeiro erro
+ * - ImagemRejeitadaException encerra na hora: o quadro é ilegível para todos
+ * - Em lote não há disputa: cada motor recebe só as imagens que os anteriores
+ *   não leram com confiança, nas suas próprias threads (o paralelismo do lote
+ *   fica limitado à capacidade do motor), e o limiar vale como na leitura avulsa
+ *
+ * Conta quantas vezes cada motor venceu e quantas leituras ficaram sem
+ * vencedor (getEstatisticas). Um ouvinte
+ * opcional recebe cada vencedor confiável (ex.: para calibrar o template a
+ * partir de leituras confirmadas pelo OCR).
+ *
+ * @pattern Bridge (Implementação Concreta), Composite
+ * @author Pedro Henrique
+ * @date 2026-10-16
+ */
+public class LeitorHedgeImpl implements LeitorComConfianca, AutoCloseable {
+
+    public static final double LIMIAR_CONFIANCA_PADRAO = 0.70;
+
+    /**
+     * Atraso de partida sugerido para motores caros (OCR) atrás de um motor
+     * rápido (template): o template costuma responder antes disso.
+     */
+    public static final long ATRASO_PARTIDA_PADRAO_MS = 20;
+
+    private final List<Motor> motores;
+    private final double limiarConfianca;
+
+    /**
+     * Recebe (caminho, resultado) de cada vencedor confiável (null = nenhum).
+     */
+    private volatile BiConsumer<String, ResultadoReconhecimento> ouvinteVencedor;
+
+    // Métricas
+    private final AtomicLong leituras;
+    private final AtomicLong semVencedor;
+    private final AtomicLong cancelamentos;
+
+    public LeitorHedgeImpl() {
+        this(LIMIAR_CONFIANCA_PADRAO);
+    }
+
+    /**
+     * @param limiarConfianca Confiança mínima (0.0 a 1.0) para um resultado vencer
+     */
+    public LeitorHedgeImpl(double limiarConfianca) {
+        if (limiarConfianca < 0.0 || limiarConfianca > 1.0) {
+            throw new IllegalArgumentException("Limiar de confiança deve estar entre 0.0 e 1.0");
+        }
+        this.limiarConfianca = limiarConfianca;
+        this.motores = new CopyOnWriteArrayList<>();
+        this.leituras = new AtomicLong(0);
+        this.semVencedor = new AtomicLong(0);
+        this.cancelamentos = new AtomicLong(0);
+    }
+
+    /**
+     * Adiciona um motor com uma leitura simultânea por núcleo.
+     *
+     * @see #adicionarMotor(String, LeitorImplementador, long, int)
+     */
+    public LeitorHedgeImpl adicionarMotor(String nome, LeitorImplementador leitor, long atrasoPartidaMs) {
+        return adicionarMotor(nome, leitor, atrasoPartidaMs, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Adiciona um motor à disputa (a ordem de inclusão é a ordem de partida).
+     *
+     * @param nome Nome do motor (estatísticas)
+     * @param leitor Motor de leitura (com ou sem confiança)
+     * @param atrasoPartidaMs Atraso de partida em relação ao início da leitura (0 = imediato)
+     * @param capacidade Leituras simultâneas que o motor suporta (ex.: tamanho do pool)
+     * @return Este leitor (para encadear inclusões)
+     */
+    public LeitorHedgeImpl adicionarMotor(String nome, LeitorImplementador leitor, long atrasoPartidaMs,
+                                          int capacidade) {
+        if (nome == null || leitor == null) {
+            throw new IllegalArgumentException("Nome e leitor do motor são obrigatórios");
+        }
+        if (atrasoPartidaMs < 0) {
+            throw new IllegalArgumentException("Atraso de partida não pode ser negativo");
+        }
+        if (capacidade <= 0) {
+            throw new IllegalArgumentException("Capacidade do motor deve ser positiva");
+        }
+        motores.add(new Motor(nome, leitor, atrasoPartidaMs, capacidade));
+        return this;
+    }
+
+    /**
+     * Define quem recebe cada resultado vencedor com confiança >= limiar.
+     * Executado na thread da leitura, depois da disputa; falhas do ouvinte
+     * não afetam a leitura.
+     *
+     * @param ouvinteVencedor Ouvinte (null para remover)
+     */
+    public void setOuvinteVencedor(BiConsumer<String, ResultadoReconhecimento> ouvinteVencedor) {
+        this.ouvinteVencedor = ouvinteVencedor;
+    }
+
+    @Override
+    public ResultadoReconhecimento reconhecer(String caminhoImagem) throws ErroDeLeituraImagemException {
+        if (caminhoImagem == null || caminhoImagem.trim().isEmpty()) {
+            throw new ErroDeLeituraImagemException("Caminho da imagem não pode ser nulo ou vazio");
+        }
+        List<Motor> participantes = new ArrayList<>(motores);
+        if (participantes.isEmpty()) {
+            throw new ErroDeLeituraImagemException("Nenhum motor configurado para a leitura hedge");
+        }
+        leituras.incrementAndGet();
+
+        BlockingQueue<Future<ResultadoReconhecimento>> corrida = new LinkedBlockingQueue<>();
+        List<Future<ResultadoReconhecimento>> iniciados = new ArrayList<>(participantes.size());
+        long inicio = System.nanoTime();
+        int proximo = 0;
+        int pendentes = 0;
+        ResultadoReconhecimento vencedor = null;
+        ResultadoReconhecimento melhor = null;
+        ErroDeLeituraImagemException primeiroErro = null;
+
+        try {
+            iniciados.add(iniciar(corrida, participantes.get(proximo++), caminhoImagem));
+            pendentes++;
+
+            while (pendentes > 0 || proximo < participantes.size()) {
+                Future<ResultadoReconhecimento> concluido;
+                if (pendentes == 0) {
+                    // Todos os iniciados terminaram sem vencedor: antecipa o próximo
+                    concluido = null;
+                } else if (proximo < participantes.size() && !participantes.get(proximo).isSaturado()) {
+                    long partida = inicio + TimeUnit.MILLISECONDS.toNanos(participantes.get(proximo).atrasoPartidaMs);
+                    concluido = corrida.poll(Math.max(0, partida - System.nanoTime()), TimeUnit.NANOSECONDS);
+                } else {
+                    concluido = corrida.take();
+                }
+
+                if (concluido == null) {
+                    iniciados.add(iniciar(corrida, participantes.get(proximo++), caminhoImagem));
+                    pendentes++;
+                    continue;
+                }
+                pendentes--;
+
+                Motor motor = participantes.get(iniciados.indexOf(concluido));
+                try {
+                    ResultadoReconhecimento resultado = rotular(concluido.get(), motor);
+                    if (resultado.getConfianca() >= limiarConfianca) {
+                        motor.vitorias.incrementAndGet();
+                        vencedor = resultado;
+                        break;
+                    }
+                    if (melhor == null || resultado.getConfianca() > melhor.getConfianca()) {
+                        melhor = resultado;
+                    }
+                } catch (ExecutionException e) {
+                    motor.falhas.incrementAndGet();
+                    ErroDeLeituraImagemException erro = converter(e.getCause(), caminhoImagem);
+                    if (erro instanceof ImagemRejeitadaException) {
+                        throw erro;
+                    }
+                    if (primeiroErro == null) {
+                        primeiroErro = erro;
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ErroDeLeituraImagemException("Leitura hedge interrompida: " + caminhoImagem, e);
+        } finally {
+            for (Future<ResultadoReconhecimento> futuro : iniciados) {
+                if (!futuro.isDone() && futuro.cancel(true)) {
+                    cancelamentos.incrementAndGet();
+                }
+            }
+        }
+
+        if (vencedor != null) {
+            notificarVencedor(caminhoImagem, vencedor);
+            return vencedor;
+        }
+
+        // Sem vencedor: não é vitória de ninguém
+        semVencedor.incrementAndGet();
+        if (melhor != null) {
+            return melhor;
+        }
+        throw primeiroErro;
+    }
+
+    /**
+     * Valor da leitura vencedora. Sem vencedor, a leitura é rejeitada: o
+     * valor sairia daqui sem a marca de confiança baixa.
+     */
+    @Override
+    public double lerConsumo(String caminhoImagem) throws ErroDeLeituraImagemException {
+        ResultadoReconhecimento resultado = reconhecer(caminhoImagem);
+        if (resultado.getConfianca() < limiarConfianca) {
+            throw rejeitarConfiancaBaixa(caminhoImagem, resultado);
+        }
+        return resultado.getValor();
+    }
+
+    /**
+     * Lê o lote em cascata: cada motor reconhece, nas suas threads, apenas as
+     * imagens que os anteriores não leram com confiança. Vencedores confiáveis
+     * vão ao ouvinte, como na leitura avulsa; sem vencedor, a imagem é
+     * rejeitada por confiança baixa (como em lerConsumo).
+     */
+    @Override
+    public List<ResultadoLeitura> lerConsumoLote(List<String> caminhosImagens) {
+        List<Motor> participantes = new ArrayList<>(motores);
+        if (caminhosImagens.size() <= 1 || participantes.isEmpty()) {
+            return LeitorComConfianca.super.lerConsumoLote(caminhosImagens);
+        }
+        leituras.addAndGet(caminhosImagens.size());
+
+        ResultadoLeitura[] resultados = new ResultadoLeitura[caminhosImagens.size()];
+        ResultadoReconhecimento[] melhores = new ResultadoReconhecimento[caminhosImagens.size()];
+        ErroDeLeituraImagemException[] erros = new ErroDeLeituraImagemException[caminhosImagens.size()];
+        List<Integer> pendentes = new ArrayList<>();
+        for (int i = 0; i < caminhosImagens.size(); i++) {
+            pendentes.add(i);
+        }
+
+        for (int m = 0; m < participantes.size() && !pendentes.isEmpty(); m++) {
+            pendentes = lerEtapaLote(participantes.get(m), caminhosImagens, pendentes, resultados, melhores, erros);
+        }
+
+        for (int i : pendentes) {
+            semVencedor.incrementAndGet();
+            resultados[i] = ResultadoLeitura.falha(caminhosImagens.get(i), melhores[i] != null
+                ? rejeitarConfiancaBaixa(caminhosImagens.get(i), melhores[i])
+                : erros[i]);
+        }
+
+        return Arrays.asList(resultados);
+    }
+
+    /**
+     * Reconhece as imagens pendentes em um motor (nas threads dele).
+     *
+     * @return Imagens que continuam sem leitura confiável
+     */
+    private List<Integer> lerEtapaLote(Motor motor, List<String> caminhosImagens, List<Integer> pendentes,
+                                       ResultadoLeitura[] resultados, ResultadoReconhecimento[] melhores,
+                                       ErroDeLeituraImagemException[] erros) {
+        List<Future<ResultadoReconhecimento>> futuros = new ArrayList<>(pendentes.size());
+        for (int i : pendentes) {
+            String caminho = caminhosImagens.get(i);
+            motor.partidas.incrementAndGet();
+            try {
+                futuros.add(motor.executor.submit(() -> motor.reconhecer(caminho)));
+            } catch (RejectedExecutionException e) {
+                futuros.add(null); // Leitor encerrado
+            }
+        }
+
+        List<Integer> restantes = new ArrayList<>();
+        for (int j = 0; j < pendentes.size(); j++) {
+            int i = pendentes.get(j);
+            String caminho = caminhosImagens.get(i);
+            Future<ResultadoReconhecimento> futuro = futuros.get(j);
+            if (futuro == null) {
+                resultados[i] = ResultadoLeitura.falha(caminho,
+                    new ErroDeLeituraImagemException("Leitor hedge já foi encerrado"));
+                continue;
+            }
+            try {
+                ResultadoReconhecimento resultado = rotular(futuro.get(), motor);
+                if (resultado.getConfianca() >= limiarConfianca) {
+                    motor.vitorias.incrementAndGet();
+                    notificarVencedor(caminho, resultado);
+                    resultados[i] = ResultadoLeitura.sucesso(caminho, resultado.getValor());
+                    continue;
+                }
+                if (melhores[i] == null || resultado.getConfianca() > melhores[i].getConfianca()) {
+                    melhores[i] = resultado;
+                }
+            } catch (ExecutionException e) {
+                motor.falhas.incrementAndGet();
+                ErroDeLeituraImagemException erro = converter(e.getCause(), caminho);
+                if (erro instanceof ImagemRejeitadaException) {
+                    resultados[i] = ResultadoLeitura.falha(caminho, erro);
+                    continue;
+                }
+                if (erros[i] == null) {
+                    erros[i] = erro;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futuro.cancel(true);
+                resultados[i] = ResultadoLeitura.falha(caminho,
+                    new ErroDeLeituraImagemException("Leitura em lote interrompida: " + caminho, e));
+                continue;
+            }
+            restantes.add(i);
+        }
+        return restantes;
+    }
+
+    private ImagemRejeitadaException rejeitarConfiancaBaixa(String caminhoImagem, ResultadoReconhecimento melhor) {
+        return new ImagemRejeitadaException(String.format(
+            "Nenhum motor leu %s com confiança >= %.2f (melhor: %s, %.2f)",
+            caminhoImagem, limiarConfianca, melhor.getMotor(), melhor.getConfianca()
+        ), ImagemRejeitadaException.Motivo.CONFIANCA_BAIXA);
+    }
+
+    private Future<ResultadoReconhecimento> iniciar(BlockingQueue<Future<ResultadoReconhecimento>> corrida,
+                                                   Motor motor, String caminhoImagem) {
+        motor.partidas.incrementAndGet();
+        CompletionService<ResultadoReconhecimento> servico =
+            new ExecutorCompletionService<>(motor.executor, corrida);
+        return servico.submit(() -> motor.reconhecer(caminhoImagem));
+    }
+
+    private void notificarVencedor(String caminhoImagem, ResultadoReconhecimento vencedor) {
+        BiConsumer<String, ResultadoReconhecimento> ouvinte = ouvinteVencedor;
+        if (ouvinte == null) {
+            return;
+        }
+        try {
+            ouvinte.accept(caminhoImagem, vencedor);
+        } catch (RuntimeException e) {
+            System.err.println("⚠️  Erro no ouvinte do hedge: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Garante que o resultado leve o nome do motor configurado.
+     */
+    private static ResultadoReconhecimento rotular(ResultadoReconhecimento resultado, Motor motor) {
+        if (motor.nome.equals(resultado.getMotor())) {
+            return resultado;
+        }
+        return new ResultadoReconhecimento(resultado.getValor(), resultado.getConfianca(),
+                                           resultado.getConfiancasDigitos(), motor.nome);
+    }
+
+    private static ErroDeLeituraImagemException converter(Throwable causa, String caminhoImagem) {
+        if (causa instanceof ErroDeLeituraImagemException) {
+            return (ErroDeLeituraImagemException) causa;
+        }
+        return new ErroDeLeituraImagemException("Erro inesperado na leitura: " + caminhoImagem, causa);
+    }
+
+    /**
+     * Encerra as threads da disputa (os motores são encerrados por quem os criou).
+     */
+    @Override
+    public void close() {
+        for (Motor motor : motores) {
+            motor.executor.shutdownNow();
+        }
+    }
+
+    // ========================================================================
+    // MÉTRICAS
+    // ========================================================================
+
+    public double getLimiarConfianca() {
+        return limiarConfianca;
+    }
+
+    public long getLeituras() {
+        return leituras.get();
+    }
+
+    /**
+     * @return Leituras em que nenhum motor atingiu o limiar (não contam como vitória)
+     */
+    public long getLeiturasSemVencedor() {
+        return semVencedor.get();
+    }
+
+    public long getCancelamentos() {
+        return cancelamentos.get();
+    }
+
+    /**
+     * @return Vitórias do motor com o nome informado (0 se não existir)
+     */
+    public long getVitorias(String nomeMotor) {
+        for (Motor motor : motores) {
+            if (motor.nome.equals(nomeMotor)) {
+                return motor.vitorias.get();
+            }
+        }
+        return 0;
+    }
+
+    public String getEstatisticas() {
+        StringBuilder sb = new StringBuilder(String.format(
+            "Hedge: %d leituras, %d sem vencedor, %d cancelamentos",
+            getLeituras(), getLeiturasSemVencedor(), getCancelamentos()
+        ));
+        for (Motor motor : motores) {
+            sb.append(String.format(" [%s: %d partidas, %d vitórias, %d falhas]",
+                motor.nome, motor.partidas.get(), motor.vitorias.get(), motor.falhas.get()));
+        }
+        return sb.toString();
+    }
+
+    // ========================================================================
+    // CLASSE INTERNA: MOTOR
+    // ========================================================================
+
+    private static final class Motor {
+        private final String nome;
+        private final LeitorImplementador leitor;
+        private final long atrasoPartidaMs;
+        private final int capacidade;
+        private final ExecutorService executor;
+        private final AtomicInteger emExecucao = new AtomicInteger(0);
+        private final AtomicLong partidas = new AtomicLong(0);
+        private final AtomicLong vitorias = new AtomicLong(0);
+        private final AtomicLong falhas = new AtomicLong(0);
+
+        Motor(String nome, LeitorImplementador leitor, long atrasoPartidaMs, int capacidade) {
+            this.nome = nome;
+            this.leitor = leitor;
+            this.atrasoPartidaMs = atrasoPartidaMs;
+            this.capacidade = capacidade;
+
+            AtomicInteger contadorThreads = new AtomicInteger(0);
+            this.executor = Executors.newFixedThreadPool(capacidade, tarefa -> {
+                Thread thread = new Thread(tarefa, "ocr-hedge-" + nome + "-" + contadorThreads.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        /**
+         * @return true se todas as threads do motor estão lendo (uma nova leitura ficaria na fila)
+         */
+        boolean isSaturado() {
+            return emExecucao.get() >= capacidade;
+        }
+
+        ResultadoReconhecimento reconhecer(String caminhoImagem) throws ErroDeLeituraImagemException {
+            emExecucao.incrementAndGet();
+            try {
+                if (leitor instanceof LeitorComConfianca) {
+                    return ((LeitorComConfianca) leitor).reconhecer(caminhoImagem);
+                }
+                return ResultadoReconhecimento.semConfianca(leitor.lerConsumo(caminhoImagem), nome);
+            } finally {
+                emExecucao.decrementAndGet();
+            }
+        }
+    }
+}
@@ -2,6 +2,9 @@ package subsistemas.monitoramento;
 
 import excecoes.ErroDeLeituraImagemException;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Interface do Implementador no padrão Bridge.
  * Define a operação de baixo nível para leitura de consumo via imagem.
@@ -9,6 +12,12 @@ import excecoes.ErroDeLeituraImagemException;
  * Implementações concretas:
  * - LeitorSimuladoImpl: Retorna valores simulados (desenvolvimento)
  * - LeitorOCRImpl: Usa OCR para ler imagem real (produção)
+ * - LeitorTessAPIImpl: OCR com handle TessBaseAPI persistente (sem reinit por leitura)
+ * - LeitorOCRPoolImpl: Pool de motores OCR, um por leitura concorrente
+ * - LeitorCacheImpl: Cache de resultados por SHA + impressão digital da imagem
+ * - LeitorTemplateDigitosImpl: Dígitos por template (matchTemplate), OCR como fallback
+ * - LeitorProcessoImpl: OCR em processos trabalhadores isolados (reinício automático)
+ * - LeitorHedgeImpl: Vários motores em paralelo, vence o primeiro resultado confiável
  *
  * RESTRIÇÃO CRÍTICA (R2):
  * - Leitura de consumo APENAS via arquivo de imagem
@@ -31,5 +40,28 @@ public interface LeitorImplementador {
      * @throws ErroDeLeituraImagemException Se houver erro na leitura da imagem
      */
     double lerConsumo(String caminhoImagem) throws ErroDeLeituraImagemException;
+
+    /**
+     * Lê o consumo de várias imagens de uma vez.
+     *
+     * A falha de uma imagem NÃO interrompe as demais: cada caminho recebe seu
+     * próprio ResultadoLeitura, na mesma ordem da lista de entrada.
+     * A implementação padrão é sequencial; implementações com vários motores
+     * (ex.: LeitorOCRPoolImpl) sobrescrevem para ler em paralelo.
+     *
+     * @param caminhosImagens Caminhos dos arquivos de imagem
+     * @return Um resultado por caminho, na ordem de entrada
+     */
+    default List<ResultadoLeitura> lerConsumoLote(List<String> caminhosImagens) {
+        List<ResultadoLeitura> resultados = new ArrayList<>(caminhosImagens.size());
+        for (String caminho : caminhosImagens) {
+            try {
+                resultados.add(ResultadoLeitura.sucesso(caminho, lerConsumo(caminho)));
+            } catch (ErroDeLeituraImagemException e) {
+                resultados.add(ResultadoLeitura.falha(caminho, e));
+            }
+        }
+        return resultados;
+    }
 }
 
@@ -17,20 +17,52 @@ import java.util.regex.Pattern;
  * - Ler diretamente a imagem do hidrômetro
  * - Usar Tesseract com PSM 7 (uma linha) e whitelist numérica
  * - Extrair e normalizar o maior número encontrado como consumo em m³
+ * - Opcional: pré-processar com OpenCV (PreProcessadorImagem) e reconhecer
+ *   apenas a faixa binarizada do visor
  */
 public class LeitorOCRImpl implements LeitorImplementador {
 
+    // Datapath padrão do Tesseract instalado via apt no Ubuntu 24.04
+    // Ajuste se seu tessdata estiver em outro local.
+    static final String DATAPATH_PADRAO = "/usr/share/tesseract-ocr/5/tessdata";
+    static final String IDIOMA = "eng";
+    static final int PSM_LINHA_UNICA = 7; // uma única linha de texto (visor)
+    static final int OEM_LSTM = 1; // LSTM only
+    static final String WHITELIST_DIGITOS = "0123456789";
+
+    private static final Pattern PADRAO_NUMERO = Pattern.compile("[0-9]+");
+
     private final ITesseract tesseract;
 
+    /**
+     * Pré-processador opcional (null = OCR no quadro inteiro).
+     */
+    private final PreProcessadorImagem preProcessador;
+
+    /**
+     * Decodificação sem pré-processador: pixels entregues em memória ao
+     * Tesseract, em vez de doOCR(File) decodificar o arquivo a cada chamada.
+     */
+    private final CarregadorImagem carregador;
+
     public LeitorOCRImpl() {
+        this(null);
+    }
+
+    /**
+     * Construtor com estágio de pré-processamento antes do OCR.
+     *
+     * @param preProcessador Pré-processador OpenCV (null para desativar)
+     */
+    public LeitorOCRImpl(PreProcessadorImagem preProcessador) {
+        this.preProcessador = preProcessador;
+        this.carregador = preProcessador == null ? new CarregadorImagem() : null;
         this.tesseract = new Tesseract();
-        // Datapath padrão do Tesseract instalado via apt no Ubuntu 24.04
-        // Ajuste se seu tessdata estiver em outro local.
-        this.tesseract.setDatapath("/usr/share/tesseract-ocr/5/tessdata");
-        this.tesseract.setLanguage("eng");
-        this.tesseract.setPageSegMode(7); // uma única linha de texto (visor)
-        this.tesseract.setOcrEngineMode(1); // LSTM only
-        this.tesseract.setTessVariable("tessedit_char_whitelist", "0123456789");
+        this.tesseract.setDatapath(DATAPATH_PADRAO);
+        this.tesseract.setLanguage(IDIOMA);
+        this.tesseract.setPageSegMode(PSM_LINHA_UNICA);
+        this.tesseract.setOcrEngineMode(OEM_LSTM);
+        this.tesseract.setTessVariable("tessedit_char_whitelist", WHITELIST_DIGITOS);
     }
 
     @Override
@@ -47,7 +79,9 @@ public class LeitorOCRImpl implements LeitorImplementador {
         }
 
         try {
-            String texto = tesseract.doOCR(arquivo);
+            String texto = preProcessador != null
+                    ? tesseract.doOCR(preProcessador.processar(caminhoImagem))
+                    : tesseract.doOCR(carregador.carregarImagemEmCinza(caminhoImagem, null, 1));
 
             if (texto == null || texto.trim().isEmpty()) {
                 throw new ErroDeLeituraImagemException(
@@ -60,51 +94,68 @@ public class LeitorOCRImpl implements LeitorImplementador {
             // System.out.println(texto);
             // System.out.println("========================================================");
 
-            List<String> candidatos = new ArrayList<>();
-            Matcher m = Pattern.compile("[0-9]+").matcher(texto);
-            while (m.find()) {
-                candidatos.add(m.group());
-            }
+            return interpretarTexto(texto, arquivo.getAbsolutePath());
 
-            if (candidatos.isEmpty()) {
-                throw new ErroDeLeituraImagemException(
-                        "Não foi possível encontrar números na imagem: " + arquivo.getAbsolutePath() +
-                                "\nTexto OCR: " + texto
-                );
-            }
+        } catch (TesseractException e) {
+            throw new ErroDeLeituraImagemException(
+                    "Erro de OCR ao processar a imagem: " + arquivo.getAbsolutePath(), e
+            );
+        }
+    }
 
-            Double melhorValor = null;
-            String melhorBruto = null;
-
-            for (String bruto : candidatos) {
-                try {
-                    double valor = Double.parseDouble(bruto);
-                    // Intervalo razoável para consumo em m³
-                    if (valor < 0 || valor > 999999) {
-                        continue;
-                    }
-                    if (melhorValor == null || valor > melhorValor) {
-                        melhorValor = valor;
-                        melhorBruto = bruto;
-                    }
-                } catch (NumberFormatException ignore) {
-                    // ignora este candidato e tenta o próximo
-                }
-            }
+    /**
+     * Extrai e normaliza o maior número encontrado no texto OCR.
+     * Compartilhado pelas implementações baseadas em Tesseract.
+     *
+     * @param texto Texto bruto retornado pelo OCR
+     * @param origem Identificação da imagem (para mensagens de erro)
+     * @return Consumo em m³
+     * @throws ErroDeLeituraImagemException Se nenhum número válido for encontrado
+     */
+    static double interpretarTexto(String texto, String origem) throws ErroDeLeituraImagemException {
+        if (texto == null || texto.trim().isEmpty()) {
+            throw new ErroDeLeituraImagemException(
+                    "OCR não retornou nenhum texto para a imagem: " + origem
+            );
+        }
 
-            if (melhorValor == null) {
-                throw new ErroDeLeituraImagemException(
-                        "Não foi possível converter texto OCR em número válido. Candidatos: " + candidatos +
-                                "\nTexto OCR: " + texto
-                );
-            }
+        List<String> candidatos = new ArrayList<>();
+        Matcher m = PADRAO_NUMERO.matcher(texto);
+        while (m.find()) {
+            candidatos.add(m.group());
+        }
+
+        if (candidatos.isEmpty()) {
+            throw new ErroDeLeituraImagemException(
+                    "Não foi possível encontrar números na imagem: " + origem +
+                            "\nTexto OCR: " + texto
+            );
+        }
 
-            return melhorValor;
+        Double melhorValor = null;
 
-        } catch (TesseractException e) {
+        for (String bruto : candidatos) {
+            try {
+                double valor = Double.parseDouble(bruto);
+                // Intervalo razoável para consumo em m³
+                if (valor < 0 || valor > 999999) {
+                    continue;
+                }
+                if (melhorValor == null || valor > melhorValor) {
+                    melhorValor = valor;
+                }
+            } catch (NumberFormatException ignore) {
+                // ignora este candidato e tenta o próximo
+            }
+        }
+
+        if (melhorValor == null) {
             throw new ErroDeLeituraImagemException(
-                    "Erro de OCR ao processar a imagem: " + arquivo.getAbsolutePath(), e
+                    "Não foi possível converter texto OCR em número válido. Candidatos: " + candidatos +
+                            "\nTexto OCR: " + texto
             );
         }
+
+        return melhorValor;
     }
 }
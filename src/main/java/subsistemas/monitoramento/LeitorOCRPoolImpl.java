@@ -0,0 +1,379 @@
+package subsistemas.monitoramento;
+
+import excecoes.CapacidadeEsgotadaException;
+import excecoes.ErroDeLeituraImagemException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Pool de motores OCR confinados por thread.
+ *
+ * O Tesseract NÃO é thread-safe: uma única instância compartilhada entre as
+ * threads do MonitorConsumo serializa as leituras e já causou SIGSEGV em
+ * libtesseract (recog_all_words). Este pool mantém N motores independentes
+ * (cada um com seu próprio handle Tesseract) e empresta um motor exclusivo
+ * para cada leitura, devolvendo-o ao final.
+ *
+ * Funcionamento:
+ * - Os motores são criados na construção (um por posição do pool)
+ * - Cada leitura faz checkout de um motor livre (com timeout)
+ * - Se nenhum motor ficar livre no prazo, a leitura falha (pool saturado)
+ * - Leituras em lote (lerConsumoLote) são distribuídas entre os motores,
+ *   levando ~1 latência de OCR por rodada de N motores em vez de N latências;
+ *   o lote tem prazo limitado, e leituras que o estouram são canceladas
+ * - Métricas de uso/espera permitem dimensionar o pool
+ *
+ * @pattern Bridge (Implementação Concreta), Object Pool
+ * @author Pedro Henrique
+ * @date 2026-10-16
+ */
+public class LeitorOCRPoolImpl implements LeitorComConfianca {
+
+    /**
+     * Timeout padrão para obter um motor livre (ms).
+     */
+    public static final long TIMEOUT_CHECKOUT_PADRAO_MS = 5000;
+
+    /**
+     * Tempo máximo de uma leitura OCR já com o motor em mãos (ms).
+     * Limita a espera do lote quando um motor trava.
+     */
+    public static final long TIMEOUT_LEITURA_PADRAO_MS = 15000;
+
+    private final BlockingQueue<LeitorImplementador> motoresLivres;
+    private final int tamanhoPool;
+    private final long timeoutCheckoutMs;
+    private volatile boolean encerrado;
+
+    /**
+     * Threads que distribuem as leituras em lote (uma por motor).
+     */
+    private final ExecutorService executorLote;
+
+    // Métricas de saturação
+    private final AtomicInteger motoresEmUso;
+    private final AtomicInteger picoMotoresEmUso;
+    private final AtomicLong totalCheckouts;
+    private final AtomicLong checkoutsComEspera;
+    private final AtomicLong totalTimeouts;
+    private final AtomicLong tempoTotalEsperaNanos;
+
+    /**
+     * Construtor padrão: um motor LeitorOCRImpl por núcleo disponível.
+     */
+    public LeitorOCRPoolImpl() {
+        this(Runtime.getRuntime().availableProcessors(), TIMEOUT_CHECKOUT_PADRAO_MS);
+    }
+
+    /**
+     * Construtor com tamanho e timeout configuráveis (motores LeitorOCRImpl).
+     *
+     * @param tamanhoPool Quantidade de motores Tesseract independentes
+     * @param timeoutCheckoutMs Tempo máximo de espera por um motor livre (ms)
+     */
+    public LeitorOCRPoolImpl(int tamanhoPool, long timeoutCheckoutMs) {
+        this(tamanhoPool, timeoutCheckoutMs, LeitorOCRImpl::new);
+    }
+
+    /**
+     * Construtor completo: permite informar a fábrica dos motores.
+     *
+     * @param tamanhoPool Quantidade de motores independentes
+     * @param timeoutCheckoutMs Tempo máximo de espera por um motor livre (ms)
+     * @param fabricaMotor Fábrica que cria cada motor do pool
+     */
+    public LeitorOCRPoolImpl(int tamanhoPool, long timeoutCheckoutMs,
+                             Supplier<? extends LeitorImplementador> fabricaMotor) {
+        if (tamanhoPool <= 0) {
+            throw new IllegalArgumentException("Tamanho do pool deve ser maior que zero");
+        }
+        if (timeoutCheckoutMs <= 0) {
+            throw new IllegalArgumentException("Timeout de checkout deve ser maior que zero");
+        }
+        if (fabricaMotor == null) {
+            throw new IllegalArgumentException("Fábrica de motores não pode ser nula");
+        }
+
+        this.tamanhoPool = tamanhoPool;
+        this.timeoutCheckoutMs = timeoutCheckoutMs;
+        this.motoresLivres = new ArrayBlockingQueue<>(tamanhoPool);
+
+        for (int i = 0; i < tamanhoPool; i++) {
+            motoresLivres.add(fabricaMotor.get());
+        }
+
+        AtomicInteger contadorThreads = new AtomicInteger(0);
+        this.executorLote = Executors.newFixedThreadPool(tamanhoPool, tarefa -> {
+            Thread thread = new Thread(tarefa, "ocr-lote-" + contadorThreads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.motoresEmUso = new AtomicInteger(0);
+        this.picoMotoresEmUso = new AtomicInteger(0);
+        this.totalCheckouts = new AtomicLong(0);
+        this.checkoutsComEspera = new AtomicLong(0);
+        this.totalTimeouts = new AtomicLong(0);
+        this.tempoTotalEsperaNanos = new AtomicLong(0);
+    }
+
+    /**
+     * Lê o consumo usando um motor exclusivo do pool.
+     *
+     * @param caminhoImagem Caminho do arquivo de imagem
+     * @return Consumo lido em m³
+     * @throws ErroDeLeituraImagemException Se a leitura falhar ou o pool estiver saturado
+     */
+    @Override
+    public double lerConsumo(String caminhoImagem) throws ErroDeLeituraImagemException {
+        LeitorImplementador motor = obterMotor();
+        try {
+            return motor.lerConsumo(caminhoImagem);
+        } finally {
+            devolverMotor(motor);
+        }
+    }
+
+    /**
+     * Reconhece com um motor exclusivo do pool, repassando a confiança
+     * quando o motor a informa (ex.: LeitorTessAPIImpl).
+     */
+    @Override
+    public ResultadoReconhecimento reconhecer(String caminhoImagem) throws ErroDeLeituraImagemException {
+        LeitorImplementador motor = obterMotor();
+        try {
+            if (motor instanceof LeitorComConfianca) {
+                return ((LeitorComConfianca) motor).reconhecer(caminhoImagem);
+            }
+            return ResultadoReconhecimento.semConfianca(
+                motor.lerConsumo(caminhoImagem), motor.getClass().getSimpleName()
+            );
+        } finally {
+            devolverMotor(motor);
+        }
+    }
+
+    /**
+     * Lê várias imagens em paralelo, uma por motor livre.
+     * Falhas individuais não interrompem o lote.
+     *
+     * @param caminhosImagens Caminhos dos arquivos de imagem
+     * @return Um resultado por caminho, na ordem de entrada
+     */
+    @Override
+    public List<ResultadoLeitura> lerConsumoLote(List<String> caminhosImagens) {
+        if (caminhosImagens.size() <= 1) {
+            return LeitorComConfianca.super.lerConsumoLote(caminhosImagens);
+        }
+
+        List<Future<Double>> futuros = new ArrayList<>(caminhosImagens.size());
+        for (String caminho : caminhosImagens) {
+            try {
+                futuros.add(executorLote.submit(() -> lerConsumo(caminho)));
+            } catch (RejectedExecutionException e) {
+                futuros.add(null); // Pool encerrado
+            }
+        }
+
+        // Prazo do lote: uma rodada (checkout + OCR) a cada N motores
+        long rodadas = (caminhosImagens.size() + tamanhoPool - 1) / tamanhoPool;
+        long prazoNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(
+            rodadas * (timeoutCheckoutMs + TIMEOUT_LEITURA_PADRAO_MS)
+        );
+
+        List<ResultadoLeitura> resultados = new ArrayList<>(caminhosImagens.size());
+        for (int i = 0; i < caminhosImagens.size(); i++) {
+            resultados.add(aguardar(caminhosImagens.get(i), futuros.get(i), prazoNanos));
+        }
+        return resultados;
+    }
+
+    private ResultadoLeitura aguardar(String caminho, Future<Double> futuro, long prazoNanos) {
+        if (futuro == null) {
+            return ResultadoLeitura.falha(caminho,
+                new ErroDeLeituraImagemException("Pool de motores OCR já foi encerrado"));
+        }
+        try {
+            long restanteNanos = Math.max(0, prazoNanos - System.nanoTime());
+            return ResultadoLeitura.sucesso(caminho, futuro.get(restanteNanos, TimeUnit.NANOSECONDS));
+        } catch (TimeoutException e) {
+            // Motor travado: não segura o lote; o motor volta ao pool quando terminar
+            futuro.cancel(true);
+            totalTimeouts.incrementAndGet();
+            return ResultadoLeitura.falha(caminho,
+                new CapacidadeEsgotadaException("Leitura em lote excedeu o prazo: " + caminho, e));
+        } catch (CancellationException e) {
+            return ResultadoLeitura.falha(caminho,
+                new ErroDeLeituraImagemException("Leitura em lote cancelada: " + caminho, e));
+        } catch (ExecutionException e) {
+            Throwable causa = e.getCause();
+            ErroDeLeituraImagemException erro = causa instanceof ErroDeLeituraImagemException
+                ? (ErroDeLeituraImagemException) causa
+                : new ErroDeLeituraImagemException("Erro inesperado na leitura: " + caminho, causa);
+            return ResultadoLeitura.falha(caminho, erro);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futuro.cancel(true);
+            return ResultadoLeitura.falha(caminho,
+                new ErroDeLeituraImagemException("Leitura em lote interrompida: " + caminho, e));
+        }
+    }
+
+    // ========================================================================
+    // CHECKOUT / DEVOLUÇÃO
+    // ========================================================================
+
+    /**
+     * Obtém um motor livre, aguardando até o timeout configurado.
+     */
+    private LeitorImplementador obterMotor() throws ErroDeLeituraImagemException {
+        if (encerrado) {
+            throw new ErroDeLeituraImagemException("Pool de motores OCR já foi encerrado");
+        }
+        long inicio = System.nanoTime();
+        LeitorImplementador motor = motoresLivres.poll();
+
+        if (motor == null) {
+            // Pool saturado: aguarda um motor ser devolvido
+            checkoutsComEspera.incrementAndGet();
+            try {
+                motor = motoresLivres.poll(timeoutCheckoutMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ErroDeLeituraImagemException("Leitura interrompida aguardando motor OCR", e);
+            } finally {
+                tempoTotalEsperaNanos.addAndGet(System.nanoTime() - inicio);
+            }
+
+            if (motor == null) {
+                totalTimeouts.incrementAndGet();
+                throw new CapacidadeEsgotadaException(
+                    "Nenhum motor OCR livre em " + timeoutCheckoutMs + "ms (pool saturado: " +
+                    motoresEmUso.get() + "/" + tamanhoPool + " em uso)"
+                );
+            }
+        }
+
+        totalCheckouts.incrementAndGet();
+        int emUso = motoresEmUso.incrementAndGet();
+        picoMotoresEmUso.accumulateAndGet(emUso, Math::max);
+        return motor;
+    }
+
+    /**
+     * Devolve o motor ao pool.
+     */
+    private void devolverMotor(LeitorImplementador motor) {
+        motoresEmUso.decrementAndGet();
+        motoresLivres.offer(motor);
+        if (encerrado) {
+            // Pool encerrado durante a leitura: libera o que foi devolvido
+            encerrar();
+        }
+    }
+
+    /**
+     * Encerra o pool, liberando os motores que mantêm recursos nativos.
+     * Motores em uso no momento são liberados quando devolvidos.
+     */
+    public void encerrar() {
+        encerrado = true;
+        executorLote.shutdown();
+        LeitorImplementador motor;
+        while ((motor = motoresLivres.poll()) != null) {
+            liberar(motor);
+        }
+    }
+
+    private static void liberar(LeitorImplementador motor) {
+        if (motor instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) motor).close();
+            } catch (Exception e) {
+                System.err.println("Erro ao liberar motor OCR: " + e.getMessage());
+            }
+        }
+    }
+
+    // ========================================================================
+    // MÉTRICAS
+    // ========================================================================
+
+    public int getTamanhoPool() {
+        return tamanhoPool;
+    }
+
+    public long getTimeoutCheckoutMs() {
+        return timeoutCheckoutMs;
+    }
+
+    public int getMotoresEmUso() {
+        return motoresEmUso.get();
+    }
+
+    public int getPicoMotoresEmUso() {
+        return picoMotoresEmUso.get();
+    }
+
+    public long getTotalCheckouts() {
+        return totalCheckouts.get();
+    }
+
+    public long getCheckoutsComEspera() {
+        return checkoutsComEspera.get();
+    }
+
+    public long getTotalTimeouts() {
+        return totalTimeouts.get();
+    }
+
+    /**
+     * Tempo médio de espera por motor, considerando apenas checkouts que esperaram.
+     *
+     * @return Tempo médio em milissegundos
+     */
+    public double getTempoMedioEsperaMs() {
+        long esperas = checkoutsComEspera.get();
+        if (esperas == 0) {
+            return 0.0;
+        }
+        return tempoTotalEsperaNanos.get() / 1_000_000.0 / esperas;
+    }
+
+    /**
+     * Fração dos checkouts que encontraram o pool saturado (0.0 a 1.0).
+     */
+    public double getTaxaSaturacao() {
+        long pedidos = totalCheckouts.get() + totalTimeouts.get();
+        if (pedidos == 0) {
+            return 0.0;
+        }
+        return (double) checkoutsComEspera.get() / pedidos;
+    }
+
+    /**
+     * Resumo das métricas do pool em texto.
+     */
+    public String getEstatisticas() {
+        return String.format(
+            "Pool OCR: %d/%d em uso (pico %d), %d checkouts, %.1f%% saturados, " +
+            "espera média %.1fms, %d timeouts",
+            getMotoresEmUso(), tamanhoPool, getPicoMotoresEmUso(), getTotalCheckouts(),
+            getTaxaSaturacao() * 100.0, getTempoMedioEsperaMs(), getTotalTimeouts()
+        );
+    }
+}
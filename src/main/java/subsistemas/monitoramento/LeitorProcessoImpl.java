@@ -0,0 +1,539 @@
+package subsistemas.monitoramento;
+
+import excecoes.CapacidadeEsgotadaException;
+import excecoes.ErroDeLeituraImagemException;
+import excecoes.ImagemRejeitadaException;
+import modelo.RegiaoVisor;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * OCR em processos trabalhadores isolados (uma JVM TrabalhadorOCR por motor).
+ *
+ * Mesmo modelo do LeitorOCRPoolImpl (um motor exclusivo por leitura), mas
+ * cada motor é um processo filho que conversa por stdin/stdout. Uma falha
+ * nativa do Tesseract derruba apenas o trabalhador, nunca o painel:
+ * - Trabalhador morto (EOF) ou sem resposta no prazo → processo é
+ *   encerrado e substituído por um novo
+ * - Trabalhador morto: a leitura é repetida em outro (até MAX_TENTATIVAS)
+ * - Sem resposta no prazo NÃO é repetido: o quadro que trava o Tesseract
+ *   travaria os outros também. Conta como falha da leitura (disjuntor do SHA)
+ * - Erros de leitura "normais" (imagem ilegível) NÃO são repetidos
+ *
+ * Também dá paralelismo real entre processos (sem disputa no heap do painel).
+ *
+ * O filtro de qualidade e o cache de regiões do visor continuam no painel:
+ * cada pedido leva os limiares atuais e a região do SHA, e a resposta traz a
+ * confiança do OCR (MeanTextConf), a região redetectada (persistida aqui) e o
+ * desfecho do filtro (contado por SHA aqui). Ver TrabalhadorOCR.
+ *
+ * @pattern Bridge (Implementação Concreta), Object Pool
+ * @author Pedro Henrique
+ * @date 2026-10-16
+ */
+public class LeitorProcessoImpl implements LeitorComConfianca, AutoCloseable {
+
+    public static final long TIMEOUT_LEITURA_PADRAO_MS = 30_000;
+    public static final int MAX_TENTATIVAS = 3;
+
+    /**
+     * Pior caso de uma leitura com os prazos padrão: em cada tentativa, espera
+     * por um trabalhador livre e leitura, ambas limitadas pelo prazo de leitura.
+     */
+    public static final long PRAZO_MAXIMO_LEITURA_PADRAO_MS = MAX_TENTATIVAS * 2 * TIMEOUT_LEITURA_PADRAO_MS;
+
+    private static final String MOTOR = "tesseract+opencv (processo)";
+
+    private final int quantidadeTrabalhadores;
+    private final long timeoutLeituraMs;
+    private final List<String> comando;
+    private final BlockingQueue<Trabalhador> trabalhadoresLivres;
+    private final ScheduledExecutorService vigia;
+    private final ExecutorService executorLote;
+    private final AtomicLong geradorIdPedido;
+    private volatile boolean encerrado;
+
+    /**
+     * Filtro cujos limiares os trabalhadores aplicam e onde os desfechos são contados (null = padrão).
+     */
+    private final FiltroQualidadeImagem filtroQualidade;
+
+    /**
+     * Regiões do visor enviadas aos trabalhadores e atualizadas com as redetectadas (null = nenhuma).
+     */
+    private final CacheRegioesVisor cacheRegioes;
+
+    // Métricas
+    private final AtomicLong leituras;
+    private final AtomicLong reinicios;
+    private final AtomicLong repeticoes;
+    private final AtomicLong timeouts;
+
+    /**
+     * Um trabalhador por núcleo, com a JVM e o classpath do próprio painel.
+     */
+    public LeitorProcessoImpl() {
+        this(null, null);
+    }
+
+    /**
+     * Um trabalhador por núcleo, compartilhando o filtro e as regiões do painel.
+     *
+     * @param filtroQualidade Filtro de qualidade do painel (null = limiares padrão, sem contagem)
+     * @param cacheRegioes Cache (persistido) de regiões do visor (null = trabalhadores detectam sozinhos)
+     */
+    public LeitorProcessoImpl(FiltroQualidadeImagem filtroQualidade, CacheRegioesVisor cacheRegioes) {
+        this(Runtime.getRuntime().availableProcessors(), TIMEOUT_LEITURA_PADRAO_MS, new ArrayList<>(),
+             filtroQualidade, cacheRegioes);
+    }
+
+    /**
+     * @param quantidadeTrabalhadores Processos OCR simultâneos
+     * @param timeoutLeituraMs Prazo de uma leitura; depois disso o trabalhador é reiniciado
+     * @param argumentosJvm Argumentos extras da JVM dos trabalhadores (ex.: "-Xmx256m")
+     */
+    public LeitorProcessoImpl(int quantidadeTrabalhadores, long timeoutLeituraMs, List<String> argumentosJvm) {
+        this(quantidadeTrabalhadores, timeoutLeituraMs, argumentosJvm, null, null);
+    }
+
+    /**
+     * Construtor completo.
+     *
+     * @param quantidadeTrabalhadores Processos OCR simultâneos
+     * @param timeoutLeituraMs Prazo de uma leitura; depois disso o trabalhador é reiniciado
+     * @param argumentosJvm Argumentos extras da JVM dos trabalhadores (ex.: "-Xmx256m")
+     * @param filtroQualidade Filtro de qualidade do painel (null = limiares padrão, sem contagem)
+     * @param cacheRegioes Cache de regiões do visor do painel (null = sem regiões compartilhadas)
+     */
+    public LeitorProcessoImpl(int quantidadeTrabalhadores, long timeoutLeituraMs, List<String> argumentosJvm,
+                              FiltroQualidadeImagem filtroQualidade, CacheRegioesVisor cacheRegioes) {
+        if (quantidadeTrabalhadores <= 0) {
+            throw new IllegalArgumentException("Quantidade de trabalhadores deve ser maior que zero");
+        }
+        if (timeoutLeituraMs <= 0) {
+            throw new IllegalArgumentException("Timeout de leitura deve ser maior que zero");
+        }
+
+        this.quantidadeTrabalhadores = quantidadeTrabalhadores;
+        this.timeoutLeituraMs = timeoutLeituraMs;
+        this.comando = montarComando(argumentosJvm);
+        this.filtroQualidade = filtroQualidade;
+        this.cacheRegioes = cacheRegioes;
+        this.trabalhadoresLivres = new ArrayBlockingQueue<>(quantidadeTrabalhadores);
+        this.geradorIdPedido = new AtomicLong(0);
+        this.leituras = new AtomicLong(0);
+        this.reinicios = new AtomicLong(0);
+        this.repeticoes = new AtomicLong(0);
+        this.timeouts = new AtomicLong(0);
+
+        this.vigia = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "ocr-processos-vigia");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger contadorThreads = new AtomicInteger(0);
+        this.executorLote = Executors.newFixedThreadPool(quantidadeTrabalhadores, tarefa -> {
+            Thread thread = new Thread(tarefa, "ocr-processos-lote-" + contadorThreads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        for (int i = 0; i < quantidadeTrabalhadores; i++) {
+            trabalhadoresLivres.add(iniciarTrabalhador());
+        }
+    }
+
+    @Override
+    public double lerConsumo(String caminhoImagem) throws ErroDeLeituraImagemException {
+        return reconhecer(caminhoImagem).getValor();
+    }
+
+    /**
+     * Lê em um trabalhador, repassando a confiança média do Tesseract.
+     */
+    @Override
+    public ResultadoReconhecimento reconhecer(String caminhoImagem) throws ErroDeLeituraImagemException {
+        if (caminhoImagem == null || caminhoImagem.trim().isEmpty()) {
+            throw new ErroDeLeituraImagemException("Caminho da imagem não pode ser nulo ou vazio");
+        }
+        // Trabalhadores não compartilham o diretório de trabalho garantidamente
+        String caminhoAbsoluto = new File(caminhoImagem).getAbsolutePath();
+
+        IOException ultimaFalha = null;
+        for (int tentativa = 1; tentativa <= MAX_TENTATIVAS; tentativa++) {
+            if (tentativa > 1) {
+                repeticoes.incrementAndGet();
+            }
+            Trabalhador trabalhador = obterTrabalhador();
+            boolean saudavel = false;
+            try {
+                ResultadoReconhecimento resultado = trabalhador.ler(caminhoAbsoluto);
+                saudavel = true;
+                leituras.incrementAndGet();
+                return resultado;
+            } catch (ErroDeLeituraImagemException e) {
+                // Erro de leitura reportado pelo trabalhador: processo continua saudável
+                saudavel = true;
+                throw e;
+            } catch (TimeoutTrabalhadorException e) {
+                // Trabalhador vivo travado nesta imagem: reiniciado, sem repetir em outro
+                throw new ErroDeLeituraImagemException(e.getMessage() + ": " + caminhoImagem, e);
+            } catch (IOException e) {
+                ultimaFalha = e;
+                System.err.println("⚠️  Trabalhador OCR falhou (tentativa " + tentativa + "/" +
+                    MAX_TENTATIVAS + "): " + e.getMessage());
+            } finally {
+                devolverTrabalhador(trabalhador, saudavel);
+            }
+        }
+
+        throw new ErroDeLeituraImagemException(
+            "Leitura falhou em " + MAX_TENTATIVAS + " trabalhadores OCR: " + caminhoImagem, ultimaFalha
+        );
+    }
+
+    /**
+     * Distribui o lote entre os trabalhadores (um pedido por processo livre).
+     */
+    @Override
+    public List<ResultadoLeitura> lerConsumoLote(List<String> caminhosImagens) {
+        if (caminhosImagens.size() <= 1) {
+            return LeitorComConfianca.super.lerConsumoLote(caminhosImagens);
+        }
+
+        List<Future<Double>> futuros = new ArrayList<>(caminhosImagens.size());
+        for (String caminho : caminhosImagens) {
+            try {
+                futuros.add(executorLote.submit(() -> lerConsumo(caminho)));
+            } catch (RejectedExecutionException e) {
+                futuros.add(null);
+            }
+        }
+
+        List<ResultadoLeitura> resultados = new ArrayList<>(caminhosImagens.size());
+        for (int i = 0; i < caminhosImagens.size(); i++) {
+            String caminho = caminhosImagens.get(i);
+            Future<Double> futuro = futuros.get(i);
+            if (futuro == null) {
+                resultados.add(ResultadoLeitura.falha(caminho,
+                    new ErroDeLeituraImagemException("Trabalhadores OCR já foram encerrados")));
+                continue;
+            }
+            try {
+                resultados.add(ResultadoLeitura.sucesso(caminho, futuro.get()));
+            } catch (ExecutionException e) {
+                Throwable causa = e.getCause();
+                resultados.add(ResultadoLeitura.falha(caminho, causa instanceof ErroDeLeituraImagemException
+                    ? (ErroDeLeituraImagemException) causa
+                    : new ErroDeLeituraImagemException("Erro inesperado na leitura: " + caminho, causa)));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futuro.cancel(true);
+                resultados.add(ResultadoLeitura.falha(caminho,
+                    new ErroDeLeituraImagemException("Leitura em lote interrompida: " + caminho, e)));
+            }
+        }
+        return resultados;
+    }
+
+    // ========================================================================
+    // CICLO DE VIDA DOS TRABALHADORES
+    // ========================================================================
+
+    private Trabalhador obterTrabalhador() throws ErroDeLeituraImagemException {
+        if (encerrado) {
+            throw new ErroDeLeituraImagemException("Trabalhadores OCR já foram encerrados");
+        }
+        try {
+            Trabalhador trabalhador = trabalhadoresLivres.poll(timeoutLeituraMs, TimeUnit.MILLISECONDS);
+            if (trabalhador == null) {
+                throw new CapacidadeEsgotadaException(
+                    "Nenhum trabalhador OCR livre em " + timeoutLeituraMs + "ms"
+                );
+            }
+            return trabalhador;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ErroDeLeituraImagemException("Leitura interrompida aguardando trabalhador OCR", e);
+        }
+    }
+
+    /**
+     * Devolve o trabalhador; se ele falhou, encerra o processo e coloca um novo no lugar.
+     */
+    private void devolverTrabalhador(Trabalhador trabalhador, boolean saudavel) {
+        Trabalhador devolvido = trabalhador;
+        if (!saudavel && !encerrado) {
+            trabalhador.encerrar();
+            try {
+                devolvido = iniciarTrabalhador();
+                reinicios.incrementAndGet();
+            } catch (IllegalStateException e) {
+                System.err.println("❌ Não foi possível reiniciar trabalhador OCR: " + e.getMessage());
+                // Mantém o processo morto na fila: a próxima leitura tenta reiniciá-lo de novo
+            }
+        }
+        trabalhadoresLivres.offer(devolvido);
+        if (encerrado) {
+            close();
+        }
+    }
+
+    private Trabalhador iniciarTrabalhador() {
+        try {
+            ProcessBuilder builder = new ProcessBuilder(comando);
+            builder.redirectError(ProcessBuilder.Redirect.INHERIT);
+            return new Trabalhador(builder.start());
+        } catch (IOException e) {
+            throw new IllegalStateException("Falha ao iniciar trabalhador OCR: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Linha de pedido: id, caminho, limiares do filtro e região do SHA em cache.
+     */
+    private String montarPedido(String id, String caminhoImagem, int idSHA) {
+        String limiares = filtroQualidade != null
+            ? TrabalhadorOCR.serializarLimiares(filtroQualidade)
+            : FiltroQualidadeImagem.NITIDEZ_MINIMA_PADRAO + TrabalhadorOCR.SEPARADOR_CAMPOS +
+              FiltroQualidadeImagem.FRACAO_EXPOSICAO_MAXIMA_PADRAO + TrabalhadorOCR.SEPARADOR_CAMPOS +
+              FiltroQualidadeImagem.DENSIDADE_BORDAS_MINIMA_PADRAO + TrabalhadorOCR.SEPARADOR_CAMPOS +
+              FiltroQualidadeImagem.DENSIDADE_BORDAS_MAXIMA_PADRAO;
+        String regiao = cacheRegioes != null && idSHA > 0
+            ? TrabalhadorOCR.serializarRegiao(cacheRegioes.obter(idSHA))
+            : TrabalhadorOCR.VAZIO;
+        return id + TrabalhadorOCR.SEPARADOR + caminhoImagem + TrabalhadorOCR.SEPARADOR +
+               limiares + TrabalhadorOCR.SEPARADOR + regiao;
+    }
+
+    /**
+     * java [argumentos] -cp <classpath do painel> subsistemas.monitoramento.TrabalhadorOCR
+     */
+    private static List<String> montarComando(List<String> argumentosJvm) {
+        String java = ProcessHandle.current().info().command()
+            .orElse(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        List<String> comando = new ArrayList<>();
+        comando.add(java);
+        if (argumentosJvm != null) {
+            comando.addAll(argumentosJvm);
+        }
+        comando.add("-cp");
+        comando.add(System.getProperty("java.class.path"));
+        comando.add(TrabalhadorOCR.class.getName());
+        return comando;
+    }
+
+    /**
+     * Encerra todos os trabalhadores livres; os ocupados são encerrados ao serem devolvidos.
+     */
+    @Override
+    public void close() {
+        encerrado = true;
+        executorLote.shutdown();
+        vigia.shutdownNow();
+        Trabalhador trabalhador;
+        while ((trabalhador = trabalhadoresLivres.poll()) != null) {
+            trabalhador.encerrar();
+        }
+    }
+
+    // ========================================================================
+    // MÉTRICAS
+    // ========================================================================
+
+    public int getQuantidadeTrabalhadores() {
+        return quantidadeTrabalhadores;
+    }
+
+    public long getLeituras() {
+        return leituras.get();
+    }
+
+    public long getReinicios() {
+        return reinicios.get();
+    }
+
+    public long getRepeticoes() {
+        return repeticoes.get();
+    }
+
+    public long getTimeouts() {
+        return timeouts.get();
+    }
+
+    public String getEstatisticas() {
+        return String.format(
+            "OCR em processos: %d trabalhadores, %d leituras, %d reinícios, %d repetições, %d timeouts",
+            quantidadeTrabalhadores, getLeituras(), getReinicios(), getRepeticoes(), getTimeouts()
+        );
+    }
+
+    // ========================================================================
+    // CLASSE INTERNA: TRABALHADOR
+    // ========================================================================
+
+    /**
+     * Um processo TrabalhadorOCR e seus canais de comunicação.
+     * Usado por uma thread de cada vez (emprestado da fila).
+     */
+    private final class Trabalhador {
+        private final Process processo;
+        private final BufferedWriter pedidos;
+        private final BufferedReader respostas;
+
+        Trabalhador(Process processo) {
+            this.processo = processo;
+            this.pedidos = new BufferedWriter(
+                new OutputStreamWriter(processo.getOutputStream(), StandardCharsets.UTF_8)
+            );
+            this.respostas = new BufferedReader(
+                new InputStreamReader(processo.getInputStream(), StandardCharsets.UTF_8)
+            );
+        }
+
+        /**
+         * Envia um pedido e aguarda a resposta. Se o prazo estourar, o vigia
+         * mata o processo, o que encerra a espera com EOF.
+         *
+         * @throws IOException Se o processo morreu ou não respondeu no prazo
+         * @throws ErroDeLeituraImagemException Se o trabalhador reportou erro de leitura
+         */
+        ResultadoReconhecimento ler(String caminhoImagem) throws IOException, ErroDeLeituraImagemException {
+            if (!processo.isAlive()) {
+                throw new IOException("Trabalhador OCR não está em execução");
+            }
+            String id = Long.toString(geradorIdPedido.incrementAndGet());
+            int idSHA = ConvencaoImagemSHA.extrairIdSHA(caminhoImagem);
+
+            AtomicInteger estourou = new AtomicInteger(0);
+            ScheduledFuture<?> prazo = vigia.schedule(() -> {
+                estourou.set(1);
+                processo.destroyForcibly();
+            }, timeoutLeituraMs, TimeUnit.MILLISECONDS);
+
+            try {
+                pedidos.write(montarPedido(id, caminhoImagem, idSHA));
+                pedidos.newLine();
+                pedidos.flush();
+
+                String linha;
+                while ((linha = respostas.readLine()) != null) {
+                    String[] campos = linha.split(TrabalhadorOCR.SEPARADOR, -1);
+                    if (campos.length >= 3 && campos[0].equals(id)) {
+                        return interpretarResposta(campos, caminhoImagem, idSHA);
+                    }
+                    // Resposta de pedido anterior (já abandonado): ignora
+                }
+            } finally {
+                prazo.cancel(false);
+            }
+
+            if (estourou.get() == 1) {
+                timeouts.incrementAndGet();
+                throw new TimeoutTrabalhadorException("Trabalhador OCR não respondeu em " + timeoutLeituraMs + "ms");
+            }
+            throw new IOException("Trabalhador OCR encerrou inesperadamente (código " +
+                                  codigoSaida() + ")");
+        }
+
+        private ResultadoReconhecimento interpretarResposta(String[] campos, String caminhoImagem, int idSHA)
+                throws ErroDeLeituraImagemException {
+            if (TrabalhadorOCR.OK.equals(campos[1]) && campos.length == 5) {
+                ResultadoReconhecimento resultado;
+                RegiaoVisor regiao;
+                try {
+                    resultado = new ResultadoReconhecimento(Double.parseDouble(campos[2]),
+                        Double.parseDouble(campos[3]), null, MOTOR);
+                    regiao = TrabalhadorOCR.lerRegiao(campos[4], idSHA);
+                } catch (IllegalArgumentException e) {
+                    throw new ErroDeLeituraImagemException(
+                        "Resposta inválida do trabalhador OCR para " + caminhoImagem + ": " + String.join(" ", campos)
+                    );
+                }
+                contarFiltro(idSHA, null);
+                if (regiao != null && cacheRegioes != null) {
+                    // Região redetectada no trabalhador: persistida para todos os trabalhadores
+                    cacheRegioes.registrar(regiao);
+                }
+                return resultado;
+            }
+            if (campos[1].startsWith(TrabalhadorOCR.REJEITADA)) {
+                ImagemRejeitadaException.Motivo motivo = ImagemRejeitadaException.Motivo.valueOf(
+                    campos[1].substring(TrabalhadorOCR.REJEITADA.length())
+                );
+                contarFiltro(idSHA, motivo);
+                throw new ImagemRejeitadaException(campos[2], motivo);
+            }
+            if (TrabalhadorOCR.ERRO.equals(campos[1]) && campos.length == 4) {
+                if (TrabalhadorOCR.APROVADA.equals(campos[2])) {
+                    contarFiltro(idSHA, null);
+                }
+                throw new ErroDeLeituraImagemException(campos[3]);
+            }
+            throw new ErroDeLeituraImagemException(
+                "Resposta inválida do trabalhador OCR para " + caminhoImagem + ": " + String.join(" ", campos)
+            );
+        }
+
+        /**
+         * Conta no filtro do painel o desfecho do filtro do trabalhador (motivo null = aprovado).
+         */
+        private void contarFiltro(int idSHA, ImagemRejeitadaException.Motivo motivo) {
+            if (filtroQualidade == null) {
+                return;
+            }
+            if (motivo == null) {
+                filtroQualidade.registrarAprovado(idSHA);
+            } else {
+                filtroQualidade.registrarRejeitado(idSHA, motivo);
+            }
+        }
+
+        private String codigoSaida() {
+            try {
+                return processo.waitFor(1, TimeUnit.SECONDS) ? String.valueOf(processo.exitValue()) : "?";
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return "?";
+            }
+        }
+
+        void encerrar() {
+            try {
+                pedidos.close(); // EOF: o trabalhador termina sozinho
+            } catch (IOException e) {
+                // Processo já morreu
+            }
+            processo.destroy();
+        }
+    }
+
+    /**
+     * Trabalhador vivo que não respondeu no prazo (processo reiniciado).
+     */
+    private static final class TimeoutTrabalhadorException extends IOException {
+        TimeoutTrabalhadorException(String mensagem) {
+            super(mensagem);
+        }
+    }
+}
@@ -0,0 +1,532 @@
+package subsistemas.monitoramento;
+
+import excecoes.ErroDeLeituraImagemException;
+import excecoes.ImagemRejeitadaException;
+import modelo.RegiaoVisor;
+import org.opencv.core.Core;
+import org.opencv.core.Mat;
+import org.opencv.core.Rect;
+import org.opencv.core.Size;
+import org.opencv.imgcodecs.Imgcodecs;
+import org.opencv.imgproc.Imgproc;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reconhecimento do odômetro por comparação com modelos de dígitos (templates).
+ *
+ * O odômetro do hidrômetro tem fonte fixa e quantidade fixa de dígitos: o
+ * OCR LSTM é desnecessário na maioria das leituras. Este leitor:
+ * 1. Obtém a faixa binarizada do visor (PreProcessadorImagem + região em cache)
+ * 2. Divide a faixa em N células iguais (uma por dígito)
+ * 3. Compara cada célula com os modelos 0-9 do SHA (matchTemplate, TM_CCOEFF_NORMED)
+ * 4. O dígito é o modelo de maior correlação; a correlação é a confiança do dígito
+ * 5. Se algum dígito ficar abaixo do limiar (ou não houver modelos), delega
+ *    ao leitor OCR de fallback
+ *
+ * Modelos de dígitos (faixa binarizada, dígitos escuros sobre fundo claro):
+ * - templates/<idSHA>/0.png ... 9.png (por SHA)
+ * - templates/padrao/0.png ... 9.png (usados quando o SHA não tem os seus)
+ * Podem ser gerados com calibrar(), a partir de uma imagem de leitura conhecida,
+ * ou aprendidos sozinhos com aprenderComLeitura(), a partir de leituras que o
+ * OCR confirmou com confiança (cada leitura nova cobre mais dígitos).
+ *
+ * Confiança baixa em leituras seguidas de um SHA indica que a região do visor
+ * em cache não bate mais com o quadro: a região é invalidada e redetectada.
+ *
+ * @pattern Bridge (Implementação Concreta)
+ * @author Pedro Henrique
+ * @date 2026-10-16
+ */
+public class LeitorTemplateDigitosImpl implements LeitorComConfianca {
+
+    public static final String DIRETORIO_TEMPLATES_PADRAO = "templates";
+    public static final int QUANTIDADE_DIGITOS_PADRAO = 6;
+    public static final double LIMIAR_CONFIANCA_PADRAO = 0.70;
+
+    /**
+     * Leituras seguidas com confiança baixa que invalidam a região do visor.
+     */
+    public static final int LIMITE_CONFIANCA_BAIXA_SEGUIDA = 3;
+
+    private static final String MOTOR = "template";
+    private static final String PASTA_PADRAO = "padrao";
+
+    /**
+     * Marcador de "SHA sem modelos" (evita ir ao disco a cada leitura).
+     */
+    private static final Mat[] SEM_TEMPLATES = new Mat[0];
+
+    private static final ThreadLocal<Buffers> BUFFERS = ThreadLocal.withInitial(Buffers::new);
+
+    private final PreProcessadorImagem preProcessador;
+    private final CacheRegioesVisor cacheRegioes;
+    private final LeitorImplementador fallback;
+    private final String diretorioTemplates;
+    private final int quantidadeDigitos;
+    private volatile double limiarConfianca;
+
+    /**
+     * Modelos 0-9 por SHA (SEM_TEMPLATES quando não houver).
+     */
+    private final Map<Integer, Mat[]> templates;
+
+    /**
+     * SHAs com modelos próprios completos (0-9) carregados.
+     */
+    private final Set<Integer> shasComModelosProprios;
+
+    /**
+     * Dígitos da última calibração de cada SHA (não regrava a mesma leitura).
+     */
+    private final Map<Integer, String> ultimaCalibracao;
+
+    /**
+     * Leituras seguidas com confiança baixa, por SHA.
+     */
+    private final Map<Integer, AtomicInteger> confiancaBaixaSeguida;
+
+    // Métricas
+    private final AtomicLong leiturasPorTemplate;
+    private final AtomicLong leiturasPorFallback;
+    private final AtomicLong fallbacksConfiancaBaixa;
+    private final AtomicLong calibracoesAutomaticas;
+    private final AtomicLong regioesInvalidadas;
+
+    /**
+     * Construtor com os parâmetros padrão (6 dígitos, limiar 0.70, diretório "templates").
+     *
+     * @param preProcessador Pré-processador que extrai a faixa do visor
+     * @param cacheRegioes Cache de regiões do visor (null para detectar sempre)
+     * @param fallback Leitor OCR usado quando a confiança é baixa
+     */
+    public LeitorTemplateDigitosImpl(PreProcessadorImagem preProcessador, CacheRegioesVisor cacheRegioes,
+                                     LeitorImplementador fallback) {
+        this(preProcessador, cacheRegioes, fallback, DIRETORIO_TEMPLATES_PADRAO,
+             QUANTIDADE_DIGITOS_PADRAO, LIMIAR_CONFIANCA_PADRAO);
+    }
+
+    /**
+     * Construtor completo.
+     *
+     * @param preProcessador Pré-processador que extrai a faixa do visor
+     * @param cacheRegioes Cache de regiões do visor (null para detectar sempre)
+     * @param fallback Leitor OCR usado quando a confiança é baixa (null = falha)
+     * @param diretorioTemplates Diretório raiz dos modelos
+     * @param quantidadeDigitos Dígitos do odômetro
+     * @param limiarConfianca Confiança mínima (0.0 a 1.0) de cada dígito
+     */
+    public LeitorTemplateDigitosImpl(PreProcessadorImagem preProcessador, CacheRegioesVisor cacheRegioes,
+                                     LeitorImplementador fallback, String diretorioTemplates,
+                                     int quantidadeDigitos, double limiarConfianca) {
+        if (preProcessador == null) {
+            throw new IllegalArgumentException("PreProcessadorImagem não pode ser nulo");
+        }
+        if (diretorioTemplates == null || diretorioTemplates.trim().isEmpty()) {
+            throw new IllegalArgumentException("Diretório de templates não pode ser vazio");
+        }
+        if (quantidadeDigitos <= 0) {
+            throw new IllegalArgumentException("Quantidade de dígitos deve ser maior que zero");
+        }
+        this.preProcessador = preProcessador;
+        this.cacheRegioes = cacheRegioes;
+        this.fallback = fallback;
+        this.diretorioTemplates = diretorioTemplates;
+        this.quantidadeDigitos = quantidadeDigitos;
+        setLimiarConfianca(limiarConfianca);
+        this.templates = new ConcurrentHashMap<>();
+        this.shasComModelosProprios = ConcurrentHashMap.newKeySet();
+        this.ultimaCalibracao = new ConcurrentHashMap<>();
+        this.confiancaBaixaSeguida = new ConcurrentHashMap<>();
+        this.leiturasPorTemplate = new AtomicLong(0);
+        this.leiturasPorFallback = new AtomicLong(0);
+        this.fallbacksConfiancaBaixa = new AtomicLong(0);
+        this.calibracoesAutomaticas = new AtomicLong(0);
+        this.regioesInvalidadas = new AtomicLong(0);
+    }
+
+    @Override
+    public ResultadoReconhecimento reconhecer(String caminhoImagem) throws ErroDeLeituraImagemException {
+        ResultadoReconhecimento porTemplate = reconhecerPorTemplate(caminhoImagem);
+        if (porTemplate != null) {
+            return porTemplate;
+        }
+        return reconhecerPorFallback(caminhoImagem);
+    }
+
+    /**
+     * Classifica por template o que for possível e envia ao fallback, em um
+     * único lote, apenas as imagens de confiança baixa (mantém o paralelismo do pool).
+     */
+    @Override
+    public List<ResultadoLeitura> lerConsumoLote(List<String> caminhosImagens) {
+        ResultadoLeitura[] resultados = new ResultadoLeitura[caminhosImagens.size()];
+        List<String> pendentes = new ArrayList<>();
+        List<Integer> posicoesPendentes = new ArrayList<>();
+
+        for (int i = 0; i < caminhosImagens.size(); i++) {
+            String caminho = caminhosImagens.get(i);
+            try {
+                ResultadoReconhecimento resultado = reconhecerPorTemplate(caminho);
+                if (resultado != null) {
+                    resultados[i] = ResultadoLeitura.sucesso(caminho, resultado.getValor());
+                    continue;
+                }
+            } catch (ErroDeLeituraImagemException e) {
+                resultados[i] = ResultadoLeitura.falha(caminho, e);
+                continue;
+            }
+            pendentes.add(caminho);
+            posicoesPendentes.add(i);
+        }
+
+        if (!pendentes.isEmpty()) {
+            if (fallback == null) {
+                for (int j = 0; j < pendentes.size(); j++) {
+                    resultados[posicoesPendentes.get(j)] = ResultadoLeitura.falha(pendentes.get(j),
+                        new ErroDeLeituraImagemException("Confiança baixa e sem leitor de fallback: " + pendentes.get(j)));
+                }
+            } else {
+                leiturasPorFallback.addAndGet(pendentes.size());
+                List<ResultadoLeitura> lidos = fallback.lerConsumoLote(pendentes);
+                for (int j = 0; j < lidos.size(); j++) {
+                    resultados[posicoesPendentes.get(j)] = lidos.get(j);
+                }
+            }
+        }
+
+        return Arrays.asList(resultados);
+    }
+
+    // ========================================================================
+    // RECONHECIMENTO
+    // ========================================================================
+
+    /**
+     * @return Resultado por template, ou null se for preciso usar o fallback
+     */
+    private ResultadoReconhecimento reconhecerPorTemplate(String caminhoImagem) throws ErroDeLeituraImagemException {
+        int idSHA = ConvencaoImagemSHA.extrairIdSHA(caminhoImagem);
+        Mat[] modelos = obterTemplates(idSHA);
+        if (modelos == SEM_TEMPLATES) {
+            return null;
+        }
+
+        Mat faixa = extrairFaixa(caminhoImagem, idSHA);
+        Buffers b = BUFFERS.get();
+        double[] confiancas = new double[quantidadeDigitos];
+        StringBuilder digitos = new StringBuilder(quantidadeDigitos);
+        double confiancaMinima = 1.0;
+
+        int larguraCelula = faixa.cols() / quantidadeDigitos;
+        if (larguraCelula == 0 || faixa.rows() == 0) {
+            return null;
+        }
+        Size tamanhoModelo = modelos[0].size();
+
+        for (int i = 0; i < quantidadeDigitos; i++) {
+            Mat celula = faixa.submat(new Rect(i * larguraCelula, 0, larguraCelula, faixa.rows()));
+            Imgproc.resize(celula, b.celula, tamanhoModelo, 0, 0, Imgproc.INTER_AREA);
+            celula.release();
+
+            int melhorDigito = 0;
+            double melhorCorrelacao = -1.0;
+            for (int d = 0; d < 10; d++) {
+                Imgproc.matchTemplate(b.celula, modelos[d], b.resultado, Imgproc.TM_CCOEFF_NORMED);
+                double correlacao = Core.minMaxLoc(b.resultado).maxVal;
+                if (correlacao > melhorCorrelacao) {
+                    melhorCorrelacao = correlacao;
+                    melhorDigito = d;
+                }
+            }
+
+            confiancas[i] = Math.max(0.0, Math.min(1.0, melhorCorrelacao));
+            confiancaMinima = Math.min(confiancaMinima, confiancas[i]);
+            digitos.append(melhorDigito);
+        }
+
+        if (confiancaMinima < limiarConfianca) {
+            fallbacksConfiancaBaixa.incrementAndGet();
+            registrarConfiancaBaixa(idSHA);
+            return null;
+        }
+
+        confiancaBaixaSeguida.remove(idSHA);
+        leiturasPorTemplate.incrementAndGet();
+        double valor = LeitorOCRImpl.interpretarTexto(digitos.toString(), caminhoImagem);
+        return new ResultadoReconhecimento(valor, confiancaMinima, confiancas, MOTOR);
+    }
+
+    /**
+     * Conta uma leitura com confiança baixa; na LIMITE_CONFIANCA_BAIXA_SEGUIDA-ésima
+     * seguida, invalida a região do visor em cache (redetectada na próxima leitura).
+     */
+    private void registrarConfiancaBaixa(int idSHA) {
+        if (idSHA <= 0) {
+            return;
+        }
+        int seguidas = confiancaBaixaSeguida.computeIfAbsent(idSHA, id -> new AtomicInteger()).incrementAndGet();
+        if (seguidas >= LIMITE_CONFIANCA_BAIXA_SEGUIDA && cacheRegioes != null) {
+            confiancaBaixaSeguida.remove(idSHA);
+            cacheRegioes.invalidar(idSHA);
+            regioesInvalidadas.incrementAndGet();
+        }
+    }
+
+    private ResultadoReconhecimento reconhecerPorFallback(String caminhoImagem) throws ErroDeLeituraImagemException {
+        if (fallback == null) {
+            throw new ErroDeLeituraImagemException(
+                "Confiança baixa e sem leitor de fallback: " + caminhoImagem
+            );
+        }
+        leiturasPorFallback.incrementAndGet();
+        if (fallback instanceof LeitorComConfianca) {
+            return ((LeitorComConfianca) fallback).reconhecer(caminhoImagem);
+        }
+        return ResultadoReconhecimento.semConfianca(
+            fallback.lerConsumo(caminhoImagem), fallback.getClass().getSimpleName()
+        );
+    }
+
+    /**
+     * Faixa binarizada do visor, reaproveitando a região em cache quando houver.
+     */
+    private Mat extrairFaixa(String caminhoImagem, int idSHA) throws ErroDeLeituraImagemException {
+        if (cacheRegioes != null && idSHA > 0) {
+            RegiaoVisor regiao = cacheRegioes.obter(idSHA);
+            if (regiao == null) {
+                regiao = preProcessador.detectarRegiao(caminhoImagem, idSHA);
+                cacheRegioes.registrar(regiao);
+            }
+            try {
+                Mat faixa = preProcessador.extrairFaixa(caminhoImagem, regiao);
+                if (faixa != null) {
+                    return faixa;
+                }
+            } catch (ImagemRejeitadaException e) {
+                // Sem dígitos na região em cache: a câmera pode ter mudado, redetecta
+                if (e.getMotivo() != ImagemRejeitadaException.Motivo.SEM_DIGITOS) {
+                    throw e;
+                }
+            }
+        }
+        return preProcessador.extrairFaixa(caminhoImagem);
+    }
+
+    // ========================================================================
+    // MODELOS DE DÍGITOS
+    // ========================================================================
+
+    /**
+     * Modelos do SHA (ou os padrão), carregados uma vez e mantidos em memória.
+     */
+    private Mat[] obterTemplates(int idSHA) {
+        return templates.computeIfAbsent(idSHA, id -> {
+            Mat[] doSHA = id > 0 ? carregarTemplates(new File(diretorioTemplates, String.valueOf(id))) : null;
+            if (doSHA != null) {
+                shasComModelosProprios.add(id);
+                return doSHA;
+            }
+            shasComModelosProprios.remove(id);
+            Mat[] padrao = carregarTemplates(new File(diretorioTemplates, PASTA_PADRAO));
+            return padrao != null ? padrao : SEM_TEMPLATES;
+        });
+    }
+
+    /**
+     * Carrega 0.png a 9.png de um diretório, no tamanho do modelo "0".
+     *
+     * @return Modelos, ou null se faltar algum
+     */
+    private static Mat[] carregarTemplates(File pasta) {
+        if (!pasta.isDirectory()) {
+            return null;
+        }
+        Mat[] modelos = new Mat[10];
+        for (int d = 0; d < 10; d++) {
+            File arquivo = new File(pasta, d + ".png");
+            Mat modelo = arquivo.isFile()
+                ? Imgcodecs.imread(arquivo.getPath(), Imgcodecs.IMREAD_GRAYSCALE)
+                : new Mat();
+            if (modelo.empty()) {
+                for (int i = 0; i < d; i++) {
+                    modelos[i].release();
+                }
+                return null;
+            }
+            if (d > 0 && !modelo.size().equals(modelos[0].size())) {
+                Imgproc.resize(modelo, modelo, modelos[0].size(), 0, 0, Imgproc.INTER_AREA);
+            }
+            modelos[d] = modelo;
+        }
+        return modelos;
+    }
+
+    /**
+     * Gera os modelos de um SHA a partir de uma imagem cuja leitura é conhecida.
+     * Cada célula vira o modelo do dígito correspondente (dígitos já existentes
+     * são sobrescritos). Pode ser repetido com outras leituras até cobrir 0-9.
+     *
+     * @param caminhoImagem Imagem do hidrômetro
+     * @param idSHA ID do SHA
+     * @param leituraConhecida Dígitos exibidos no odômetro (ex.: "000123")
+     * @throws ErroDeLeituraImagemException Se a imagem não puder ser processada
+     */
+    public void calibrar(String caminhoImagem, int idSHA, String leituraConhecida)
+            throws ErroDeLeituraImagemException {
+        if (idSHA <= 0) {
+            throw new IllegalArgumentException("ID do SHA deve ser maior que zero");
+        }
+        if (leituraConhecida == null || leituraConhecida.length() != quantidadeDigitos
+                || !leituraConhecida.chars().allMatch(Character::isDigit)) {
+            throw new IllegalArgumentException(
+                "Leitura conhecida deve ter exatamente " + quantidadeDigitos + " dígitos"
+            );
+        }
+
+        Mat faixa = extrairFaixa(caminhoImagem, idSHA);
+        int larguraCelula = faixa.cols() / quantidadeDigitos;
+        if (larguraCelula == 0) {
+            throw new ErroDeLeituraImagemException("Faixa do visor estreita demais: " + caminhoImagem);
+        }
+
+        File pasta = new File(diretorioTemplates, String.valueOf(idSHA));
+        if (!pasta.isDirectory() && !pasta.mkdirs()) {
+            throw new ErroDeLeituraImagemException("Não foi possível criar " + pasta.getPath());
+        }
+        for (int i = 0; i < quantidadeDigitos; i++) {
+            Mat celula = faixa.submat(new Rect(i * larguraCelula, 0, larguraCelula, faixa.rows()));
+            Imgcodecs.imwrite(new File(pasta, leituraConhecida.charAt(i) + ".png").getPath(), celula);
+            celula.release();
+        }
+
+        recarregarTemplates(idSHA);
+        System.out.println("✓ Templates calibrados para SHA " + idSHA + " (" + leituraConhecida + ")");
+    }
+
+    /**
+     * Aprende modelos a partir de uma leitura confirmada por outro motor (ex.:
+     * OCR vencedor no LeitorHedgeImpl). Só calibra SHAs sem modelos próprios
+     * completos, ou cujos modelos vêm falhando; leituras repetidas não
+     * regravam os arquivos.
+     *
+     * @param caminhoImagem Imagem lida
+     * @param confirmado Resultado confiável da mesma imagem
+     * @return true se os modelos do SHA foram (re)gravados
+     */
+    public boolean aprenderComLeitura(String caminhoImagem, ResultadoReconhecimento confirmado) {
+        if (caminhoImagem == null || confirmado == null || MOTOR.equals(confirmado.getMotor())) {
+            return false;
+        }
+        int idSHA = ConvencaoImagemSHA.extrairIdSHA(caminhoImagem);
+        if (idSHA <= 0) {
+            return false;
+        }
+        if (shasComModelosProprios.contains(idSHA) && !confiancaBaixaSeguida.containsKey(idSHA)) {
+            return false;
+        }
+
+        // Só leituras inteiras que cabem no odômetro viram modelos
+        double valor = confirmado.getValor();
+        if (valor < 0 || valor != Math.rint(valor) || valor >= Math.pow(10, quantidadeDigitos)) {
+            return false;
+        }
+        String digitos = String.format("%0" + quantidadeDigitos + "d", (long) valor);
+        if (digitos.equals(ultimaCalibracao.put(idSHA, digitos))) {
+            return false;
+        }
+
+        try {
+            calibrar(caminhoImagem, idSHA, digitos);
+            calibracoesAutomaticas.incrementAndGet();
+            return true;
+        } catch (ErroDeLeituraImagemException | IllegalArgumentException e) {
+            ultimaCalibracao.remove(idSHA);
+            System.err.println("⚠️  Calibração automática de templates falhou [SHA " + idSHA + "]: " +
+                e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Descarta os modelos em memória de um SHA (relidos do disco na próxima leitura).
+     */
+    public void recarregarTemplates(int idSHA) {
+        // Os Mats anteriores podem estar em uso por outra thread: a liberação fica com o GC
+        templates.remove(idSHA);
+    }
+
+    /**
+     * Descarta todos os modelos em memória (inclui "SHA sem modelos"),
+     * ex.: após copiar novos modelos para o diretório.
+     */
+    public void recarregarTemplates() {
+        templates.clear();
+    }
+
+    // ========================================================================
+    // CONFIGURAÇÃO E MÉTRICAS
+    // ========================================================================
+
+    public void setLimiarConfianca(double limiarConfianca) {
+        if (limiarConfianca < 0.0 || limiarConfianca > 1.0) {
+            throw new IllegalArgumentException("Limiar de confiança deve estar entre 0.0 e 1.0");
+        }
+        this.limiarConfianca = limiarConfianca;
+    }
+
+    public double getLimiarConfianca() {
+        return limiarConfianca;
+    }
+
+    public int getQuantidadeDigitos() {
+        return quantidadeDigitos;
+    }
+
+    public long getLeiturasPorTemplate() {
+        return leiturasPorTemplate.get();
+    }
+
+    public long getLeiturasPorFallback() {
+        return leiturasPorFallback.get();
+    }
+
+    public long getFallbacksConfiancaBaixa() {
+        return fallbacksConfiancaBaixa.get();
+    }
+
+    public long getCalibracoesAutomaticas() {
+        return calibracoesAutomaticas.get();
+    }
+
+    public long getRegioesInvalidadas() {
+        return regioesInvalidadas.get();
+    }
+
+    public String getEstatisticas() {
+        long total = getLeiturasPorTemplate() + getLeiturasPorFallback();
+        return String.format(
+            "Templates: %d leituras por template, %d por OCR (%d por confiança baixa), %.1f%% por template, " +
+            "%d SHAs com modelos, %d calibrações automáticas, %d regiões invalidadas",
+            getLeiturasPorTemplate(), getLeiturasPorFallback(), getFallbacksConfiancaBaixa(),
+            total == 0 ? 0.0 : getLeiturasPorTemplate() * 100.0 / total,
+            shasComModelosProprios.size(), getCalibracoesAutomaticas(), getRegioesInvalidadas()
+        );
+    }
+
+    /**
+     * Mats de trabalho de uma thread.
+     */
+    private static class Buffers {
+        final Mat celula = new Mat();
+        final Mat resultado = new Mat();
+    }
+}
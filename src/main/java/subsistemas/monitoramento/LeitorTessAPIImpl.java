@@ -0,0 +1,315 @@
+package subsistemas.monitoramento;
+
+import com.sun.jna.Pointer;
+import excecoes.ErroDeLeituraImagemException;
+import excecoes.ImagemRejeitadaException;
+import modelo.RegiaoVisor;
+import net.sourceforge.tess4j.ITessAPI.TessBaseAPI;
+import net.sourceforge.tess4j.TessAPI1;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.ComponentSampleModel;
+import java.awt.image.DataBufferByte;
+import java.awt.image.WritableRaster;
+import java.io.File;
+import java.nio.ByteBuffer;
+
+/**
+ * Implementação OCR com handle nativo persistente (TessBaseAPI).
+ *
+ * Tesseract.doOCR(File) inicializa e destrói a API nativa a cada chamada,
+ * recarregando o modelo LSTM do tessdata. Aqui o handle é criado e
+ * inicializado UMA vez no construtor; cada leitura apenas envia a imagem
+ * via SetImage e executa o reconhecimento. Whitelist e PSM são configurados
+ * uma única vez e reaproveitados entre as chamadas.
+ *
+ * Opcionalmente aplica o PreProcessadorImagem (OpenCV) e reconhece apenas a
+ * faixa binarizada do visor. Com um CacheRegioesVisor, a região do visor de
+ * cada SHA é detectada uma única vez e apenas recortada nas leituras seguintes;
+ * a detecção é refeita quando a confiança do OCR (MeanTextConf) fica abaixo
+ * do limiar ou quando a geometria do quadro muda.
+ *
+ * O handle NÃO é thread-safe: use uma instância por thread
+ * (ex.: como motor do LeitorOCRPoolImpl).
+ *
+ * @pattern Bridge (Implementação Concreta)
+ * @author Pedro Henrique
+ * @date 2026-10-16
+ */
+public class LeitorTessAPIImpl implements LeitorComConfianca, AutoCloseable {
+
+    private static final String MOTOR = "tesseract";
+    private static final String MOTOR_PRE_PROCESSADO = "tesseract+opencv";
+
+    private TessBaseAPI handle;
+
+    /**
+     * Pré-processador opcional (null = OCR no quadro inteiro).
+     */
+    private final PreProcessadorImagem preProcessador;
+
+    /**
+     * Cache de regiões do visor por SHA (null = detecta a cada leitura).
+     */
+    private final CacheRegioesVisor cacheRegioes;
+
+    /**
+     * Confiança mínima (0-100) para aceitar a leitura na região em cache.
+     */
+    public static final int LIMIAR_CONFIANCA_PADRAO = 60;
+    private int limiarConfianca = LIMIAR_CONFIANCA_PADRAO;
+
+    /**
+     * Confiança média (0-100) do último reconhecimento.
+     */
+    private int ultimaConfianca;
+
+    /**
+     * Buffer direto reaproveitado entre leituras (tons de cinza, 1 byte/pixel).
+     */
+    private ByteBuffer bufferPixels;
+
+    /**
+     * Decodificação sem pré-processador (buffers reaproveitados por thread).
+     */
+    private final CarregadorImagem carregador;
+
+    /**
+     * Construtor padrão: usa o tessdata instalado via apt.
+     */
+    public LeitorTessAPIImpl() {
+        this(LeitorOCRImpl.DATAPATH_PADRAO, null, null);
+    }
+
+    /**
+     * Construtor com pré-processamento OpenCV antes do OCR.
+     *
+     * @param preProcessador Pré-processador (null para desativar)
+     */
+    public LeitorTessAPIImpl(PreProcessadorImagem preProcessador) {
+        this(LeitorOCRImpl.DATAPATH_PADRAO, preProcessador, null);
+    }
+
+    /**
+     * Construtor com pré-processamento e cache de regiões do visor por SHA.
+     *
+     * @param preProcessador Pré-processador (detecta e recorta o visor)
+     * @param cacheRegioes Cache de regiões compartilhado entre os motores
+     */
+    public LeitorTessAPIImpl(PreProcessadorImagem preProcessador, CacheRegioesVisor cacheRegioes) {
+        this(LeitorOCRImpl.DATAPATH_PADRAO, preProcessador, cacheRegioes);
+    }
+
+    /**
+     * Construtor completo.
+     *
+     * @param datapath Diretório tessdata
+     * @param preProcessador Pré-processador (null para desativar)
+     * @param cacheRegioes Cache de regiões do visor (null para desativar)
+     */
+    public LeitorTessAPIImpl(String datapath, PreProcessadorImagem preProcessador,
+                             CacheRegioesVisor cacheRegioes) {
+        if (cacheRegioes != null && preProcessador == null) {
+            throw new IllegalArgumentException(
+                "Cache de regiões exige um PreProcessadorImagem para detectar o visor"
+            );
+        }
+        this.preProcessador = preProcessador;
+        this.cacheRegioes = cacheRegioes;
+        this.carregador = preProcessador == null ? new CarregadorImagem() : null;
+        this.handle = TessAPI1.TessBaseAPICreate();
+        if (TessAPI1.TessBaseAPIInit2(handle, datapath, LeitorOCRImpl.IDIOMA, LeitorOCRImpl.OEM_LSTM) != 0) {
+            TessAPI1.TessBaseAPIDelete(handle);
+            this.handle = null;
+            throw new IllegalStateException("Falha ao inicializar Tesseract com tessdata: " + datapath);
+        }
+        TessAPI1.TessBaseAPISetPageSegMode(handle, LeitorOCRImpl.PSM_LINHA_UNICA);
+        TessAPI1.TessBaseAPISetVariable(handle, "tessedit_char_whitelist", LeitorOCRImpl.WHITELIST_DIGITOS);
+    }
+
+    @Override
+    public synchronized double lerConsumo(String caminhoImagem) throws ErroDeLeituraImagemException {
+        if (caminhoImagem == null || caminhoImagem.trim().isEmpty()) {
+            throw new ErroDeLeituraImagemException("Caminho da imagem não pode ser nulo ou vazio");
+        }
+        if (handle == null) {
+            throw new ErroDeLeituraImagemException("Leitor OCR já foi encerrado");
+        }
+
+        File arquivo = new File(caminhoImagem);
+        if (!arquivo.exists() || !arquivo.isFile() || !arquivo.canRead()) {
+            throw new ErroDeLeituraImagemException(
+                "Arquivo de imagem inválido ou sem permissão de leitura: " + arquivo.getAbsolutePath()
+            );
+        }
+
+        int idSHA = ConvencaoImagemSHA.extrairIdSHA(caminhoImagem);
+        if (cacheRegioes != null && idSHA > 0) {
+            return lerComRegiaoCacheada(caminhoImagem, idSHA, arquivo.getAbsolutePath());
+        }
+
+        if (preProcessador != null) {
+            BufferedImage faixa = preProcessador.processar(caminhoImagem);
+            return LeitorOCRImpl.interpretarTexto(reconhecer(faixa), arquivo.getAbsolutePath());
+        }
+
+        // Quadro inteiro, decodificado direto em cinza no buffer da thread
+        BufferedImage imagem = carregador.carregarImagemEmCinza(caminhoImagem, null, 1);
+        return LeitorOCRImpl.interpretarTexto(reconhecer(imagem), arquivo.getAbsolutePath());
+    }
+
+    /**
+     * Lê o consumo e devolve a confiança média do Tesseract (MeanTextConf / 100).
+     */
+    @Override
+    public synchronized ResultadoReconhecimento reconhecer(String caminhoImagem)
+            throws ErroDeLeituraImagemException {
+        double valor = lerConsumo(caminhoImagem);
+        return new ResultadoReconhecimento(valor, ultimaConfianca / 100.0, null,
+                                           preProcessador != null ? MOTOR_PRE_PROCESSADO : MOTOR);
+    }
+
+    /**
+     * Lê usando a região do visor em cache; redetecta a região quando ela
+     * não existe, o quadro mudou de geometria ou a confiança ficou baixa.
+     */
+    private double lerComRegiaoCacheada(String caminhoImagem, int idSHA, String origem)
+            throws ErroDeLeituraImagemException {
+        RegiaoVisor regiao = cacheRegioes.obter(idSHA);
+        BufferedImage faixa = null;
+        if (regiao != null) {
+            try {
+                faixa = preProcessador.processarRegiao(caminhoImagem, regiao);
+            } catch (ImagemRejeitadaException e) {
+                // Sem dígitos na região em cache: a câmera pode ter mudado, redetecta
+                if (e.getMotivo() != ImagemRejeitadaException.Motivo.SEM_DIGITOS) {
+                    throw e;
+                }
+            }
+        }
+
+        if (faixa != null) {
+            String texto = reconhecer(faixa);
+            if (ultimaConfianca >= limiarConfianca) {
+                try {
+                    return LeitorOCRImpl.interpretarTexto(texto, origem);
+                } catch (ErroDeLeituraImagemException e) {
+                    // Texto sem números: trata como região inválida e redetecta
+                }
+            }
+        }
+
+        regiao = preProcessador.detectarRegiao(caminhoImagem, idSHA);
+        cacheRegioes.registrar(regiao);
+        faixa = preProcessador.processarRegiao(caminhoImagem, regiao);
+        return LeitorOCRImpl.interpretarTexto(reconhecer(faixa), origem);
+    }
+
+    /**
+     * Envia a imagem ao handle persistente e retorna o texto reconhecido.
+     * A confiança média fica disponível em getUltimaConfianca().
+     */
+    private String reconhecer(BufferedImage imagem) {
+        BufferedImage cinza = converterParaCinza(imagem);
+        int largura = cinza.getWidth();
+        int altura = cinza.getHeight();
+
+        ByteBuffer buffer = obterBuffer(largura * altura);
+        copiarPixels(cinza.getRaster(), largura, altura, buffer);
+        buffer.flip();
+
+        TessAPI1.TessBaseAPISetImage(handle, buffer, largura, altura, 1, largura);
+        Pointer texto = TessAPI1.TessBaseAPIGetUTF8Text(handle);
+        ultimaConfianca = TessAPI1.TessBaseAPIMeanTextConf(handle);
+        try {
+            return texto != null ? texto.getString(0) : null;
+        } finally {
+            if (texto != null) {
+                TessAPI1.TessDeleteText(texto);
+            }
+            // Libera resultados da página, mantendo o modelo carregado
+            TessAPI1.TessBaseAPIClear(handle);
+        }
+    }
+
+    /**
+     * Copia o raster para o buffer em linhas contíguas (1 byte/pixel).
+     * Respeita o scanline stride e o deslocamento do SampleModel, de modo
+     * que sub-imagens e rasters vindos de conversões de Mat, cujas linhas
+     * não começam no índice 0 nem são empacotadas, enviem os pixels certos.
+     */
+    private static void copiarPixels(WritableRaster raster, int largura, int altura, ByteBuffer destino) {
+        if (raster.getSampleModel() instanceof ComponentSampleModel
+                && ((ComponentSampleModel) raster.getSampleModel()).getPixelStride() == 1
+                && raster.getDataBuffer() instanceof DataBufferByte) {
+            ComponentSampleModel modelo = (ComponentSampleModel) raster.getSampleModel();
+            DataBufferByte dados = (DataBufferByte) raster.getDataBuffer();
+            int stride = modelo.getScanlineStride();
+            int inicio = dados.getOffset() + modelo.getOffset(
+                raster.getMinX() - raster.getSampleModelTranslateX(),
+                raster.getMinY() - raster.getSampleModelTranslateY()
+            );
+            byte[] pixels = dados.getData();
+            for (int y = 0; y < altura; y++) {
+                destino.put(pixels, inicio + y * stride, largura);
+            }
+            return;
+        }
+        // Layout incomum: deixa o raster empacotar os pixels
+        byte[] pixels = (byte[]) raster.getDataElements(
+            raster.getMinX(), raster.getMinY(), largura, altura, null
+        );
+        destino.put(pixels, 0, largura * altura);
+    }
+
+    /**
+     * Reaproveita o buffer direto enquanto couber na imagem atual.
+     */
+    private ByteBuffer obterBuffer(int tamanho) {
+        if (bufferPixels == null || bufferPixels.capacity() < tamanho) {
+            bufferPixels = ByteBuffer.allocateDirect(tamanho);
+        }
+        bufferPixels.clear();
+        return bufferPixels;
+    }
+
+    private static BufferedImage converterParaCinza(BufferedImage imagem) {
+        if (imagem.getType() == BufferedImage.TYPE_BYTE_GRAY) {
+            return imagem;
+        }
+        BufferedImage cinza = new BufferedImage(
+            imagem.getWidth(), imagem.getHeight(), BufferedImage.TYPE_BYTE_GRAY
+        );
+        Graphics2D g = cinza.createGraphics();
+        try {
+            g.drawImage(imagem, 0, 0, null);
+        } finally {
+            g.dispose();
+        }
+        return cinza;
+    }
+
+    public synchronized int getUltimaConfianca() {
+        return ultimaConfianca;
+    }
+
+    public synchronized void setLimiarConfianca(int limiarConfianca) {
+        if (limiarConfianca < 0 || limiarConfianca > 100) {
+            throw new IllegalArgumentException("Limiar de confiança deve estar entre 0 e 100");
+        }
+        this.limiarConfianca = limiarConfianca;
+    }
+
+    /**
+     * Libera o handle nativo (modelo LSTM carregado).
+     */
+    @Override
+    public synchronized void close() {
+        if (handle != null) {
+            TessAPI1.TessBaseAPIEnd(handle);
+            TessAPI1.TessBaseAPIDelete(handle);
+            handle = null;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package subsistemas.monitoramento;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Evento imutável de leitura de consumo de uma conta
+ * (conta, consumo de cada SHA, total e instante da leitura).
+ *
+ * É entregue diretamente aos observers (update(leitura)), em vez de os
+ * observers consultarem campos compartilhados do MonitorConsumo, que
+ * podiam já pertencer a outra conta quando eram lidos. Por ser imutável,
+ * pode ser publicado no BarramentoEventos e consumido em outra thread.
+ *
+ * Uma leitura PARCIAL não tem o valor dos SHAs com o disjuntor aberto
+ * (getShasBloqueados): o total é um limite inferior do consumo da conta.
+ *
+ * @author Pedro Henrique
+ * @date 2026-10-16
+ */
+public final class LeituraConsumo {
+
+    private final String numeroConta;
+    private final double consumo;
+    private final Map<Integer, Double> consumoPorSHA;
+    private final LocalDateTime dataLeitura;
+    private final Set<Integer> shasBloqueados;
+
+    /**
+     * Leitura agregada, sem detalhamento por SHA.
+     */
+    public LeituraConsumo(String numeroConta, double consumo, LocalDateTime dataLeitura) {
+        this(numeroConta, consumo, Collections.emptyMap(), dataLeitura);
+    }
+
+    /**
+     * Leitura com o consumo de cada SHA da conta.
+     *
+     * @param numeroConta Número da conta
+     * @param consumoPorSHA Consumo (m³) de cada SHA (copiado)
+     * @param dataLeitura Instante da leitura
+     */
+    public LeituraConsumo(String numeroConta, Map<Integer, Double> consumoPorSHA, LocalDateTime dataLeitura) {
+        this(numeroConta, consumoPorSHA, Collections.emptySet(), dataLeitura);
+    }
+
+    /**
+     * Leitura parcial: os SHAs bloqueados ficaram sem valor nesta leitura.
+     *
+     * @param numeroConta Número da conta
+     * @param consumoPorSHA Consumo (m³) de cada SHA lido (copiado)
+     * @param shasBloqueados SHAs não lidos (disjuntor aberto) (copiado)
+     * @param dataLeitura Instante da leitura
+     */
+    public LeituraConsumo(String numeroConta, Map<Integer, Double> consumoPorSHA, Set<Integer> shasBloqueados,
+                          LocalDateTime dataLeitura) {
+        this(numeroConta, somar(consumoPorSHA), consumoPorSHA, shasBloqueados, dataLeitura);
+    }
+
+    private LeituraConsumo(String numeroConta, double consumo, Map<Integer, Double> consumoPorSHA,
+                           LocalDateTime dataLeitura) {
+        this(numeroConta, consumo, consumoPorSHA, Collections.emptySet(), dataLeitura);
+    }
+
+    private LeituraConsumo(String numeroConta, double consumo, Map<Integer, Double> consumoPorSHA,
+                           Set<Integer> shasBloqueados, LocalDateTime dataLeitura) {
+        if (numeroConta == null || numeroConta.trim().isEmpty()) {
+            throw new IllegalArgumentException("Número da conta é obrigatório");
+        }
+        if (dataLeitura == null) {
+            throw new IllegalArgumentException("Data da leitura é obrigatória");
+        }
+        if (consumoPorSHA == null) {
+            throw new IllegalArgumentException("Consumo por SHA não pode ser nulo");
+        }
+        if (shasBloqueados == null) {
+            throw new IllegalArgumentException("SHAs bloqueados não pode ser nulo");
+        }
+        this.numeroConta = numeroConta;
+        this.consumo = consumo;
+        this.consumoPorSHA = Collections.unmodifiableMap(new LinkedHashMap<>(consumoPorSHA));
+        this.dataLeitura = dataLeitura;
+        this.shasBloqueados = Collections.unmodifiableSet(new LinkedHashSet<>(shasBloqueados));
+    }
+
+    private static double somar(Map<Integer, Double> consumoPorSHA) {
+        double total = 0.0;
+        if (consumoPorSHA != null) {
+            for (double valor : consumoPorSHA.values()) {
+                total += valor;
+            }
+        }
+        return total;
+    }
+
+    public String getNumeroConta() {
+        return numeroConta;
+    }
+
+    /**
+     * @return Consumo agregado da conta em m³
+     */
+    public double getConsumo() {
+        return consumo;
+    }
+
+    /**
+     * @return Consumo (m³) de cada SHA da conta (somente leitura)
+     */
+    public Map<Integer, Double> getConsumoPorSHA() {
+        return consumoPorSHA;
+    }
+
+    public LocalDateTime getDataLeitura() {
+        return dataLeitura;
+    }
+
+    /**
+     * @return SHAs sem valor nesta leitura (disjuntor aberto) (somente leitura)
+     */
+    public Set<Integer> getShasBloqueados() {
+        return shasBloqueados;
+    }
+
+    /**
+     * @return true se algum SHA da conta ficou fora do total
+     */
+    public boolean isParcial() {
+        return !shasBloqueados.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Leitura[%s: %.2f m³ em %s%s]", numeroConta, consumo, dataLeitura,
+            isParcial() ? ", parcial sem SHAs " + shasBloqueados : "");
+    }
+}
@@ -1,12 +1,20 @@
 package subsistemas.monitoramento;
 
+import excecoes.CapacidadeEsgotadaException;
+import excecoes.CircuitoAbertoException;
 import excecoes.ErroDeLeituraImagemException;
+import excecoes.ImagemRejeitadaException;
 import subsistemas.contas.GerenciadorContas;
 import subsistemas.alertas.AlertaObserver;
 import dto.ContaAguaDTO;
+import modelo.enums.TipoEstadoConta;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 /**
  * Abstração no padrão Bridge para monitoramento de consumo de hidrômetros.
@@ -55,57 +63,181 @@ public class MonitorConsumo {
      */
     private String diretorioImagens;
 
+    /**
+     * Recebe o número da conta cujo agendamento o próprio monitor encerrou
+     * (ex.: estado ERRO), para quem persiste os agendamentos (null = nenhum).
+     */
+    private volatile Consumer<String> ouvinteFimAgendamento;
+
     /**
      * Matrícula SUAP usada pelo SHA para nomear o diretório de medições.
      */
     private String matriculaSUAP;
 
     // ========================================================================
-    // OBSERVER - Lista de observers e estado
+    // OBSERVER - Lista de observers
     // ========================================================================
 
     /**
      * Lista de observers que serão notificados.
      * PROTECTED conforme a formalidade do padrão.
      */
-    protected ArrayList<AlertaObserver> observers;
+    protected List<AlertaObserver> observers;
 
     /**
-     * Consumo atual (estado observado).
-     * PROTECTED conforme formalidade do padrão.
+     * Barramento assíncrono: cada observer consome as leituras em sua própria
+     * thread, em lotes, sem bloquear o ciclo de monitoramento.
+     */
+    private BarramentoEventos<LeituraConsumo> barramento;
+
+    /**
+     * Assinatura de cada observer no barramento (mesma ordem de observers).
+     */
+    private List<BarramentoEventos<LeituraConsumo>.Assinatura> assinaturas;
+
+    /**
+     * Agendador para monitoramento periódico por intervalo (roda de temporização).
+     * Apenas dispara os ciclos (temporização): nunca executa I/O ou OCR.
+     */
+    private RodaTemporizacao rodaTemporizacao;
+
+    /**
+     * Pipeline do ciclo de cada conta, em estágios com filas limitadas:
+     * ciclos (admissão) → reconhecimento (decodificação + OCR) → avaliação,
+     * que publica no barramento (uma fila por observer). O reconhecimento tem
+     * limiteLeiturasSimultaneas threads e atende as contas mais urgentes
+     * (calcularPrioridade) primeiro; a admissão nunca bloqueia nele.
+     *
+     * Com -Dpainel.monitor.threadsVirtuais=true (Java 21+), o reconhecimento
+     * e a avaliação, que passam a maior parte do tempo bloqueados (OCR em
+     * processos, leituras compartilhadas, contrapressão), rodam em threads
+     * virtuais, como fazia o executor de ciclos anterior aos estágios. A
+     * quantidade de threads continua limitada por estágio. Com o OCR nativo
+     * no próprio processo as threads virtuais ficam presas ao carrier durante
+     * o Tesseract, então o padrão segue com threads de plataforma.
+     */
+    private EstagioPipeline<PedidoCiclo> estagioCiclos;
+    private EstagioPipeline<PedidoCiclo> estagioReconhecimento;
+    private EstagioPipeline<PedidoCiclo> estagioAvaliacao;
+    private int limiteLeiturasSimultaneas;
+
+    /**
+     * Contas com ciclo no pipeline (evita sobreposição de ciclos da mesma conta).
+     */
+    private Set<String> contasEmLeitura;
+
+    /**
+     * Leituras simultâneas do mesmo SHA (monitoramento, fachada) compartilham
+     * um único OCR.
      */
-    protected double consumoAtual;
+    private CoalescedorLeituras coalescedor;
 
     /**
-     * Conta atualmente sendo monitorada (para contexto do Observer).
+     * Disjuntor de cada SHA: uma câmera com falhas seguidas deixa de ser lida
+     * (sem OCR) até o recuo acabar, sem afetar os demais SHAs.
      */
-    protected String contaAtualMonitorada;
+    private Map<Integer, DisjuntorLeitura> disjuntores;
 
     /**
-     * Executor para monitoramento periódico por intervalo.
+     * Leituras agendadas por SHA (período efetivo = menor entre os assinantes).
+     * Contas monitoradas registram demanda nos seus SHAs: leituras mais novas
+     * que o período efetivo são reaproveitadas por qualquer consumidor.
      */
-    private ScheduledExecutorService executorMonitoramento;
+    private AgendadorLeiturasSHA agendadorSHA;
 
     /**
-     * Mapa de tarefas agendadas por conta.
+     * Nível de carga do OCR (fila e atraso) e as degradações aplicadas.
      */
-    private Map<String, ScheduledFuture<?>> tarefasMonitoramento;
+    private ControladorSobrecarga controladorSobrecarga;
+
+    // Métricas do monitoramento
+    private final AtomicLong ciclosExecutados = new AtomicLong(0);
+    private final AtomicLong ciclosSobrepostos = new AtomicLong(0);
+    private final AtomicLong ciclosRejeitados = new AtomicLong(0);
+    private final AtomicLong ciclosBloqueados = new AtomicLong(0);
+    private final AtomicLong ciclosParciais = new AtomicLong(0);
+    private final AtomicLong intervalosAjustados = new AtomicLong(0);
 
     // ========================================================================
-    // STATE - Estado do monitoramento
+    // STATE - Contextos de monitoramento por conta
     // ========================================================================
 
     /**
-     * Estado atual do monitoramento.
+     * Contexto (estado, falhas, agendamento) de cada conta monitorada.
      * PROTECTED conforme formalidade do padrão.
      */
-    protected subsistemas.monitoramento.state.EstadoMonitoramento estadoMonitoramento;
+    protected Map<String, ContextoMonitoramento> contextos;
+
+    /**
+     * Falhas consecutivas que levam a conta ao estado ERRO.
+     */
+    private static final int LIMITE_FALHAS_CONSECUTIVAS = 3;
+
+    /**
+     * Modo adaptativo: variação (m³) a partir da qual há consumo, e fração do
+     * limite de alerta a partir da qual a conta volta ao intervalo mínimo.
+     */
+    private static final double VARIACAO_MINIMA_CONSUMO = 0.001;
+    private static final double FRACAO_PROXIMIDADE_LIMITE = 0.9;
+
+    /**
+     * Prioridade na etapa de OCR: peso da proximidade do limite (o restante é
+     * da defasagem) e defasagem máxima considerada, em intervalos da conta.
+     */
+    private static final double PESO_PROXIMIDADE_LIMITE = 0.6;
+    private static final double MAXIMO_INTERVALOS_DEFASAGEM = 3.0;
+
+    /**
+     * Espalhamento de fase: jitter aleatório máximo em torno da fase
+     * determinística da conta, como fração do intervalo.
+     */
+    private static final double FRACAO_JITTER_FASE = 0.1;
+
+    /**
+     * Janela em que os primeiros ciclos das contas restauradas na
+     * inicialização são espalhados (intervalos longos não atrasam a volta).
+     */
+    private static final long JANELA_RESTAURACAO_MS = 10_000;
+
+    /**
+     * Fração do período efetivo do SHA em que uma leitura é reaproveitada
+     * (abaixo de 1: o disparo seguinte do mesmo período já lê de novo).
+     */
+    private static final double FRACAO_PERIODO_FRESCOR = 0.9;
 
     /**
-     * Contador de falhas consecutivas de leitura.
-     * Após 3 falhas, muda para estado ERRO.
+     * Prefixo do assinante que representa o monitoramento de uma conta.
      */
-    private Map<String, Integer> contadorFalhasPorConta;
+    private static final String ASSINANTE_CONTA = "conta:";
+
+    /**
+     * Dimensionamento dos estágios: threads da admissão e da avaliação
+     * (trabalho curto), fila do reconhecimento por thread, e prazo de
+     * contrapressão ao encaminhar para a avaliação.
+     */
+    private static final int THREADS_ESTAGIO_CICLOS = 2;
+    private static final int THREADS_ESTAGIO_AVALIACAO = 1;
+    private static final int FILA_RECONHECIMENTO_POR_THREAD = 8;
+    private static final long TIMEOUT_ENCAMINHAMENTO_MS = 1000;
+
+    /**
+     * Prioridade, no reconhecimento, das leituras de assinaturas por SHA
+     * (contas perto do limite ou defasadas passam na frente).
+     */
+    private static final double PRIORIDADE_LEITURA_ASSINATURA = 0.5;
+
+    /**
+     * Propriedade de sistema que liga as threads virtuais nos estágios bloqueantes.
+     */
+    public static final String PROPRIEDADE_THREADS_VIRTUAIS = "painel.monitor.threadsVirtuais";
+
+    /**
+     * Espera máxima pela leitura de um SHA iniciada por outro chamador: o
+     * pior caso dos processos OCR (o leitor mais lento) com folga de um prazo
+     * de leitura, para quem aguarda não desistir antes do líder.
+     */
+    private static final long TIMEOUT_AGUARDAR_LEITURA_MS =
+        LeitorProcessoImpl.PRAZO_MAXIMO_LEITURA_PADRAO_MS + LeitorProcessoImpl.TIMEOUT_LEITURA_PADRAO_MS;
 
     // ========================================================================
     // BRIDGE - Construtor EXIGE implementador
@@ -132,6 +264,23 @@ public class MonitorConsumo {
     public MonitorConsumo(LeitorImplementador implementador,
                           GerenciadorContas gerenciadorContas,
                           String matriculaSUAP) {
+        this(implementador, gerenciadorContas, matriculaSUAP,
+             Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Construtor completo com limite de leituras simultâneas.
+     *
+     * @param implementador Implementação concreta para leitura de imagens
+     * @param gerenciadorContas Gerenciador para buscar contas e SHAs
+     * @param matriculaSUAP Matrícula SUAP usada pelo SHA (ex: "202311250023")
+     * @param limiteLeiturasSimultaneas Máximo de contas na etapa de OCR ao mesmo tempo
+     *        (tipicamente o tamanho do pool de motores OCR)
+     */
+    public MonitorConsumo(LeitorImplementador implementador,
+                          GerenciadorContas gerenciadorContas,
+                          String matriculaSUAP,
+                          int limiteLeiturasSimultaneas) {
         if (implementador == null) {
             throw new IllegalArgumentException(
                 "LeitorImplementador não pode ser nulo (padrão Bridge)"
@@ -147,6 +296,11 @@ public class MonitorConsumo {
                 "Matrícula SUAP não pode ser nula ou vazia"
             );
         }
+        if (limiteLeiturasSimultaneas <= 0) {
+            throw new IllegalArgumentException(
+                "Limite de leituras simultâneas deve ser maior que zero"
+            );
+        }
 
         this.implementador = implementador;
         this.gerenciadorContas = gerenciadorContas;
@@ -156,17 +310,33 @@ public class MonitorConsumo {
         this.diretorioImagens = "/home/pedro/IdeaProjects/SimuladorHidrometro/Medicoes_" + matriculaSUAP + "/";
 
         // OBSERVER: Inicializa lista de observers
-        this.observers = new ArrayList<>();
-        this.consumoAtual = 0.0;
-        this.contaAtualMonitorada = null;
-
-        // Inicializa executor para monitoramento periódico
-        this.executorMonitoramento = Executors.newScheduledThreadPool(2);
-        this.tarefasMonitoramento = new ConcurrentHashMap<>();
-
-        // STATE: Inicializa estado do monitoramento
-        this.estadoMonitoramento = new subsistemas.monitoramento.state.EstadoMonitoramentoParado();
-        this.contadorFalhasPorConta = new ConcurrentHashMap<>();
+        this.observers = new CopyOnWriteArrayList<>();
+        this.assinaturas = new CopyOnWriteArrayList<>();
+        this.barramento = new BarramentoEventos<>("leituras");
+
+        // Inicializa agendador (só temporização, uma thread); as leituras rodam
+        // nos estágios do pipeline: leituras lentas não atrasam as demais contas
+        this.rodaTemporizacao = new RodaTemporizacao("monitor-agendador");
+        this.limiteLeiturasSimultaneas = limiteLeiturasSimultaneas;
+        this.contasEmLeitura = ConcurrentHashMap.newKeySet();
+        boolean threadsVirtuais = Boolean.getBoolean(PROPRIEDADE_THREADS_VIRTUAIS);
+        this.estagioCiclos = new EstagioPipeline<>("ciclos", THREADS_ESTAGIO_CICLOS,
+            EstagioPipeline.CAPACIDADE_PADRAO, this::admitirCiclo);
+        this.estagioReconhecimento = new EstagioPipeline<>("reconhecimento", limiteLeiturasSimultaneas,
+            limiteLeiturasSimultaneas * FILA_RECONHECIMENTO_POR_THREAD,
+            Comparator.comparingDouble((PedidoCiclo pedido) -> pedido.prioridade).reversed(),
+            this::reconhecer, threadsVirtuais);
+        this.estagioAvaliacao = new EstagioPipeline<>("avaliacao", THREADS_ESTAGIO_AVALIACAO,
+            EstagioPipeline.CAPACIDADE_PADRAO, null, this::avaliarCiclo, threadsVirtuais);
+        this.coalescedor = new CoalescedorLeituras();
+        this.disjuntores = new ConcurrentHashMap<>();
+        this.controladorSobrecarga = new ControladorSobrecarga();
+        // Leituras das assinaturas por SHA passam pelo mesmo estágio limitado de OCR
+        this.agendadorSHA = new AgendadorLeiturasSHA(rodaTemporizacao, this::enviarLeituraAssinatura,
+            idSHA -> lerConsumoSHAs(Collections.singletonList(idSHA)).get(idSHA));
+
+        // STATE: Um contexto (com sua própria máquina de estados) por conta
+        this.contextos = new ConcurrentHashMap<>();
     }
 
     // ========================================================================
@@ -193,29 +363,190 @@ public class MonitorConsumo {
      * @throws ErroDeLeituraImagemException Se houver erro na leitura da imagem
      */
     public double lerConsumoSHA(int idSHA) throws ErroDeLeituraImagemException {
-        // Constrói caminho da imagem conforme convenção (Seção 4.2.3)
-        String caminhoImagem = construirCaminhoImagem(idSHA);
+        ResultadoLeitura resultado = lerConsumoSHAs(Collections.singletonList(idSHA)).get(idSHA);
+        if (!resultado.isSucesso()) {
+            throw resultado.getErro();
+        }
+        return resultado.getConsumo();
+    }
 
-        // BRIDGE: Delega para o implementador
-        return implementador.lerConsumo(caminhoImagem);
+    /**
+     * Lê o consumo de vários SHAs em um único lote.
+     *
+     * As imagens são entregues juntas ao implementador (lerConsumoLote), que
+     * pode lê-las em paralelo; a falha de um SHA não interrompe os demais.
+     * SHAs que já estão sendo lidos por outro chamador (ou lidos há pouco)
+     * não entram no lote: o resultado é compartilhado (CoalescedorLeituras).
+     * SHAs com o disjuntor aberto falham na hora (CircuitoAbertoException), sem OCR.
+     *
+     * @param shaIds IDs dos hidrômetros
+     * @return Resultado de cada SHA, na ordem de iteração de shaIds
+     * @throws IllegalArgumentException Se algum ID de SHA for inválido
+     */
+    public Map<Integer, ResultadoLeitura> lerConsumoSHAs(Collection<Integer> shaIds) {
+        // Valida todos os IDs antes de entrar no coalescedor: um líder que
+        // não conclui deixaria os próximos chamadores do SHA esperando
+        Map<Integer, String> caminhoPorSHA = new LinkedHashMap<>();
+        for (Integer idSHA : shaIds) {
+            if (idSHA == null) {
+                throw new IllegalArgumentException("ID do SHA é obrigatório");
+            }
+            // Constrói caminho da imagem conforme convenção (Seção 4.2.3)
+            caminhoPorSHA.computeIfAbsent(idSHA, this::construirCaminhoImagem);
+        }
+
+        Map<Integer, CoalescedorLeituras.Participacao> participacoes = new LinkedHashMap<>();
+        List<CoalescedorLeituras.Participacao> lideradas = new ArrayList<>();
+        List<String> caminhos = new ArrayList<>();
+        for (Map.Entry<Integer, String> sha : caminhoPorSHA.entrySet()) {
+            int idSHA = sha.getKey();
+            CoalescedorLeituras.Participacao participacao = coalescedor.entrar(idSHA, calcularJanelaFrescor(idSHA));
+            participacoes.put(idSHA, participacao);
+            if (participacao.isLider()) {
+                DisjuntorLeitura disjuntor = getDisjuntor(idSHA);
+                if (!disjuntor.permitir()) {
+                    coalescedor.concluir(participacao, ResultadoLeitura.falha(sha.getValue(),
+                        new CircuitoAbertoException("Leitura do SHA " + idSHA + " bloqueada pelo disjuntor (" +
+                            disjuntor + ")", disjuntor.getTempoAteSondagemMs())));
+                    continue;
+                }
+                lideradas.add(participacao);
+                caminhos.add(sha.getValue());
+            }
+        }
+
+        if (!lideradas.isEmpty()) {
+            List<ResultadoLeitura> resultados = null;
+            try {
+                // BRIDGE: Delega o lote para o implementador
+                resultados = implementador.lerConsumoLote(caminhos);
+            } finally {
+                // Conclui sempre: quem aguarda estes SHAs não pode ficar preso
+                for (int i = 0; i < lideradas.size(); i++) {
+                    ResultadoLeitura resultado = resultados != null && i < resultados.size() && resultados.get(i) != null
+                        ? resultados.get(i)
+                        : ResultadoLeitura.falha(caminhos.get(i),
+                              new CapacidadeEsgotadaException("Leitura não concluída: " + caminhos.get(i)));
+                    registrarNoDisjuntor(lideradas.get(i).getIdSHA(), resultado);
+                    coalescedor.concluir(lideradas.get(i), resultado);
+                }
+            }
+        }
+
+        Map<Integer, ResultadoLeitura> porSHA = new LinkedHashMap<>();
+        for (Map.Entry<Integer, CoalescedorLeituras.Participacao> entrada : participacoes.entrySet()) {
+            porSHA.put(entrada.getKey(), aguardarLeitura(entrada.getValue()));
+        }
+        return porSHA;
+    }
+
+    /**
+     * Idade máxima (ms) de uma leitura reaproveitada: fração do período
+     * efetivo do SHA, ou a janela padrão se ninguém assina o SHA; multiplicada
+     * pelo fator do nível de sobrecarga.
+     */
+    private long calcularJanelaFrescor(int idSHA) {
+        long periodoMs = agendadorSHA.getPeriodoEfetivoMs(idSHA);
+        long janelaMs = Math.max(CoalescedorLeituras.JANELA_FRESCOR_PADRAO_MS, (long) (periodoMs * FRACAO_PERIODO_FRESCOR));
+        // Sob sobrecarga, leituras mais velhas também servem
+        return janelaMs * controladorSobrecarga.getNivel().getFator();
+    }
+
+    private DisjuntorLeitura getDisjuntor(int idSHA) {
+        return disjuntores.computeIfAbsent(idSHA, id -> new DisjuntorLeitura());
+    }
+
+    /**
+     * Informa ao disjuntor do SHA o desfecho da leitura. Quadro rejeitado pelo
+     * filtro de qualidade e leitura não concluída por OCR saturado (prazo ou
+     * checkout esgotado) não dizem nada sobre a câmera (inconclusivas).
+     */
+    private void registrarNoDisjuntor(int idSHA, ResultadoLeitura resultado) {
+        DisjuntorLeitura disjuntor = getDisjuntor(idSHA);
+        if (resultado.isSucesso()) {
+            disjuntor.registrarSucesso();
+        } else if (resultado.getErro() instanceof ImagemRejeitadaException
+                   || resultado.getErro() instanceof CapacidadeEsgotadaException) {
+            disjuntor.registrarInconclusiva();
+        } else {
+            DisjuntorLeitura.Estado antes = disjuntor.getEstado();
+            disjuntor.registrarFalha();
+            if (antes != DisjuntorLeitura.Estado.ABERTO && disjuntor.getEstado() == DisjuntorLeitura.Estado.ABERTO) {
+                System.err.println("🔌 Disjuntor ABERTO [SHA " + idSHA + "]: nova tentativa em " +
+                    disjuntor.getTempoAteSondagemMs() + "ms");
+            }
+        }
+    }
+
+    /**
+     * Resultado de uma leitura (própria ou de outro chamador do mesmo SHA),
+     * aguardado no máximo TIMEOUT_AGUARDAR_LEITURA_MS.
+     */
+    private ResultadoLeitura aguardarLeitura(CoalescedorLeituras.Participacao participacao) {
+        try {
+            return participacao.getFuturo().get(TIMEOUT_AGUARDAR_LEITURA_MS, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            String caminho = construirCaminhoImagem(participacao.getIdSHA());
+            return ResultadoLeitura.falha(caminho,
+                new CapacidadeEsgotadaException("Tempo esgotado aguardando a leitura: " + caminho, e));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            String caminho = construirCaminhoImagem(participacao.getIdSHA());
+            return ResultadoLeitura.falha(caminho,
+                new ErroDeLeituraImagemException("Leitura interrompida: " + caminho, e));
+        } catch (ExecutionException e) {
+            // O líder sempre conclui com um ResultadoLeitura (nunca com exceção)
+            String caminho = construirCaminhoImagem(participacao.getIdSHA());
+            return ResultadoLeitura.falha(caminho,
+                new ErroDeLeituraImagemException("Erro inesperado na leitura: " + caminho, e.getCause()));
+        }
     }
 
     /**
      * Lê o consumo agregado de uma conta (soma de todos os SHAs vinculados).
      *
+     * @param numeroConta Número da conta
+     * @return Consumo total agregado em metros cúbicos (m³)
+     * @throws IllegalArgumentException Se conta não existir
+     * @throws ErroDeLeituraImagemException Se a leitura de algum SHA falhar
+     *         (a mensagem lista TODOS os SHAs que falharam); CircuitoAbertoException
+     *         se algum SHA estiver com o disjuntor aberto (o total ficaria incompleto)
+     * @see #lerLeituraConta(String)
+     */
+    public double lerConsumoConta(String numeroConta) throws ErroDeLeituraImagemException {
+        LeituraConsumo leitura = lerLeituraConta(numeroConta);
+        if (leitura.isParcial()) {
+            Integer idSHA = leitura.getShasBloqueados().iterator().next();
+            throw new CircuitoAbertoException(
+                "Consumo incompleto da conta " + numeroConta + ": SHAs bloqueados " + leitura.getShasBloqueados(),
+                getDisjuntor(idSHA).getTempoAteSondagemMs()
+            );
+        }
+        return leitura.getConsumo();
+    }
+
+    /**
+     * Lê o consumo de uma conta, detalhado por SHA.
+     *
      * Processo:
      * 1. Busca a conta pelo número
      * 2. Obtém lista de SHAs vinculados à conta
-     * 3. Para cada SHA, lê o consumo via lerConsumoSHA()
-     * 4. Soma todos os consumos
-     * 5. Retorna total agregado
+     * 3. Lê todos os SHAs em um lote via lerConsumoSHAs() (em paralelo)
+     * 4. Monta a leitura com o consumo de cada SHA e o total agregado
+     *
+     * SHAs com o disjuntor aberto não impedem a leitura dos demais: a leitura
+     * sai PARCIAL (LeituraConsumo.getShasBloqueados) e segue para os alertas.
      *
      * @param numeroConta Número da conta
-     * @return Consumo total agregado em metros cúbicos (m³)
+     * @return Leitura imutável (conta, consumo por SHA, total, instante)
      * @throws IllegalArgumentException Se conta não existir
-     * @throws ErroDeLeituraImagemException Se houver erro na leitura de alguma imagem
+     * @throws ErroDeLeituraImagemException Se a leitura de algum SHA falhar
+     *         (a mensagem lista TODOS os SHAs que falharam); ImagemRejeitadaException
+     *         se todas as falhas forem quadros reprovados pelo filtro de qualidade;
+     *         CircuitoAbertoException se TODOS os SHAs da conta estiverem com o
+     *         disjuntor aberto
      */
-    public double lerConsumoConta(String numeroConta) throws ErroDeLeituraImagemException {
+    public LeituraConsumo lerLeituraConta(String numeroConta) throws ErroDeLeituraImagemException {
         // Validação
         if (numeroConta == null || numeroConta.trim().isEmpty()) {
             throw new IllegalArgumentException("Número da conta é obrigatório");
@@ -232,26 +563,84 @@ public class MonitorConsumo {
         // Obtém SHAs vinculados
         Set<Integer> shaIds = conta.getShaIds();
         if (shaIds == null || shaIds.isEmpty()) {
-            return 0.0; // Conta sem SHAs vinculados
+            // Conta sem SHAs vinculados
+            return new LeituraConsumo(numeroConta, Collections.emptyMap(), LocalDateTime.now());
         }
 
-        // Agrega consumo de todos os SHAs
-        double consumoTotal = 0.0;
-        for (Integer idSHA : shaIds) {
-            try {
-                double consumoSHA = lerConsumoSHA(idSHA);
-                consumoTotal += consumoSHA;
-            } catch (ErroDeLeituraImagemException e) {
-                // TODO FASE 7: Registrar erro no SistemaLog
-                // Por enquanto, propaga a exceção
-                throw new ErroDeLeituraImagemException(
-                    "Erro ao ler consumo do SHA " + idSHA + " da conta " + numeroConta,
-                    e
-                );
+        // Consumo de cada SHA (lidos em lote)
+        Map<Integer, Double> consumoPorSHA = new LinkedHashMap<>();
+        Set<Integer> bloqueados = new LinkedHashSet<>();
+        CircuitoAbertoException primeiroBloqueio = null;
+        StringBuilder falhas = new StringBuilder();
+        ErroDeLeituraImagemException primeiroErro = null;
+        boolean somenteRejeicoes = true;
+
+        for (Map.Entry<Integer, ResultadoLeitura> leitura : lerConsumoSHAs(shaIds).entrySet()) {
+            ResultadoLeitura resultado = leitura.getValue();
+            if (resultado.isSucesso()) {
+                consumoPorSHA.put(leitura.getKey(), resultado.getConsumo());
+            } else if (resultado.getErro() instanceof CircuitoAbertoException) {
+                // SHA em recuo: fica fora do total, os demais seguem lidos
+                bloqueados.add(leitura.getKey());
+                if (primeiroBloqueio == null) {
+                    primeiroBloqueio = (CircuitoAbertoException) resultado.getErro();
+                }
+            } else {
+                somenteRejeicoes &= resultado.getErro() instanceof ImagemRejeitadaException;
+                if (primeiroErro == null) {
+                    primeiroErro = resultado.getErro();
+                } else {
+                    falhas.append("; ");
+                }
+                falhas.append("SHA ").append(leitura.getKey())
+                      .append(" (").append(resultado.getErro().getMessage()).append(")");
             }
         }
 
-        return consumoTotal;
+        if (primeiroErro != null && somenteRejeicoes) {
+            // Apenas quadros ilegíveis: a leitura é pulada, sem indicar defeito
+            throw new ImagemRejeitadaException(
+                "Quadros rejeitados na conta " + numeroConta + ": " + falhas,
+                ((ImagemRejeitadaException) primeiroErro).getMotivo()
+            );
+        }
+        if (primeiroErro != null) {
+            throw new ErroDeLeituraImagemException(
+                "Erro ao ler consumo da conta " + numeroConta + ": " + falhas,
+                primeiroErro
+            );
+        }
+        if (consumoPorSHA.isEmpty() && primeiroBloqueio != null) {
+            // Todos os SHAs em recuo: nenhum OCR foi feito nesta leitura
+            throw new CircuitoAbertoException(
+                "SHAs bloqueados na conta " + numeroConta + ": " + bloqueados,
+                primeiroBloqueio.getTempoAteSondagemMs()
+            );
+        }
+
+        return new LeituraConsumo(numeroConta, consumoPorSHA, bloqueados, LocalDateTime.now());
+    }
+
+    /**
+     * Monta a leitura da conta só com leituras em cache dos SHAs (sem OCR),
+     * dentro da janela de frescor atual.
+     *
+     * @return Leitura da conta, ou null se algum SHA não tiver leitura recente
+     */
+    private LeituraConsumo lerLeituraContaEmCache(String numeroConta) {
+        ContaAguaDTO conta = gerenciadorContas.buscar(numeroConta);
+        if (conta == null || conta.getShaIds() == null || conta.getShaIds().isEmpty()) {
+            return null;
+        }
+        Map<Integer, Double> consumoPorSHA = new LinkedHashMap<>();
+        for (Integer idSHA : conta.getShaIds()) {
+            ResultadoLeitura recente = coalescedor.getRecente(idSHA, calcularJanelaFrescor(idSHA));
+            if (recente == null) {
+                return null;
+            }
+            consumoPorSHA.put(idSHA, recente.getConsumo());
+        }
+        return new LeituraConsumo(numeroConta, consumoPorSHA, LocalDateTime.now());
     }
 
     // ========================================================================
@@ -274,11 +663,8 @@ public class MonitorConsumo {
      * @return Caminho completo da imagem sincronizada
      */
     private String construirCaminhoImagem(int idSHA) {
-        if (idSHA <= 0) {
-            throw new IllegalArgumentException("idSHA deve ser positivo");
-        }
         // Caminho padronizado gerado pelo GerenciadorSincronizacao
-        return "saida/leitura_do_hidrometro_" + idSHA + ".jpg";
+        return ConvencaoImagemSHA.construirCaminho(idSHA);
     }
 
     /**
@@ -306,6 +692,17 @@ public class MonitorConsumo {
         return diretorioImagens;
     }
 
+    /**
+     * Define quem é avisado quando o monitor encerra sozinho o agendamento de
+     * uma conta (3 falhas → ERRO). Executado na thread da avaliação; falhas do
+     * ouvinte não afetam o monitoramento.
+     *
+     * @param ouvinteFimAgendamento Ouvinte (null para remover)
+     */
+    public void setOuvinteFimAgendamento(Consumer<String> ouvinteFimAgendamento) {
+        this.ouvinteFimAgendamento = ouvinteFimAgendamento;
+    }
+
     // ========================================================================
     // OBSERVER - Gerenciamento de Observers
     // ========================================================================
@@ -314,10 +711,47 @@ public class MonitorConsumo {
      * Adiciona um observer à lista.
      * PADRÃO OBSERVER
      *
+     * O observer passa a receber as leituras em uma thread própria,
+     * com os parâmetros padrão do barramento.
+     *
      * @param observer Observer a ser adicionado
      */
     public void attach(AlertaObserver observer) {
+        attach(observer, BarramentoEventos.CAPACIDADE_PADRAO, BarramentoEventos.TAMANHO_LOTE_PADRAO,
+               BarramentoEventos.PoliticaContraPressao.DESCARTAR_MAIS_ANTIGO);
+    }
+
+    /**
+     * Adiciona um observer com fila e contrapressão configuráveis.
+     * PADRÃO OBSERVER
+     *
+     * @param observer Observer a ser adicionado
+     * @param capacidade Tamanho máximo da fila de leituras do observer
+     * @param tamanhoLote Máximo de leituras entregues por vez (updateLote)
+     * @param politica O que fazer com a fila cheia
+     */
+    public void attach(AlertaObserver observer, int capacidade, int tamanhoLote,
+                       BarramentoEventos.PoliticaContraPressao politica) {
+        attach(observer, capacidade, tamanhoLote, politica, BarramentoEventos.TIMEOUT_BLOQUEIO_PADRAO_MS);
+    }
+
+    /**
+     * Adiciona um observer com fila e contrapressão configuráveis.
+     * PADRÃO OBSERVER
+     *
+     * @param observer Observer a ser adicionado
+     * @param capacidade Tamanho máximo da fila de leituras do observer
+     * @param tamanhoLote Máximo de leituras entregues por vez (updateLote)
+     * @param politica O que fazer com a fila cheia
+     * @param timeoutBloqueioMs Espera máxima do ciclo com a política BLOQUEAR
+     */
+    public synchronized void attach(AlertaObserver observer, int capacidade, int tamanhoLote,
+                                    BarramentoEventos.PoliticaContraPressao politica, long timeoutBloqueioMs) {
         if (observer != null && !observers.contains(observer)) {
+            assinaturas.add(barramento.assinar(
+                observer.getClass().getSimpleName(), observer::updateLote,
+                capacidade, tamanhoLote, politica, timeoutBloqueioMs
+            ));
             observers.add(observer);
         }
     }
@@ -328,41 +762,32 @@ public class MonitorConsumo {
      *
      * @param indice Índice do observer a ser removido
      */
-    public void detach(int indice) {
+    public synchronized void detach(int indice) {
         if (indice >= 0 && indice < observers.size()) {
             observers.remove(indice);
+            assinaturas.remove(indice).cancelar();
         }
     }
 
     /**
-     * Notifica todos os observers sobre mudança de estado.
+     * Notifica todos os observers sobre uma nova leitura.
      * PADRÃO OBSERVER
      *
      * Este método é chamado automaticamente após cada leitura de consumo.
-     */
-    private void notifyObservers() {
-        for (AlertaObserver observer : observers) {
-            observer.update();
-        }
-    }
-
-    /**
-     * Retorna o consumo atual (para os observers).
-     * PADRÃO OBSERVER
+     * Apenas publica no barramento: avaliação de alertas, persistência e
+     * notificações rodam nas threads dos observers.
      *
-     * @return Consumo atual em m³
+     * @param leitura Leitura da conta (imutável, entregue a cada observer)
      */
-    public double getConsumoAtual() {
-        return consumoAtual;
+    private void notifyObservers(LeituraConsumo leitura) {
+        barramento.publicar(leitura);
     }
 
     /**
-     * Retorna a conta atualmente sendo monitorada (para os observers).
-     *
-     * @return Número da conta ou null
+     * @return Métricas do barramento (fila, descartes e lotes por observer)
      */
-    public String getContaAtualMonitorada() {
-        return contaAtualMonitorada;
+    public String getEstatisticasBarramento() {
+        return barramento.getEstatisticas();
     }
 
     // ========================================================================
@@ -376,74 +801,477 @@ public class MonitorConsumo {
      * 1. Localiza todas as imagens dos SHAs associados à conta
      * 2. Para cada SHA, lê o consumo via lerConsumoSHA()
      * 3. Soma todos os consumos da conta
-     * 4. Atualiza consumoAtual e contaAtualMonitorada
-     * 5. Notifica observers (SistemaAlertas verifica limite)
+     * 4. Registra a leitura no contexto da conta
+     * 5. Notifica observers com a leitura (SistemaAlertas verifica limite)
      * 6. Repete a cada intervaloSegundos
      *
      * @param numeroConta Número da conta
      * @param intervaloSegundos Intervalo entre leituras em segundos
      */
     public void iniciarMonitoramentoConta(String numeroConta, int intervaloSegundos) {
+        iniciarMonitoramentoAdaptativo(numeroConta, intervaloSegundos, intervaloSegundos);
+    }
+
+    /**
+     * Inicia monitoramento com intervalo adaptativo.
+     *
+     * Enquanto o consumo da conta não muda (ex.: madrugada), o intervalo é
+     * dobrado a cada leitura até intervaloMaximoSegundos. Assim que há
+     * consumo, ou o total se aproxima do limite de alerta da conta
+     * (FRACAO_PROXIMIDADE_LIMITE), o intervalo volta imediatamente ao mínimo.
+     * Com mínimo == máximo equivale a iniciarMonitoramentoConta.
+     *
+     * @param numeroConta Número da conta
+     * @param intervaloMinimoSegundos Intervalo inicial e com consumo ativo
+     * @param intervaloMaximoSegundos Intervalo máximo com consumo parado
+     */
+    public void iniciarMonitoramentoAdaptativo(String numeroConta, int intervaloMinimoSegundos,
+                                               int intervaloMaximoSegundos) {
+        iniciarMonitoramento(numeroConta, intervaloMinimoSegundos, intervaloMaximoSegundos,
+            TimeUnit.SECONDS.toMillis(intervaloMinimoSegundos), false);
+    }
+
+    /**
+     * Restaura o monitoramento de uma conta após um reinício (agendamento
+     * persistido). O primeiro ciclo cai dentro de JANELA_RESTAURACAO_MS, na
+     * fase da conta: a frota volta em segundos, sem todas as contas no mesmo tick.
+     *
+     * @param numeroConta Número da conta
+     * @param intervaloMinimoSegundos Intervalo inicial e com consumo ativo
+     * @param intervaloMaximoSegundos Intervalo máximo com consumo parado
+     * @param pausado true para restaurar já no estado PAUSADO
+     */
+    public void restaurarMonitoramento(String numeroConta, int intervaloMinimoSegundos,
+                                       int intervaloMaximoSegundos, boolean pausado) {
+        iniciarMonitoramento(numeroConta, intervaloMinimoSegundos, intervaloMaximoSegundos,
+            Math.min(TimeUnit.SECONDS.toMillis(intervaloMinimoSegundos), JANELA_RESTAURACAO_MS), pausado);
+    }
+
+    /**
+     * @param janelaFaseMs Janela em que cai o primeiro ciclo (fase da conta)
+     * @param pausado true para agendar já no estado PAUSADO (nenhum ciclo lê antes)
+     */
+    private void iniciarMonitoramento(String numeroConta, int intervaloMinimoSegundos,
+                                      int intervaloMaximoSegundos, long janelaFaseMs, boolean pausado) {
         if (numeroConta == null || numeroConta.trim().isEmpty()) {
             throw new IllegalArgumentException("Número da conta é obrigatório");
         }
 
-        if (intervaloSegundos <= 0) {
+        if (intervaloMinimoSegundos <= 0) {
             throw new IllegalArgumentException("Intervalo deve ser maior que zero");
         }
 
+        if (intervaloMaximoSegundos < intervaloMinimoSegundos) {
+            throw new IllegalArgumentException("Intervalo máximo não pode ser menor que o mínimo");
+        }
+        int intervaloSegundos = intervaloMinimoSegundos;
+
         // Para monitoramento anterior se existir
         pararMonitoramentoConta(numeroConta);
 
-        // PADRÃO STATE: Altera estado para INICIADO
-        estadoMonitoramento = new subsistemas.monitoramento.state.EstadoMonitoramentoIniciado();
+        ContextoMonitoramento contexto = contextos.computeIfAbsent(
+            numeroConta, ContextoMonitoramento::new
+        );
+
+        // PADRÃO STATE: Estado final (INICIADO ou PAUSADO) definido antes do agendamento
+        contexto.setEstadoMonitoramento(pausado
+            ? new subsistemas.monitoramento.state.EstadoMonitoramentoPausado()
+            : new subsistemas.monitoramento.state.EstadoMonitoramentoIniciado());
 
         // Reseta contador de falhas
-        contadorFalhasPorConta.put(numeroConta, 0);
+        contexto.resetarContadorFalhas();
 
-        // Cria tarefa periódica
-        Runnable tarefaMonitoramento = () -> {
-            try {
-                // PADRÃO STATE: Verifica se pode executar leitura
-                estadoMonitoramento.executarLeitura(this);
+        // Tarefa periódica: o agendador apenas despacha o ciclo para o executor de leituras
+        Runnable tarefaMonitoramento = () -> despacharCiclo(numeroConta);
+
+        // Agenda execução periódica com fase própria da conta: após um reinício
+        // ou um início em massa, as contas não disparam todas no mesmo tick
+        long periodoMs = TimeUnit.SECONDS.toMillis(intervaloSegundos);
+        RodaTemporizacao.Agendamento agendamento = rodaTemporizacao.agendarPeriodico(
+            tarefaMonitoramento,
+            calcularFaseInicial(numeroConta, janelaFaseMs), // Delay inicial (fase da conta)
+            periodoMs                                       // Período
+        );
+
+        contexto.setAgendamento(agendamento, intervaloMinimoSegundos, intervaloMaximoSegundos);
+        registrarDemandaSHAs(numeroConta, intervaloSegundos);
+
+        System.out.println("✅ Monitoramento iniciado: " + numeroConta +
+            (contexto.isAdaptativo()
+                ? " (intervalo adaptativo: " + intervaloMinimoSegundos + "s a " + intervaloMaximoSegundos + "s)"
+                : " (intervalo: " + intervaloSegundos + "s)") +
+            (pausado ? " [pausado]" : ""));
+    }
+
+    /**
+     * Registra (ou atualiza) a demanda da conta em cada um dos seus SHAs no
+     * agendador por SHA: outras leituras do SHA dentro do intervalo da conta
+     * são reaproveitadas em vez de refeitas.
+     */
+    private void registrarDemandaSHAs(String numeroConta, int intervaloSegundos) {
+        String assinante = ASSINANTE_CONTA + numeroConta;
+        agendadorSHA.cancelarAssinante(assinante);
+        ContaAguaDTO conta = gerenciadorContas.buscar(numeroConta);
+        if (conta == null || conta.getShaIds() == null) {
+            return;
+        }
+        long periodoMs = TimeUnit.SECONDS.toMillis(intervaloSegundos);
+        for (Integer idSHA : conta.getShaIds()) {
+            agendadorSHA.assinar(idSHA, assinante, periodoMs, null);
+        }
+    }
+
+    /**
+     * Atualiza a demanda da conta nos SHAs após vincular/desvincular um SHA
+     * (sem efeito se a conta não está agendada).
+     *
+     * @param numeroConta Número da conta
+     */
+    public void atualizarDemandaSHAs(String numeroConta) {
+        ContextoMonitoramento contexto = numeroConta != null ? contextos.get(numeroConta) : null;
+        if (contexto != null && contexto.isAgendado()) {
+            registrarDemandaSHAs(numeroConta, contexto.getIntervaloSegundos());
+        }
+    }
+
+    // ========================================================================
+    // ASSINATURAS POR SHA
+    // ========================================================================
+
+    /**
+     * Assina as leituras de um SHA: o SHA é lido uma vez por período efetivo
+     * (menor período entre todos os assinantes, inclusive contas monitoradas)
+     * e cada leitura é entregue aos assinantes cujo período venceu.
+     *
+     * @param idSHA ID do SHA
+     * @param assinante Identificação do assinante (substitui assinatura anterior)
+     * @param intervaloSegundos Intervalo desejado entre entregas
+     * @param ouvinte Recebe cada leitura (executado na thread da leitura)
+     */
+    public void assinarConsumoSHA(int idSHA, String assinante, int intervaloSegundos,
+                                  Consumer<ResultadoLeitura> ouvinte) {
+        if (intervaloSegundos <= 0) {
+            throw new IllegalArgumentException("Intervalo deve ser maior que zero");
+        }
+        if (ouvinte == null) {
+            throw new IllegalArgumentException("Ouvinte é obrigatório");
+        }
+        if (assinante != null && assinante.startsWith(ASSINANTE_CONTA)) {
+            throw new IllegalArgumentException("Prefixo de assinante reservado: " + ASSINANTE_CONTA);
+        }
+        // Valida o ID agora: um SHA inválido falharia a cada disparo da roda
+        construirCaminhoImagem(idSHA);
+        agendadorSHA.assinar(idSHA, assinante, TimeUnit.SECONDS.toMillis(intervaloSegundos), ouvinte);
+    }
+
+    public void cancelarAssinaturaConsumoSHA(int idSHA, String assinante) {
+        agendadorSHA.cancelar(idSHA, assinante);
+    }
+
+    public String getEstatisticasAgendadorSHA() {
+        return agendadorSHA.getEstatisticas();
+    }
+
+    /**
+     * Atraso inicial (0 a periodoMs - 1) do primeiro ciclo de uma conta.
+     *
+     * A fase base vem do hash do número da conta, então é estável entre
+     * reinícios e distribui as contas uniformemente no intervalo. Um jitter
+     * de até ±FRACAO_JITTER_FASE do intervalo desfaz colisões entre contas
+     * com fases próximas.
+     */
+    private static long calcularFaseInicial(String numeroConta, long periodoMs) {
+        if (periodoMs <= 1) {
+            return 0;
+        }
+        // Espalha os bits do hashCode (números de conta sequenciais têm hashes próximos)
+        long hash = numeroConta.hashCode() * 0x9E3779B97F4A7C15L;
+        long fase = Math.floorMod(hash ^ (hash >>> 32), periodoMs);
+
+        long amplitude = (long) (periodoMs * FRACAO_JITTER_FASE);
+        if (amplitude > 0) {
+            fase += ThreadLocalRandom.current().nextLong(-amplitude, amplitude + 1);
+        }
+        return Math.floorMod(fase, periodoMs);
+    }
+
+    /**
+     * Prioridade (0.0 a 1.0) do ciclo de uma conta na etapa de OCR:
+     * peso do estado da conta × (proximidade do limite + defasagem da última leitura).
+     * - Proximidade: último consumo / limite de alerta (sem limite = 0)
+     * - Defasagem: tempo desde a última leitura, em intervalos da conta (até 3)
+     * - Estado: ATIVA pesa 1.0; SUSPENSA/INADIMPLENTE 0.5; CANCELADA 0.1
+     */
+    private double calcularPrioridade(ContextoMonitoramento contexto) {
+        ContaAguaDTO conta = gerenciadorContas.buscar(contexto.getNumeroConta());
+        if (conta == null) {
+            return 0.0;
+        }
+
+        double proximidade = 0.0;
+        if (conta.getLimiteConsumo() > 0 && contexto.getDataUltimaLeitura() != null) {
+            proximidade = Math.min(1.0, contexto.getUltimoConsumo() / conta.getLimiteConsumo());
+        }
+
+        double defasagem = 1.0;
+        LocalDateTime ultimaLeitura = contexto.getDataUltimaLeitura();
+        if (ultimaLeitura != null && contexto.getIntervaloSegundos() > 0) {
+            long segundos = Duration.between(ultimaLeitura, LocalDateTime.now()).getSeconds();
+            defasagem = Math.min(MAXIMO_INTERVALOS_DEFASAGEM,
+                                 (double) segundos / contexto.getIntervaloSegundos()) / MAXIMO_INTERVALOS_DEFASAGEM;
+        }
+
+        return pesoEstado(conta.getTipoEstado()) *
+               (PESO_PROXIMIDADE_LIMITE * proximidade + (1.0 - PESO_PROXIMIDADE_LIMITE) * defasagem);
+    }
+
+    private static double pesoEstado(TipoEstadoConta estado) {
+        if (estado == null) {
+            return 1.0;
+        }
+        switch (estado) {
+            case SUSPENSA:
+            case INADIMPLENTE:
+                return 0.5;
+            case CANCELADA:
+                return 0.1;
+            case ATIVA:
+            default:
+                return 1.0;
+        }
+    }
+
+    /**
+     * Ajusta o intervalo de uma conta em modo adaptativo após uma leitura.
+     * Chamado antes de registrarSucesso (compara com a leitura anterior).
+     */
+    private void ajustarIntervalo(ContextoMonitoramento contexto, LeituraConsumo leitura) {
+        if (!contexto.isAdaptativo()) {
+            return;
+        }
+        boolean houveConsumo = contexto.getDataUltimaLeitura() != null &&
+            Math.abs(leitura.getConsumo() - contexto.getUltimoConsumo()) > VARIACAO_MINIMA_CONSUMO;
+
+        ContaAguaDTO conta = gerenciadorContas.buscar(contexto.getNumeroConta());
+        boolean proximoDoLimite = conta != null && conta.getLimiteConsumo() > 0 &&
+            leitura.getConsumo() >= conta.getLimiteConsumo() * FRACAO_PROXIMIDADE_LIMITE;
 
-                // Se estado não é INICIADO, não executa leitura
-                if (!"INICIADO".equals(estadoMonitoramento.getNomeEstado())) {
+        int atual = contexto.getIntervaloSegundos();
+        int novo = contexto.calcularProximoIntervalo(houveConsumo, proximoDoLimite);
+        if (novo == atual) {
+            return;
+        }
+
+        // Reagenda a partir de agora: ao voltar ao mínimo, o próximo ciclo não
+        // espera o restante do intervalo longo
+        String numeroConta = contexto.getNumeroConta();
+        long periodoMs = TimeUnit.SECONDS.toMillis(novo);
+        RodaTemporizacao.Agendamento agendamento = rodaTemporizacao.agendarPeriodico(
+            () -> despacharCiclo(numeroConta), periodoMs, periodoMs
+        );
+        if (contexto.reagendar(agendamento, novo)) {
+            intervalosAjustados.incrementAndGet();
+            registrarDemandaSHAs(numeroConta, novo);
+        }
+    }
+
+    /**
+     * Despacha um ciclo da conta para o estágio de admissão (thread da roda:
+     * nunca bloqueia). Se o ciclo anterior da mesma conta ainda estiver no
+     * pipeline, este é descartado (tick pulado): uma leitura lenta nunca gera
+     * uma rajada de ciclos atrasados em sequência. Com a admissão cheia
+     * (contrapressão), o tick também é descartado.
+     */
+    private void despacharCiclo(String numeroConta) {
+        long disparoNanos = System.nanoTime();
+        ContextoMonitoramento contexto = contextos.get(numeroConta);
+        if (contexto == null) {
+            return;
+        }
+        if (!contasEmLeitura.add(numeroConta)) {
+            ciclosSobrepostos.incrementAndGet();
+            contexto.registrarTickSobreposto();
+            return;
+        }
+        if (!estagioCiclos.oferecer(new PedidoCiclo(contexto, disparoNanos))) {
+            contexto.registrarTickAtrasado();
+            contasEmLeitura.remove(numeroConta);
+        }
+    }
+
+    /**
+     * Estágio "ciclos" (admissão): estado da conta, prioridade e sobrecarga.
+     * Encaminha para o reconhecimento (ou direto para a avaliação, se a
+     * leitura sair do cache).
+     *
+     * Com o reconhecimento cheio, o ciclo é descartado na hora (o próximo
+     * tick já lê uma imagem mais nova): a admissão não fica presa em um ciclo
+     * de baixa prioridade enquanto ciclos urgentes esperam atrás dele.
+     */
+    private void admitirCiclo(PedidoCiclo pedido) {
+        ContextoMonitoramento contexto = pedido.contexto;
+        boolean encaminhado = false;
+        try {
+            // PADRÃO STATE: Verifica (no estado da conta) se pode executar leitura
+            if (!contexto.executarLeitura()) {
+                return;
+            }
+
+            // Sobrecarga do OCR: contas de baixa prioridade leem só 1 a cada N
+            // ticks, e leituras em cache (janela ampliada) evitam o OCR
+            pedido.prioridade = calcularPrioridade(contexto);
+            ControladorSobrecarga.Nivel nivel = controladorSobrecarga.avaliar(
+                estagioReconhecimento.getProfundidade(), limiteLeiturasSimultaneas);
+            if (nivel != ControladorSobrecarga.Nivel.NORMAL) {
+                if (controladorSobrecarga.deveEsticar(nivel, pedido.prioridade, contexto.registrarTickSobCarga())) {
                     return;
                 }
+                pedido.leitura = lerLeituraContaEmCache(contexto.getNumeroConta());
+                if (pedido.leitura != null) {
+                    controladorSobrecarga.registrarServidaDoCache();
+                    controladorSobrecarga.registrarAtraso(System.nanoTime() - pedido.disparoNanos);
+                    encaminhado = encaminharParaAvaliacao(pedido);
+                    return;
+                }
+            }
 
-                // Lê consumo da conta
-                double consumo = lerConsumoConta(numeroConta);
-
-                // Registra sucesso (reseta contador de falhas)
-                registrarSucessoLeitura(numeroConta);
+            // Etapa de OCR limitada e ordenada por prioridade (sem bloquear a admissão)
+            encaminhado = estagioReconhecimento.oferecer(pedido);
+            if (!encaminhado) {
+                contexto.registrarTickAtrasado();
+            }
+        } finally {
+            if (!encaminhado) {
+                contasEmLeitura.remove(contexto.getNumeroConta());
+            }
+        }
+    }
 
-                // Atualiza estado e notifica observers (PADRÃO OBSERVER)
-                this.consumoAtual = consumo;
-                this.contaAtualMonitorada = numeroConta;
-                notifyObservers();
+    /**
+     * Executor do AgendadorLeiturasSHA: a leitura de uma assinatura entra no
+     * estágio de reconhecimento (limitado, ordenado por prioridade e medido
+     * pelo controle de sobrecarga) em vez de ganhar uma thread própria.
+     *
+     * @throws RejectedExecutionException Com o reconhecimento cheio (o disparo é pulado)
+     */
+    private void enviarLeituraAssinatura(Runnable leitura) {
+        if (!estagioReconhecimento.oferecer(new PedidoCiclo(leitura))) {
+            throw new RejectedExecutionException("Reconhecimento cheio: leitura de assinatura adiada");
+        }
+    }
 
-                System.out.println("📊 Monitoramento [" + numeroConta + "]: " +
-                    String.format("%.2f m³", consumo));
+    /**
+     * Estágio "reconhecimento": ciclo de uma conta ou leitura de uma assinatura por SHA.
+     */
+    private void reconhecer(PedidoCiclo pedido) {
+        if (pedido.leituraAssinatura != null) {
+            pedido.leituraAssinatura.run();
+        } else {
+            reconhecerCiclo(pedido);
+        }
+    }
 
+    /**
+     * Estágio "reconhecimento" (decodificação + OCR de todos os SHAs da conta).
+     * O resultado (leitura ou erro) segue para a avaliação.
+     */
+    private void reconhecerCiclo(PedidoCiclo pedido) {
+        ContextoMonitoramento contexto = pedido.contexto;
+        boolean encaminhado = false;
+        try {
+            long inicioNanos = System.nanoTime();
+            long atrasoNanos = inicioNanos - pedido.disparoNanos;
+            if (atrasoNanos >= TimeUnit.SECONDS.toNanos(contexto.getIntervaloSegundos())) {
+                // Esperou um intervalo inteiro na fila: o próximo tick lê uma imagem mais nova
+                contexto.registrarTickAtrasado();
+                return;
+            }
+            contexto.getAtrasos().registrar(atrasoNanos);
+            controladorSobrecarga.registrarAtraso(atrasoNanos);
+            try {
+                pedido.leitura = lerLeituraConta(contexto.getNumeroConta());
             } catch (ErroDeLeituraImagemException e) {
-                // Registra falha (após 3 falhas → estado ERRO)
-                registrarFalhaLeitura(numeroConta, e);
+                pedido.erro = e;
+            } catch (IllegalArgumentException e) {
+                // Conta removida enquanto monitorada
+                pedido.erroConta = e;
+            } finally {
+                contexto.getDuracoes().registrar(System.nanoTime() - inicioNanos);
+            }
+            encaminhado = encaminharParaAvaliacao(pedido);
+        } finally {
+            // Qualquer caminho que não chega à avaliação libera a conta
+            // (inclusive exceções inesperadas da leitura)
+            if (!encaminhado) {
+                contasEmLeitura.remove(contexto.getNumeroConta());
             }
-        };
+        }
+    }
 
-        // Agenda execução periódica
-        ScheduledFuture<?> futureTask = executorMonitoramento.scheduleAtFixedRate(
-            tarefaMonitoramento,
-            0,                      // Delay inicial (executa imediatamente)
-            intervaloSegundos,      // Período
-            TimeUnit.SECONDS
-        );
+    /**
+     * Entrega o pedido à avaliação, aguardando vaga (contrapressão) até o prazo.
+     */
+    private boolean encaminharParaAvaliacao(PedidoCiclo pedido) {
+        try {
+            return estagioAvaliacao.enviar(pedido, TIMEOUT_ENCAMINHAMENTO_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
 
-        tarefasMonitoramento.put(numeroConta, futureTask);
+    /**
+     * Estágio "avaliacao": regras do ciclo (intervalo adaptativo, falhas,
+     * estado da conta) e publicação no barramento (entregue a cada observer
+     * pela sua própria fila).
+     */
+    private void avaliarCiclo(PedidoCiclo pedido) {
+        ContextoMonitoramento contexto = pedido.contexto;
+        String numeroConta = contexto.getNumeroConta();
+        try {
+            if (pedido.erroConta != null) {
+                registrarFalhaLeitura(numeroConta, pedido.erroConta);
+            } else if (pedido.erro instanceof ImagemRejeitadaException) {
+                // Quadro ilegível (borrado, escuro, dígitos rolando): pula o ciclo,
+                // sem contar como falha consecutiva
+                ciclosRejeitados.incrementAndGet();
+                System.out.println("⏭️  Monitoramento [" + numeroConta + "]: " + pedido.erro.getMessage());
+            } else if (pedido.erro instanceof CircuitoAbertoException) {
+                // SHAs da conta em recuo: o disjuntor decide quando tentar de novo
+                ciclosBloqueados.incrementAndGet();
+            } else if (pedido.erro instanceof CapacidadeEsgotadaException) {
+                // OCR saturado: a câmera não tem culpa, o próximo ciclo tenta de novo
+                System.err.println("⏳ Leitura adiada [" + numeroConta + "]: " + pedido.erro.getMessage());
+            } else if (pedido.erro != null) {
+                // Falha de câmera/OCR: contada só nos disjuntores dos SHAs, que
+                // suspendem e sondam sozinhos; a conta segue monitorada
+                System.err.println("❌ Falha de leitura [" + numeroConta + "]: " + pedido.erro.getMessage());
+            } else {
+                LeituraConsumo leitura = pedido.leitura;
+                ciclosExecutados.incrementAndGet();
+
+                if (leitura.isParcial()) {
+                    // Total sem os SHAs bloqueados (limite inferior): não serve de
+                    // referência para o intervalo adaptativo, mas ainda gera alertas
+                    ciclosParciais.incrementAndGet();
+                } else {
+                    // Modo adaptativo: alonga o intervalo com consumo parado, volta ao mínimo com consumo
+                    ajustarIntervalo(contexto, leitura);
+
+                    // Registra sucesso (reseta contador de falhas da conta)
+                    contexto.registrarSucesso(leitura.getConsumo());
+                }
 
-        System.out.println("✅ Monitoramento iniciado: " + numeroConta +
-            " (intervalo: " + intervaloSegundos + "s)");
+                // Publica a leitura desta conta para os observers (PADRÃO OBSERVER)
+                notifyObservers(leitura);
+
+                System.out.println("📊 Monitoramento [" + numeroConta + "]: " +
+                    String.format("%.2f m³", leitura.getConsumo()) +
+                    (leitura.isParcial() ? " (parcial, SHAs bloqueados: " + leitura.getShasBloqueados() + ")" : ""));
+            }
+        } finally {
+            contasEmLeitura.remove(numeroConta);
+        }
     }
 
     /**
@@ -456,12 +1284,12 @@ public class MonitorConsumo {
             return;
         }
 
-        ScheduledFuture<?> tarefa = tarefasMonitoramento.remove(numeroConta);
-        if (tarefa != null) {
-            tarefa.cancel(false);
+        ContextoMonitoramento contexto = contextos.get(numeroConta);
+        if (contexto != null && contexto.cancelarAgendamento()) {
+            agendadorSHA.cancelarAssinante(ASSINANTE_CONTA + numeroConta);
 
-            // PADRÃO STATE: Altera estado para PARADO
-            estadoMonitoramento.parar(this);
+            // PADRÃO STATE: Altera estado da conta para PARADO
+            contexto.parar();
 
             System.out.println("⏹️  Monitoramento parado: " + numeroConta);
         }
@@ -478,8 +1306,8 @@ public class MonitorConsumo {
             return false;
         }
 
-        ScheduledFuture<?> tarefa = tarefasMonitoramento.get(numeroConta);
-        return tarefa != null && !tarefa.isDone() && !tarefa.isCancelled();
+        ContextoMonitoramento contexto = contextos.get(numeroConta);
+        return contexto != null && contexto.isAgendado();
     }
 
     /**
@@ -487,9 +1315,142 @@ public class MonitorConsumo {
      * Deve ser chamado ao encerrar a aplicação.
      */
     public void shutdown() {
-        if (executorMonitoramento != null && !executorMonitoramento.isShutdown()) {
-            executorMonitoramento.shutdownNow();
+        if (rodaTemporizacao != null && !rodaTemporizacao.isEncerrada()) {
+            rodaTemporizacao.encerrar();
+        }
+        estagioCiclos.encerrar();
+        estagioReconhecimento.encerrar();
+        estagioAvaliacao.encerrar();
+        // Observers entregam as leituras já publicadas e encerram
+        barramento.encerrar();
+    }
+
+    // ========================================================================
+    // MÉTRICAS DO MONITORAMENTO
+    // ========================================================================
+
+    /**
+     * @return Métricas do agendador (inclui atraso do tick)
+     */
+    public String getEstatisticasAgendador() {
+        return rodaTemporizacao.getEstatisticas() + ", " + getIntervalosAjustados() + " intervalos ajustados";
+    }
+
+    public int getLimiteLeiturasSimultaneas() {
+        return limiteLeiturasSimultaneas;
+    }
+
+    /**
+     * @return Contas com ciclo no pipeline (na fila de um estágio ou em processamento)
+     */
+    public int getCiclosEmAndamento() {
+        return contasEmLeitura.size();
+    }
+
+    /**
+     * @return Contas aguardando na fila do estágio de reconhecimento (OCR)
+     */
+    public int getCiclosAguardandoLeitura() {
+        return estagioReconhecimento.getProfundidade();
+    }
+
+    /**
+     * @return Métricas de cada estágio do pipeline (fila, espera, processamento)
+     */
+    public String getEstatisticasPipeline() {
+        return estagioCiclos.getEstatisticas() + "\n" +
+               estagioReconhecimento.getEstatisticas() + "\n" +
+               estagioAvaliacao.getEstatisticas();
+    }
+
+    /**
+     * @return Nível de carga do OCR e decisões de degradação tomadas
+     */
+    public String getEstatisticasSobrecarga() {
+        return controladorSobrecarga.getEstatisticas();
+    }
+
+    public ControladorSobrecarga.Nivel getNivelSobrecarga() {
+        return controladorSobrecarga.getNivel();
+    }
+
+    /**
+     * @return Leituras de SHA executadas, compartilhadas e reaproveitadas
+     */
+    public String getEstatisticasCoalescencia() {
+        return coalescedor.getEstatisticas();
+    }
+
+    /**
+     * @return Atraso, duração e ticks pulados de uma conta (null se nunca monitorada)
+     */
+    public String getEstatisticasConta(String numeroConta) {
+        ContextoMonitoramento contexto = numeroConta != null ? contextos.get(numeroConta) : null;
+        return contexto != null ? contexto.getEstatisticas() : null;
+    }
+
+    public long getCiclosExecutados() {
+        return ciclosExecutados.get();
+    }
+
+    /**
+     * @return Ciclos descartados porque o anterior da mesma conta não havia terminado
+     */
+    public long getCiclosSobrepostos() {
+        return ciclosSobrepostos.get();
+    }
+
+    /**
+     * @return Ciclos pulados porque todos os SHAs da conta estavam com o disjuntor aberto
+     */
+    public long getCiclosBloqueados() {
+        return ciclosBloqueados.get();
+    }
+
+    /**
+     * @return Ciclos publicados sem os SHAs com o disjuntor aberto (leitura parcial)
+     */
+    public long getCiclosParciais() {
+        return ciclosParciais.get();
+    }
+
+    /**
+     * @return Estado dos disjuntores que não estão fechados (SHAs em recuo)
+     */
+    public String getEstatisticasDisjuntores() {
+        int abertos = 0;
+        StringBuilder porSHA = new StringBuilder();
+        for (Map.Entry<Integer, DisjuntorLeitura> entrada : disjuntores.entrySet()) {
+            DisjuntorLeitura disjuntor = entrada.getValue();
+            if (disjuntor.getEstado() != DisjuntorLeitura.Estado.FECHADO) {
+                abertos++;
+                porSHA.append(" [SHA ").append(entrada.getKey()).append(": ").append(disjuntor).append("]");
+            }
         }
+        return String.format("Disjuntores: %d SHAs, %d em recuo, %d ciclos bloqueados, %d ciclos parciais",
+            disjuntores.size(), abertos, getCiclosBloqueados(), getCiclosParciais()) + porSHA;
+    }
+
+    /**
+     * @return Estado do disjuntor de um SHA (FECHADO se nunca lido)
+     */
+    public DisjuntorLeitura.Estado getEstadoDisjuntor(int idSHA) {
+        DisjuntorLeitura disjuntor = disjuntores.get(idSHA);
+        return disjuntor != null ? disjuntor.getEstado() : DisjuntorLeitura.Estado.FECHADO;
+    }
+
+    /**
+     * @return Ciclos pulados porque todos os quadros com falha foram reprovados pelo filtro de qualidade
+     */
+    public long getCiclosRejeitados() {
+        return ciclosRejeitados.get();
+    }
+
+    /**
+     * @return Reagendamentos feitos pelo modo adaptativo (intervalo alongado ou encurtado)
+     */
+    public long getIntervalosAjustados() {
+        return intervalosAjustados.get();
     }
 
     // ========================================================================
@@ -497,24 +1458,28 @@ public class MonitorConsumo {
     // ========================================================================
 
     /**
-     * Retorna o estado atual do monitoramento.
+     * Retorna o estado do monitoramento de uma conta.
      * PADRÃO STATE
      *
-     * @return Estado atual
+     * @param numeroConta Número da conta
+     * @return Estado da conta (PARADO se a conta nunca foi monitorada)
      */
-    public subsistemas.monitoramento.state.EstadoMonitoramento getEstadoMonitoramento() {
-        return estadoMonitoramento;
+    public subsistemas.monitoramento.state.EstadoMonitoramento getEstadoMonitoramento(String numeroConta) {
+        ContextoMonitoramento contexto = numeroConta != null ? contextos.get(numeroConta) : null;
+        if (contexto == null) {
+            return new subsistemas.monitoramento.state.EstadoMonitoramentoParado();
+        }
+        return contexto.getEstadoMonitoramento();
     }
 
     /**
-     * Define o estado do monitoramento.
-     * PADRÃO STATE
-     * Usado internamente pelos estados concretos.
+     * Retorna o contexto de monitoramento de uma conta.
      *
-     * @param estadoMonitoramento Novo estado
+     * @param numeroConta Número da conta
+     * @return Contexto, ou null se a conta nunca foi monitorada
      */
-    public void setEstadoMonitoramento(subsistemas.monitoramento.state.EstadoMonitoramento estadoMonitoramento) {
-        this.estadoMonitoramento = estadoMonitoramento;
+    public ContextoMonitoramento getContexto(String numeroConta) {
+        return numeroConta != null ? contextos.get(numeroConta) : null;
     }
 
     /**
@@ -529,8 +1494,8 @@ public class MonitorConsumo {
             return;
         }
 
-        // PADRÃO STATE: Delega para o estado
-        estadoMonitoramento.pausar(this);
+        // PADRÃO STATE: Delega para o estado da conta
+        contextos.get(numeroConta).pausar();
     }
 
     /**
@@ -545,8 +1510,14 @@ public class MonitorConsumo {
             return;
         }
 
-        // PADRÃO STATE: Delega para o estado
-        estadoMonitoramento.retomar(this);
+        ContextoMonitoramento contexto = contextos.get(numeroConta);
+        if (contexto == null) {
+            System.out.println("⚠️  Conta não está sendo monitorada: " + numeroConta);
+            return;
+        }
+
+        // PADRÃO STATE: Delega para o estado da conta
+        contexto.retomar();
     }
 
     // ========================================================================
@@ -555,42 +1526,94 @@ public class MonitorConsumo {
 
     /**
      * Registra uma falha de leitura para uma conta.
-     * Após 3 falhas consecutivas, muda para estado ERRO.
+     * Após 3 falhas consecutivas, muda APENAS esta conta para o estado ERRO.
+     *
+     * Falhas de câmera/OCR não passam mais por aqui: ficam com os disjuntores
+     * dos SHAs (DisjuntorLeitura), que se recuperam sozinhos. O estado ERRO
+     * fica para falhas da própria conta (ex.: conta removida durante o monitoramento).
      *
      * @param numeroConta Número da conta
      * @param erro Exceção que causou a falha
      */
     public void registrarFalhaLeitura(String numeroConta, Exception erro) {
-        int falhas = contadorFalhasPorConta.getOrDefault(numeroConta, 0) + 1;
-        contadorFalhasPorConta.put(numeroConta, falhas);
+        ContextoMonitoramento contexto = contextos.get(numeroConta);
+        if (contexto == null) {
+            return;
+        }
+        int falhas = contexto.registrarFalha();
 
         System.err.println("❌ Falha de leitura #" + falhas + " [" + numeroConta + "]: " +
             erro.getMessage());
 
-        // Após 3 falhas consecutivas, muda para estado ERRO
-        if (falhas >= 3) {
-            estadoMonitoramento.parar(this);
-            estadoMonitoramento = new subsistemas.monitoramento.state.EstadoMonitoramentoErro(
-                "3 falhas consecutivas na leitura de " + numeroConta
-            );
+        // Após 3 falhas consecutivas, muda a conta (só ela) para estado ERRO,
+        // sem disparos na roda nem demanda nos SHAs (como pararMonitoramentoConta)
+        if (falhas >= LIMITE_FALHAS_CONSECUTIVAS) {
+            contexto.cancelarAgendamento();
+            agendadorSHA.cancelarAssinante(ASSINANTE_CONTA + numeroConta);
+            contexto.parar();
+            contexto.setEstadoMonitoramento(new subsistemas.monitoramento.state.EstadoMonitoramentoErro(
+                LIMITE_FALHAS_CONSECUTIVAS + " falhas consecutivas na leitura de " + numeroConta
+            ));
             System.err.println("🔴 Estado alterado para ERRO: " + numeroConta);
+            notificarFimAgendamento(numeroConta);
+        }
+    }
+
+    private void notificarFimAgendamento(String numeroConta) {
+        Consumer<String> ouvinte = ouvinteFimAgendamento;
+        if (ouvinte == null) {
+            return;
+        }
+        try {
+            ouvinte.accept(numeroConta);
+        } catch (RuntimeException e) {
+            System.err.println("⚠️  Erro ao registrar o fim do agendamento [" + numeroConta + "]: " + e.getMessage());
         }
     }
 
     /**
-     * Registra sucesso na leitura (reseta contador de falhas).
+     * Reseta o contador de falhas de uma conta (usado ao reiniciar após erro).
      *
      * @param numeroConta Número da conta
      */
-    public void registrarSucessoLeitura(String numeroConta) {
-        contadorFalhasPorConta.put(numeroConta, 0);
+    public void resetarContadorFalhas(String numeroConta) {
+        ContextoMonitoramento contexto = contextos.get(numeroConta);
+        if (contexto != null) {
+            contexto.resetarContadorFalhas();
+        }
     }
 
+    // ========================================================================
+    // CLASSE INTERNA: PEDIDO DE CICLO
+    // ========================================================================
+
     /**
-     * Reseta o contador de falhas (usado ao reiniciar após erro).
+     * Ciclo de uma conta atravessando o pipeline. Cada estágio preenche a sua
+     * parte antes de encaminhar (a fila entre estágios publica os campos).
      */
-    public void resetarContadorFalhas() {
-        contadorFalhasPorConta.clear();
+    private static final class PedidoCiclo {
+        private final ContextoMonitoramento contexto;
+        private final long disparoNanos;
+        private double prioridade;
+        private LeituraConsumo leitura;
+        private ErroDeLeituraImagemException erro;
+        private IllegalArgumentException erroConta;
+        private final Runnable leituraAssinatura;
+
+        PedidoCiclo(ContextoMonitoramento contexto, long disparoNanos) {
+            this.contexto = contexto;
+            this.disparoNanos = disparoNanos;
+            this.leituraAssinatura = null;
+        }
+
+        /**
+         * Leitura de uma assinatura por SHA (sem conta), com prioridade intermediária.
+         */
+        PedidoCiclo(Runnable leituraAssinatura) {
+            this.contexto = null;
+            this.disparoNanos = System.nanoTime();
+            this.prioridade = PRIORIDADE_LEITURA_ASSINATURA;
+            this.leituraAssinatura = leituraAssinatura;
+        }
     }
 }
-
@@ -0,0 +1,327 @@
+package subsistemas.monitoramento;
+
+import excecoes.ErroDeLeituraImagemException;
+import modelo.RegiaoVisor;
+import nu.pattern.OpenCV;
+import org.opencv.core.Core;
+import org.opencv.core.Mat;
+import org.opencv.core.MatOfPoint;
+import org.opencv.core.MatOfPoint2f;
+import org.opencv.core.Point;
+import org.opencv.core.Rect;
+import org.opencv.core.RotatedRect;
+import org.opencv.core.Size;
+import org.opencv.imgproc.Imgproc;
+
+import java.awt.Dimension;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Estágio de pré-processamento (OpenCV) executado antes do OCR.
+ *
+ * Em vez de entregar ao Tesseract o quadro inteiro da câmera, reduz a imagem
+ * a uma faixa pequena e binarizada contendo apenas o visor do hidrômetro:
+ * 1. Decodifica em tons de cinza um quadro reduzido (CarregadorImagem)
+ * 2. Localiza o visor (maior contorno retangular "largo" do quadro)
+ * 3. Decodifica apenas o recorte do visor, em resolução total
+ * 4. Corrige a inclinação (deskew) pelo retângulo mínimo do contorno
+ * 5. Filtro de qualidade (FiltroQualidadeImagem): rejeita quadros ilegíveis
+ * 6. Binariza com limiar adaptativo (dígitos escuros sobre fundo claro)
+ *
+ * Quando a região do visor já é conhecida (CacheRegioesVisor), a etapa 2
+ * é pulada: processarRegiao() apenas recorta, alinha e binariza.
+ *
+ * Os buffers Mat (e a BufferedImage de saída) são reaproveitados POR THREAD,
+ * evitando alocação a cada leitura. Consequência: a imagem retornada por
+ * processar() só é válida até a próxima chamada na mesma thread.
+ *
+ * @author Pedro Henrique
+ * @date 2026-10-16
+ */
+public class PreProcessadorImagem {
+
+    /**
+     * Proporção mínima/máxima (largura/altura) para um contorno ser considerado visor.
+     */
+    private static final double PROPORCAO_MINIMA_VISOR = 2.0;
+    private static final double PROPORCAO_MAXIMA_VISOR = 12.0;
+
+    /**
+     * Área mínima do visor em relação ao quadro (evita ruído).
+     */
+    private static final double AREA_MINIMA_VISOR = 0.01;
+
+    /**
+     * Inclinação mínima (graus) para aplicar o deskew.
+     */
+    private static final double INCLINACAO_MINIMA = 0.5;
+
+    private static volatile boolean openCVCarregado = false;
+
+    /**
+     * Buffers reaproveitados por thread de trabalho.
+     */
+    private static final ThreadLocal<Buffers> BUFFERS = ThreadLocal.withInitial(Buffers::new);
+
+    private final CarregadorImagem carregador;
+
+    /**
+     * Filtro de qualidade antes da binarização (null = desativado).
+     */
+    private final FiltroQualidadeImagem filtroQualidade;
+
+    public PreProcessadorImagem() {
+        this(new CarregadorImagem(), new FiltroQualidadeImagem());
+    }
+
+    /**
+     * @param carregador Estágio de decodificação (subamostragem + região na origem)
+     * @param filtroQualidade Filtro de qualidade do quadro (null para desativar)
+     */
+    public PreProcessadorImagem(CarregadorImagem carregador, FiltroQualidadeImagem filtroQualidade) {
+        if (carregador == null) {
+            throw new IllegalArgumentException("Carregador de imagem não pode ser nulo");
+        }
+        carregarOpenCV();
+        this.carregador = carregador;
+        this.filtroQualidade = filtroQualidade;
+    }
+
+    public FiltroQualidadeImagem getFiltroQualidade() {
+        return filtroQualidade;
+    }
+
+    /**
+     * Carrega a biblioteca nativa do OpenCV (uma vez por JVM).
+     */
+    static void carregarOpenCV() {
+        if (!openCVCarregado) {
+            synchronized (PreProcessadorImagem.class) {
+                if (!openCVCarregado) {
+                    OpenCV.loadLocally();
+                    openCVCarregado = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Executa o pipeline completo e retorna a faixa binarizada do visor.
+     *
+     * @param caminhoImagem Caminho da imagem do hidrômetro
+     * @return Faixa binarizada (válida até a próxima chamada nesta thread)
+     * @throws ErroDeLeituraImagemException Se a imagem não puder ser decodificada
+     *         (ImagemRejeitadaException se o quadro for reprovado pelo filtro)
+     */
+    public BufferedImage processar(String caminhoImagem) throws ErroDeLeituraImagemException {
+        Buffers b = BUFFERS.get();
+        b.imagem = paraBufferedImage(extrairFaixa(caminhoImagem), b.imagem);
+        return b.imagem;
+    }
+
+    /**
+     * Pipeline completo, retornando a faixa binarizada como Mat (sem cópia).
+     *
+     * @param caminhoImagem Caminho da imagem do hidrômetro
+     * @return Faixa binarizada (buffer da thread: válida até a próxima chamada)
+     * @throws ErroDeLeituraImagemException Se a imagem não puder ser decodificada
+     */
+    Mat extrairFaixa(String caminhoImagem) throws ErroDeLeituraImagemException {
+        return extrairFaixa(caminhoImagem,
+                            detectarRegiao(caminhoImagem, ConvencaoImagemSHA.extrairIdSHA(caminhoImagem)));
+    }
+
+    /**
+     * Detecta a região do visor de um SHA (sem recortar/binarizar).
+     *
+     * A busca roda no quadro subamostrado; a região retornada já está em
+     * coordenadas do quadro em resolução total.
+     *
+     * @param caminhoImagem Caminho da imagem do hidrômetro
+     * @param idSHA ID do SHA dono da imagem
+     * @return Região detectada (inclui geometria do quadro e inclinação)
+     * @throws ErroDeLeituraImagemException Se a imagem não puder ser decodificada
+     */
+    public RegiaoVisor detectarRegiao(String caminhoImagem, int idSHA) throws ErroDeLeituraImagemException {
+        Dimension quadro = carregador.lerDimensoes(caminhoImagem);
+        int fator = CarregadorImagem.calcularSubamostragem(quadro.width, CarregadorImagem.LARGURA_MAXIMA_DETECCAO);
+        Mat reduzido = carregador.carregarEmCinza(caminhoImagem, null, fator);
+
+        Buffers b = BUFFERS.get();
+        Rect visor = localizarVisor(reduzido, b);
+
+        // Volta para a escala original, limitado ao quadro
+        int x = Math.min(visor.x * fator, quadro.width - 1);
+        int y = Math.min(visor.y * fator, quadro.height - 1);
+        int largura = Math.min(visor.width * fator, quadro.width - x);
+        int altura = Math.min(visor.height * fator, quadro.height - y);
+        return new RegiaoVisor(idSHA, x, y, largura, altura, quadro.width, quadro.height, b.inclinacao);
+    }
+
+    /**
+     * Recorta, alinha e binariza uma região já conhecida (sem localizar o visor).
+     *
+     * @param caminhoImagem Caminho da imagem do hidrômetro
+     * @param regiao Região do visor previamente detectada
+     * @return Faixa binarizada, ou null se a geometria do quadro mudou
+     * @throws ErroDeLeituraImagemException Se a imagem não puder ser decodificada
+     *         (ImagemRejeitadaException se o quadro for reprovado pelo filtro)
+     */
+    public BufferedImage processarRegiao(String caminhoImagem, RegiaoVisor regiao)
+            throws ErroDeLeituraImagemException {
+        Mat faixa = extrairFaixa(caminhoImagem, regiao);
+        if (faixa == null) {
+            return null;
+        }
+        Buffers b = BUFFERS.get();
+        b.imagem = paraBufferedImage(faixa, b.imagem);
+        return b.imagem;
+    }
+
+    /**
+     * Recorta, alinha e binariza uma região conhecida, retornando o Mat (sem cópia).
+     *
+     * @param caminhoImagem Caminho da imagem do hidrômetro
+     * @param regiao Região do visor previamente detectada
+     * @return Faixa binarizada (buffer da thread), ou null se a geometria do quadro mudou
+     * @throws ErroDeLeituraImagemException Se a imagem não puder ser decodificada
+     */
+    Mat extrairFaixa(String caminhoImagem, RegiaoVisor regiao) throws ErroDeLeituraImagemException {
+        Dimension quadro = carregador.lerDimensoes(caminhoImagem);
+        if (!regiao.compativelCom(quadro.width, quadro.height)) {
+            return null;
+        }
+        Mat recorte = carregador.carregarEmCinza(caminhoImagem,
+            new Rectangle(regiao.getX(), regiao.getY(), regiao.getLargura(), regiao.getAltura()), 1);
+
+        Buffers b = BUFFERS.get();
+        b.inclinacao = regiao.getInclinacao();
+        alinhar(recorte, b);
+        if (filtroQualidade != null) {
+            filtroQualidade.verificar(b.alinhada, regiao.getIdSHA());
+        }
+        binarizar(b.alinhada, b.binaria);
+        return b.binaria;
+    }
+
+    // ========================================================================
+    // ETAPAS DO PIPELINE
+    // ========================================================================
+
+    /**
+     * Localiza o visor: bordas (Canny) + fechamento horizontal para unir os
+     * dígitos em um único bloco + maior contorno com proporção de visor.
+     * Se nada for encontrado, usa o quadro inteiro.
+     */
+    Rect localizarVisor(Mat cinza, Buffers b) {
+        Imgproc.GaussianBlur(cinza, b.suavizada, new Size(5, 5), 0);
+        Imgproc.Canny(b.suavizada, b.bordas, 50, 150);
+        Imgproc.morphologyEx(b.bordas, b.bordas, Imgproc.MORPH_CLOSE, b.kernelHorizontal);
+
+        List<MatOfPoint> contornos = new ArrayList<>();
+        Imgproc.findContours(b.bordas, contornos, b.hierarquia,
+                             Imgproc.RETR_EXTERNAL, Imgproc.CHAIN_APPROX_SIMPLE);
+
+        double areaQuadro = cinza.total();
+        Rect melhor = null;
+        b.inclinacao = 0.0;
+
+        for (MatOfPoint contorno : contornos) {
+            Rect r = Imgproc.boundingRect(contorno);
+            double proporcao = r.width / Math.max(1.0, r.height);
+            if (proporcao < PROPORCAO_MINIMA_VISOR || proporcao > PROPORCAO_MAXIMA_VISOR) {
+                contorno.release();
+                continue;
+            }
+            if (r.area() < areaQuadro * AREA_MINIMA_VISOR) {
+                contorno.release();
+                continue;
+            }
+            if (melhor == null || r.area() > melhor.area()) {
+                melhor = r;
+                MatOfPoint2f pontos = new MatOfPoint2f(contorno.toArray());
+                b.inclinacao = normalizarAngulo(Imgproc.minAreaRect(pontos));
+                pontos.release();
+            }
+            contorno.release();
+        }
+
+        return melhor != null ? melhor : new Rect(0, 0, cinza.cols(), cinza.rows());
+    }
+
+    /**
+     * Corrige a inclinação do recorte (deskew) quando relevante.
+     */
+    private void alinhar(Mat recorte, Buffers b) {
+        if (Math.abs(b.inclinacao) < INCLINACAO_MINIMA) {
+            recorte.copyTo(b.alinhada);
+            return;
+        }
+        Point centro = new Point(recorte.cols() / 2.0, recorte.rows() / 2.0);
+        Mat rotacao = Imgproc.getRotationMatrix2D(centro, b.inclinacao, 1.0);
+        Imgproc.warpAffine(recorte, b.alinhada, rotacao, recorte.size(),
+                           Imgproc.INTER_LINEAR, Core.BORDER_REPLICATE);
+        rotacao.release();
+    }
+
+    /**
+     * Limiar adaptativo; garante dígitos escuros sobre fundo claro (preferência do Tesseract).
+     */
+    private void binarizar(Mat entrada, Mat saida) {
+        Imgproc.adaptiveThreshold(entrada, saida, 255, Imgproc.ADAPTIVE_THRESH_GAUSSIAN_C,
+                                  Imgproc.THRESH_BINARY, 31, 10);
+        if (Core.countNonZero(saida) < saida.total() / 2) {
+            Core.bitwise_not(saida, saida);
+        }
+    }
+
+    /**
+     * Leva o ângulo do minAreaRect para o intervalo (-45, 45].
+     */
+    private static double normalizarAngulo(RotatedRect retangulo) {
+        double angulo = retangulo.angle;
+        while (angulo > 45) {
+            angulo -= 90;
+        }
+        while (angulo <= -45) {
+            angulo += 90;
+        }
+        return angulo;
+    }
+
+    /**
+     * Copia um Mat CV_8UC1 para uma BufferedImage em tons de cinza,
+     * reaproveitando a imagem anterior quando as dimensões coincidem.
+     */
+    static BufferedImage paraBufferedImage(Mat mat, BufferedImage reaproveitar) {
+        BufferedImage imagem = reaproveitar;
+        if (imagem == null || imagem.getWidth() != mat.cols() || imagem.getHeight() != mat.rows()) {
+            imagem = new BufferedImage(mat.cols(), mat.rows(), BufferedImage.TYPE_BYTE_GRAY);
+        }
+        byte[] destino = ((DataBufferByte) imagem.getRaster().getDataBuffer()).getData();
+        mat.get(0, 0, destino);
+        return imagem;
+    }
+
+    // ========================================================================
+    // BUFFERS POR THREAD
+    // ========================================================================
+
+    /**
+     * Conjunto de Mats de trabalho de uma thread.
+     */
+    static class Buffers {
+        final Mat suavizada = new Mat();
+        final Mat bordas = new Mat();
+        final Mat hierarquia = new Mat();
+        final Mat alinhada = new Mat();
+        final Mat binaria = new Mat();
+        final Mat kernelHorizontal = Imgproc.getStructuringElement(Imgproc.MORPH_RECT, new Size(25, 5));
+        double inclinacao;
+        BufferedImage imagem;
+    }
+}
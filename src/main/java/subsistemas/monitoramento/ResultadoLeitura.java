@@ -0,0 +1,65 @@
+package subsistemas.monitoramento;
+
+import excecoes.ErroDeLeituraImagemException;
+
+/**
+ * Resultado da leitura de UMA imagem dentro de um lote.
+ *
+ * Em lote, a falha de uma imagem não interrompe as demais: cada caminho
+ * recebe seu próprio resultado, com o consumo lido OU o erro ocorrido.
+ *
+ * @author Pedro Henrique
+ * @date 2026-10-16
+ */
+public class ResultadoLeitura {
+
+    private final String caminhoImagem;
+    private final double consumo;
+    private final ErroDeLeituraImagemException erro;
+
+    private ResultadoLeitura(String caminhoImagem, double consumo, ErroDeLeituraImagemException erro) {
+        this.caminhoImagem = caminhoImagem;
+        this.consumo = consumo;
+        this.erro = erro;
+    }
+
+    public static ResultadoLeitura sucesso(String caminhoImagem, double consumo) {
+        return new ResultadoLeitura(caminhoImagem, consumo, null);
+    }
+
+    public static ResultadoLeitura falha(String caminhoImagem, ErroDeLeituraImagemException erro) {
+        if (erro == null) {
+            throw new IllegalArgumentException("Erro da leitura não pode ser nulo");
+        }
+        return new ResultadoLeitura(caminhoImagem, 0.0, erro);
+    }
+
+    public String getCaminhoImagem() {
+        return caminhoImagem;
+    }
+
+    public boolean isSucesso() {
+        return erro == null;
+    }
+
+    /**
+     * @return Consumo lido em m³ (0.0 se a leitura falhou)
+     */
+    public double getConsumo() {
+        return consumo;
+    }
+
+    /**
+     * @return Erro da leitura, ou null em caso de sucesso
+     */
+    public ErroDeLeituraImagemException getErro() {
+        return erro;
+    }
+
+    @Override
+    public String toString() {
+        return isSucesso()
+            ? String.format("%s: %.2f m³", caminhoImagem, consumo)
+            : caminhoImagem + ": ERRO (" + erro.getMessage() + ")";
+    }
+}
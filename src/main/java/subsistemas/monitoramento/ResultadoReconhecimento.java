@@ -0,0 +1,74 @@
+package subsistemas.monitoramento;
+
+/**
+ * Resultado de um reconhecimento com confiança (ver LeitorComConfianca).
+ *
+ * Além do valor lido, informa a confiança geral (0.0 a 1.0), a confiança
+ * de cada dígito (quando o motor reconhece dígito a dígito) e o nome do
+ * motor que produziu a leitura.
+ *
+ * @author Pedro Henrique
+ * @date 2026-10-16
+ */
+public final class ResultadoReconhecimento {
+
+    /**
+     * Confiança não informada pelo motor.
+     */
+    public static final double CONFIANCA_DESCONHECIDA = -1.0;
+
+    private final double valor;
+    private final double confianca;
+    private final double[] confiancasDigitos;
+    private final String motor;
+
+    public ResultadoReconhecimento(double valor, double confianca, double[] confiancasDigitos, String motor) {
+        this.valor = valor;
+        this.confianca = confianca;
+        this.confiancasDigitos = confiancasDigitos != null ? confiancasDigitos.clone() : new double[0];
+        this.motor = motor;
+    }
+
+    /**
+     * Resultado de um motor que não informa confiança.
+     */
+    public static ResultadoReconhecimento semConfianca(double valor, String motor) {
+        return new ResultadoReconhecimento(valor, CONFIANCA_DESCONHECIDA, null, motor);
+    }
+
+    /**
+     * @return Consumo lido em m³
+     */
+    public double getValor() {
+        return valor;
+    }
+
+    /**
+     * @return Confiança geral (0.0 a 1.0), ou CONFIANCA_DESCONHECIDA
+     */
+    public double getConfianca() {
+        return confianca;
+    }
+
+    public boolean isConfiancaConhecida() {
+        return confianca >= 0.0;
+    }
+
+    /**
+     * @return Confiança de cada dígito, da esquerda para a direita (cópia; vazio se não houver)
+     */
+    public double[] getConfiancasDigitos() {
+        return confiancasDigitos.clone();
+    }
+
+    public String getMotor() {
+        return motor;
+    }
+
+    @Override
+    public String toString() {
+        return isConfiancaConhecida()
+            ? String.format("%.2f m³ (%s, confiança %.0f%%)", valor, motor, confianca * 100.0)
+            : String.format("%.2f m³ (%s)", valor, motor);
+    }
+}
@@ -0,0 +1,332 @@
+package subsistemas.monitoramento;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Roda de temporização (hashed timing wheel) para tarefas periódicas.
+ *
+ * Com scheduleAtFixedRate, cada conta monitorada vira um item na fila de
+ * prioridade do ScheduledExecutorService (inserir/cancelar O(log n)). Aqui o
+ * tempo é dividido em ticks de duração fixa e cada tarefa fica em um dos
+ * N slots da roda (slot = tick de disparo mod N):
+ * - Agendar: O(1) (fila de pendentes drenada pela thread da roda)
+ * - Cancelar: O(1) (marca o agendamento; removido na próxima passada pelo slot)
+ * - Cada tick visita apenas o seu slot; intervalos maiores que uma volta
+ *   usam um contador de voltas restantes
+ * - Tarefas com o mesmo período caem no mesmo slot e disparam em lote
+ *
+ * As tarefas executam NA THREAD DA RODA: devem ser rápidas (ex.: apenas
+ * despachar o trabalho real para outro executor).
+ *
+ * Métrica de atraso do tick: diferença entre o instante previsto do tick
+ * e o instante em que ele foi de fato processado.
+ *
+ * @author Pedro Henrique
+ * @date 2026-10-16
+ */
+public class RodaTemporizacao {
+
+    public static final long DURACAO_TICK_PADRAO_MS = 100;
+    public static final int NUMERO_SLOTS_PADRAO = 512;
+
+    private final long duracaoTickNanos;
+    private final long duracaoTickMs;
+    private final int mascara;
+    private final List<Queue<Agendamento>> slots;
+    private final Queue<Agendamento> pendentes;
+    private final Thread thread;
+    private final long inicioNanos;
+    private volatile boolean encerrada;
+
+    /**
+     * Tick atual (acessado apenas pela thread da roda).
+     */
+    private long tickAtual;
+
+    // Métricas
+    private final AtomicInteger quantidadeAgendamentos;
+    private volatile long ticksProcessados;
+    private volatile long disparos;
+    private volatile long atrasoUltimoTickNanos;
+    private volatile long atrasoMaximoTickNanos;
+    private volatile long atrasoTotalTickNanos;
+
+    public RodaTemporizacao(String nomeThread) {
+        this(DURACAO_TICK_PADRAO_MS, NUMERO_SLOTS_PADRAO, nomeThread);
+    }
+
+    /**
+     * @param duracaoTickMs Resolução da roda (ms)
+     * @param numeroSlots Quantidade de slots (arredondada para potência de 2)
+     * @param nomeThread Nome da thread da roda
+     */
+    public RodaTemporizacao(long duracaoTickMs, int numeroSlots, String nomeThread) {
+        if (duracaoTickMs <= 0) {
+            throw new IllegalArgumentException("Duração do tick deve ser maior que zero");
+        }
+        if (numeroSlots <= 0 || numeroSlots > (1 << 20)) {
+            throw new IllegalArgumentException("Número de slots deve estar entre 1 e 2^20");
+        }
+
+        int tamanho = Integer.highestOneBit(numeroSlots);
+        if (tamanho < numeroSlots) {
+            tamanho <<= 1;
+        }
+
+        this.duracaoTickMs = duracaoTickMs;
+        this.duracaoTickNanos = TimeUnit.MILLISECONDS.toNanos(duracaoTickMs);
+        this.mascara = tamanho - 1;
+        this.slots = new ArrayList<>(tamanho);
+        for (int i = 0; i < tamanho; i++) {
+            slots.add(new ArrayDeque<>());
+        }
+        this.pendentes = new ConcurrentLinkedQueue<>();
+        this.quantidadeAgendamentos = new AtomicInteger(0);
+
+        this.inicioNanos = System.nanoTime();
+        this.thread = new Thread(this::executar, nomeThread);
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Agenda uma tarefa periódica.
+     *
+     * @param tarefa Tarefa (rápida) executada na thread da roda
+     * @param atrasoInicialMs Atraso até o primeiro disparo (ms)
+     * @param periodoMs Período entre disparos (ms, arredondado para ticks)
+     * @return Agendamento (permite cancelar)
+     */
+    public Agendamento agendarPeriodico(Runnable tarefa, long atrasoInicialMs, long periodoMs) {
+        if (tarefa == null) {
+            throw new IllegalArgumentException("Tarefa não pode ser nula");
+        }
+        if (atrasoInicialMs < 0) {
+            throw new IllegalArgumentException("Atraso inicial não pode ser negativo");
+        }
+        if (periodoMs <= 0) {
+            throw new IllegalArgumentException("Período deve ser maior que zero");
+        }
+        if (encerrada) {
+            throw new IllegalStateException("Roda de temporização já foi encerrada");
+        }
+
+        Agendamento agendamento = new Agendamento(tarefa, paraTicks(periodoMs));
+        agendamento.ticksAtePrimeiroDisparo = paraTicks(atrasoInicialMs);
+        quantidadeAgendamentos.incrementAndGet();
+        pendentes.add(agendamento);
+        return agendamento;
+    }
+
+    /**
+     * Encerra a thread da roda. Agendamentos restantes não disparam mais.
+     */
+    public void encerrar() {
+        encerrada = true;
+        thread.interrupt();
+    }
+
+    public boolean isEncerrada() {
+        return encerrada;
+    }
+
+    // ========================================================================
+    // THREAD DA RODA
+    // ========================================================================
+
+    private void executar() {
+        List<Agendamento> reinserir = new ArrayList<>();
+
+        while (!encerrada) {
+            // Aguarda o instante previsto do próximo tick
+            long prazo = inicioNanos + (tickAtual + 1) * duracaoTickNanos;
+            long espera = prazo - System.nanoTime();
+            if (espera > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(espera);
+                } catch (InterruptedException e) {
+                    if (encerrada) {
+                        return;
+                    }
+                    continue;
+                }
+            }
+
+            registrarAtraso(System.nanoTime() - prazo);
+            tickAtual++;
+
+            drenarPendentes();
+            processarSlot(slots.get((int) (tickAtual & mascara)), reinserir);
+            ticksProcessados++;
+        }
+    }
+
+    /**
+     * Insere na roda os agendamentos criados desde o último tick.
+     */
+    private void drenarPendentes() {
+        Agendamento agendamento;
+        while ((agendamento = pendentes.poll()) != null) {
+            if (!agendamento.isCancelado()) {
+                inserir(agendamento, tickAtual, agendamento.ticksAtePrimeiroDisparo);
+            }
+        }
+    }
+
+    /**
+     * Processa o slot do tick atual: descarta cancelados, decrementa voltas
+     * e dispara (em lote) os agendamentos vencidos.
+     */
+    private void processarSlot(Queue<Agendamento> slot, List<Agendamento> reinserir) {
+        int quantidade = slot.size();
+        for (int i = 0; i < quantidade; i++) {
+            Agendamento agendamento = slot.poll();
+            if (agendamento.isCancelado()) {
+                continue;
+            }
+            if (agendamento.voltasRestantes > 0) {
+                agendamento.voltasRestantes--;
+                slot.add(agendamento);
+                continue;
+            }
+
+            disparar(agendamento);
+            if (!agendamento.isCancelado()) {
+                reinserir.add(agendamento);
+            }
+        }
+
+        // Próximo disparo: contado a partir do tick seguinte
+        for (Agendamento agendamento : reinserir) {
+            inserir(agendamento, tickAtual + 1, agendamento.periodoTicks - 1);
+        }
+        reinserir.clear();
+    }
+
+    /**
+     * Posiciona o agendamento para disparar "ticks" ticks após o tick base.
+     */
+    private void inserir(Agendamento agendamento, long tickBase, long ticks) {
+        long alvo = tickBase + ticks;
+        agendamento.voltasRestantes = ticks / slots.size();
+        slots.get((int) (alvo & mascara)).add(agendamento);
+    }
+
+    private void disparar(Agendamento agendamento) {
+        disparos++;
+        try {
+            agendamento.tarefa.run();
+        } catch (RuntimeException e) {
+            System.err.println("Erro em tarefa agendada: " + e.getMessage());
+        }
+    }
+
+    private long paraTicks(long ms) {
+        return Math.max(0, (ms + duracaoTickMs - 1) / duracaoTickMs);
+    }
+
+    private void registrarAtraso(long atrasoNanos) {
+        long atraso = Math.max(0, atrasoNanos);
+        atrasoUltimoTickNanos = atraso;
+        atrasoTotalTickNanos += atraso;
+        if (atraso > atrasoMaximoTickNanos) {
+            atrasoMaximoTickNanos = atraso;
+        }
+    }
+
+    // ========================================================================
+    // MÉTRICAS
+    // ========================================================================
+
+    public long getDuracaoTickMs() {
+        return duracaoTickMs;
+    }
+
+    public int getNumeroSlots() {
+        return slots.size();
+    }
+
+    /**
+     * @return Agendamentos ativos (não cancelados)
+     */
+    public int getQuantidadeAgendamentos() {
+        return quantidadeAgendamentos.get();
+    }
+
+    public long getTicksProcessados() {
+        return ticksProcessados;
+    }
+
+    public long getDisparos() {
+        return disparos;
+    }
+
+    public double getAtrasoUltimoTickMs() {
+        return atrasoUltimoTickNanos / 1_000_000.0;
+    }
+
+    public double getAtrasoMaximoTickMs() {
+        return atrasoMaximoTickNanos / 1_000_000.0;
+    }
+
+    public double getAtrasoMedioTickMs() {
+        long ticks = ticksProcessados;
+        return ticks == 0 ? 0.0 : atrasoTotalTickNanos / 1_000_000.0 / ticks;
+    }
+
+    public String getEstatisticas() {
+        return String.format(
+            "Roda de temporização: %d agendamentos, %d slots x %dms, %d disparos, " +
+            "atraso do tick %.1fms (médio %.1fms, máx %.1fms)",
+            getQuantidadeAgendamentos(), getNumeroSlots(), duracaoTickMs, getDisparos(),
+            getAtrasoUltimoTickMs(), getAtrasoMedioTickMs(), getAtrasoMaximoTickMs()
+        );
+    }
+
+    // ========================================================================
+    // CLASSE INTERNA: AGENDAMENTO
+    // ========================================================================
+
+    /**
+     * Tarefa periódica posicionada na roda.
+     */
+    public final class Agendamento {
+        private final Runnable tarefa;
+        private final AtomicBoolean cancelado;
+        private volatile long periodoTicks;
+
+        // Acessados apenas pela thread da roda
+        private long ticksAtePrimeiroDisparo;
+        private long voltasRestantes;
+
+        private Agendamento(Runnable tarefa, long periodoTicks) {
+            this.tarefa = tarefa;
+            this.periodoTicks = Math.max(1, periodoTicks);
+            this.cancelado = new AtomicBoolean(false);
+        }
+
+        /**
+         * Cancela o agendamento (O(1)). Um disparo em andamento não é interrompido.
+         */
+        public void cancelar() {
+            if (cancelado.compareAndSet(false, true)) {
+                quantidadeAgendamentos.decrementAndGet();
+            }
+        }
+
+        public boolean isCancelado() {
+            return cancelado.get() || encerrada;
+        }
+
+        public long getPeriodoMs() {
+            return periodoTicks * duracaoTickMs;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package subsistemas.monitoramento;
+
+import excecoes.ErroDeLeituraImagemException;
+import excecoes.ImagemRejeitadaException;
+import modelo.RegiaoVisor;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Processo trabalhador de OCR (executado em uma JVM separada pelo LeitorProcessoImpl).
+ *
+ * Uma falha nativa do Tesseract (SIGSEGV em recog_all_words) derruba a JVM
+ * inteira. Executando o OCR em processos trabalhadores, a falha derruba
+ * apenas o trabalhador; o painel reinicia o processo e repete a leitura.
+ *
+ * O painel continua dono da configuração e do estado: cada pedido leva os
+ * limiares atuais do filtro de qualidade e a região do visor em cache do SHA,
+ * e a resposta devolve a confiança do OCR, a região (se foi redetectada) e o
+ * desfecho do filtro, que o painel persiste e contabiliza. Assim um
+ * trabalhador reiniciado não perde a região nem os contadores.
+ *
+ * Protocolo (uma linha por mensagem, UTF-8, campos separados por TAB):
+ * - Pedido  (stdin):  <id>\t<caminhoImagem>\t<limiares>\t<regiao>
+ * - Resposta (stdout): <id>\tOK\t<consumo>\t<confianca>\t<regiao>
+ *                      ou   <id>\tERRO\t<filtro>\t<mensagem>
+ *                      ou   <id>\tREJEITADA:<motivo>\t<mensagem> (filtro de qualidade)
+ * Onde <limiares> = nitidez;exposição;bordasMínima;bordasMáxima,
+ * <regiao> = x;y;largura;altura;larguraQuadro;alturaQuadro;inclinação (ou "-")
+ * e <filtro> = APROVADA se o quadro passou pelo filtro antes do erro (ou "-").
+ *
+ * O stdout é reservado ao protocolo: qualquer System.out do OCR é desviado
+ * para o stderr (herdado pelo painel, aparece no console).
+ *
+ * @author Pedro Henrique
+ * @date 2026-10-16
+ */
+public class TrabalhadorOCR {
+
+    static final String SEPARADOR = "\t";
+    static final String SEPARADOR_CAMPOS = ";";
+    static final String VAZIO = "-";
+    static final String OK = "OK";
+    static final String ERRO = "ERRO";
+    static final String REJEITADA = "REJEITADA:";
+    static final String APROVADA = "APROVADA";
+
+    public static void main(String[] args) throws Exception {
+        PrintWriter saida = new PrintWriter(
+            new OutputStreamWriter(System.out, StandardCharsets.UTF_8), false
+        );
+        System.setOut(new PrintStream(System.err, true, StandardCharsets.UTF_8.name()));
+
+        BufferedReader entrada = new BufferedReader(
+            new InputStreamReader(System.in, StandardCharsets.UTF_8)
+        );
+
+        // Mesmo motor do modo em processo; filtro e regiões chegam do painel a cada pedido
+        FiltroQualidadeImagem filtro = new FiltroQualidadeImagem();
+        CacheRegioesVisor cacheRegioes = new CacheRegioesVisor();
+        try (LeitorTessAPIImpl leitor = new LeitorTessAPIImpl(
+                new PreProcessadorImagem(new CarregadorImagem(), filtro), cacheRegioes)) {
+            String linha;
+            while ((linha = entrada.readLine()) != null) {
+                String[] campos = linha.split(SEPARADOR, -1);
+                if (campos.length != 4 || campos[0].isEmpty()) {
+                    continue;
+                }
+                String id = campos[0];
+                String caminhoImagem = campos[1];
+                int idSHA = ConvencaoImagemSHA.extrairIdSHA(caminhoImagem);
+
+                String resposta;
+                long aprovadosAntes = filtro.getAprovados(idSHA);
+                try {
+                    aplicarLimiares(filtro, campos[2]);
+                    String regiaoPainel = campos[3];
+                    sincronizarRegiao(cacheRegioes, idSHA, regiaoPainel);
+
+                    ResultadoReconhecimento resultado = leitor.reconhecer(caminhoImagem);
+                    String regiaoAtual = serializarRegiao(idSHA > 0 ? cacheRegioes.obter(idSHA) : null);
+                    resposta = id + SEPARADOR + OK + SEPARADOR + resultado.getValor() + SEPARADOR +
+                               resultado.getConfianca() + SEPARADOR +
+                               (regiaoAtual.equals(regiaoPainel) ? VAZIO : regiaoAtual);
+                } catch (ImagemRejeitadaException e) {
+                    resposta = id + SEPARADOR + REJEITADA + e.getMotivo().name() + SEPARADOR +
+                               limparMensagem(e.getMessage());
+                } catch (ErroDeLeituraImagemException | RuntimeException e) {
+                    boolean aprovada = filtro.getAprovados(idSHA) > aprovadosAntes;
+                    resposta = id + SEPARADOR + ERRO + SEPARADOR + (aprovada ? APROVADA : VAZIO) +
+                               SEPARADOR + limparMensagem(e.getMessage());
+                }
+                saida.println(resposta);
+                saida.flush();
+            }
+        }
+    }
+
+    /**
+     * Aplica os limiares do filtro de qualidade enviados pelo painel.
+     */
+    private static void aplicarLimiares(FiltroQualidadeImagem filtro, String limiares) {
+        String[] valores = limiares.split(SEPARADOR_CAMPOS);
+        if (valores.length != 4) {
+            throw new IllegalArgumentException("Limiares do filtro inválidos: " + limiares);
+        }
+        filtro.setNitidezMinima(Double.parseDouble(valores[0]));
+        filtro.setFracaoExposicaoMaxima(Double.parseDouble(valores[1]));
+        filtro.setDensidadeBordas(Double.parseDouble(valores[2]), Double.parseDouble(valores[3]));
+    }
+
+    /**
+     * Deixa o cache local igual à região que o painel tem para o SHA.
+     */
+    private static void sincronizarRegiao(CacheRegioesVisor cacheRegioes, int idSHA, String regiao) {
+        if (idSHA <= 0) {
+            return;
+        }
+        RegiaoVisor doPainel = lerRegiao(regiao, idSHA);
+        if (doPainel == null) {
+            cacheRegioes.invalidar(idSHA);
+        } else if (!regiao.equals(serializarRegiao(cacheRegioes.obter(idSHA)))) {
+            cacheRegioes.registrar(doPainel);
+        }
+    }
+
+    /**
+     * Limiares atuais do filtro no formato do pedido.
+     */
+    static String serializarLimiares(FiltroQualidadeImagem filtro) {
+        return filtro.getNitidezMinima() + SEPARADOR_CAMPOS + filtro.getFracaoExposicaoMaxima() +
+               SEPARADOR_CAMPOS + filtro.getDensidadeBordasMinima() +
+               SEPARADOR_CAMPOS + filtro.getDensidadeBordasMaxima();
+    }
+
+    /**
+     * Região no formato do protocolo ("-" se null).
+     */
+    static String serializarRegiao(RegiaoVisor regiao) {
+        if (regiao == null) {
+            return VAZIO;
+        }
+        return regiao.getX() + SEPARADOR_CAMPOS + regiao.getY() + SEPARADOR_CAMPOS +
+               regiao.getLargura() + SEPARADOR_CAMPOS + regiao.getAltura() + SEPARADOR_CAMPOS +
+               regiao.getLarguraQuadro() + SEPARADOR_CAMPOS + regiao.getAlturaQuadro() +
+               SEPARADOR_CAMPOS + regiao.getInclinacao();
+    }
+
+    /**
+     * @return Região lida do protocolo, ou null se "-"
+     * @throws IllegalArgumentException Se o formato for inválido
+     */
+    static RegiaoVisor lerRegiao(String regiao, int idSHA) {
+        if (regiao == null || VAZIO.equals(regiao)) {
+            return null;
+        }
+        String[] valores = regiao.split(SEPARADOR_CAMPOS);
+        if (valores.length != 7) {
+            throw new IllegalArgumentException("Região do visor inválida: " + regiao);
+        }
+        return new RegiaoVisor(idSHA,
+            Integer.parseInt(valores[0]), Integer.parseInt(valores[1]),
+            Integer.parseInt(valores[2]), Integer.parseInt(valores[3]),
+            Integer.parseInt(valores[4]), Integer.parseInt(valores[5]),
+            Double.parseDouble(valores[6]));
+    }
+
+    /**
+     * Mensagem em uma única linha, sem o separador do protocolo.
+     */
+    static String limparMensagem(String mensagem) {
+        if (mensagem == null) {
+            return "erro sem mensagem";
+        }
+        return mensagem.replace('\t', ' ').replace('\r', ' ').replace('\n', ' ');
+    }
+}
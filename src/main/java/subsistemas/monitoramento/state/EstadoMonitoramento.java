@@ -1,6 +1,6 @@
 package subsistemas.monitoramento.state;
 
-import subsistemas.monitoramento.MonitorConsumo;
+import subsistemas.monitoramento.ContextoMonitoramento;
 
 /**
  * Interface State para gerenciamento de estados do monitoramento.
@@ -17,7 +17,7 @@ import subsistemas.monitoramento.MonitorConsumo;
  * PADRÃO STATE (Marcos Brizeno):
  * - Interface define operações comuns
  * - Cada estado concreto implementa comportamento específico
- * - Contexto (MonitorConsumo) delega para o estado atual
+ * - Contexto (ContextoMonitoramento, um por conta) delega para o estado atual
  * - Estados podem mudar dinamicamente
  *
  * @pattern State (Interface)
@@ -31,35 +31,35 @@ public interface EstadoMonitoramento {
      *
      * @param contexto Contexto do monitoramento
      */
-    void iniciar(MonitorConsumo contexto);
+    void iniciar(ContextoMonitoramento contexto);
 
     /**
      * Pausa o monitoramento.
      *
      * @param contexto Contexto do monitoramento
      */
-    void pausar(MonitorConsumo contexto);
+    void pausar(ContextoMonitoramento contexto);
 
     /**
      * Retoma o monitoramento pausado.
      *
      * @param contexto Contexto do monitoramento
      */
-    void retomar(MonitorConsumo contexto);
+    void retomar(ContextoMonitoramento contexto);
 
     /**
      * Para o monitoramento.
      *
      * @param contexto Contexto do monitoramento
      */
-    void parar(MonitorConsumo contexto);
+    void parar(ContextoMonitoramento contexto);
 
     /**
      * Executa leitura de consumo.
      *
      * @param contexto Contexto do monitoramento
      */
-    void executarLeitura(MonitorConsumo contexto);
+    void executarLeitura(ContextoMonitoramento contexto);
 
     /**
      * Retorna o nome do estado.
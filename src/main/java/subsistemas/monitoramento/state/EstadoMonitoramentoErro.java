@@ -1,6 +1,6 @@
 package subsistemas.monitoramento.state;
 
-import subsistemas.monitoramento.MonitorConsumo;
+import subsistemas.monitoramento.ContextoMonitoramento;
 
 /**
  * Estado ERRO: Falha persistente na leitura (após múltiplas tentativas).
@@ -13,7 +13,8 @@ import subsistemas.monitoramento.MonitorConsumo;
  * - ❌ executarLeitura() - Bloqueada (estado de erro)
  *
  * Transição para ERRO:
- * - Após 3 falhas consecutivas de leitura
+ * - Após 3 falhas consecutivas da própria conta (falhas de câmera/OCR ficam
+ *   com os disjuntores dos SHAs, que se recuperam sozinhos)
  *
  * @pattern State (Estado Concreto)
  * @author Pedro Henrique
@@ -40,7 +41,7 @@ public class EstadoMonitoramentoErro implements EstadoMonitoramento {
     }
 
     @Override
-    public void iniciar(MonitorConsumo contexto) {
+    public void iniciar(ContextoMonitoramento contexto) {
         // Permite reiniciar após erro (tentativa de recuperação)
         contexto.resetarContadorFalhas();
         contexto.setEstadoMonitoramento(new EstadoMonitoramentoIniciado());
@@ -48,23 +49,23 @@ public class EstadoMonitoramentoErro implements EstadoMonitoramento {
     }
 
     @Override
-    public void pausar(MonitorConsumo contexto) {
+    public void pausar(ContextoMonitoramento contexto) {
         System.out.println("⚠️  Monitoramento em ERRO não pode ser pausado");
     }
 
     @Override
-    public void retomar(MonitorConsumo contexto) {
+    public void retomar(ContextoMonitoramento contexto) {
         System.out.println("⚠️  Monitoramento em ERRO. Use iniciar() para tentar recuperar");
     }
 
     @Override
-    public void parar(MonitorConsumo contexto) {
+    public void parar(ContextoMonitoramento contexto) {
         contexto.setEstadoMonitoramento(new EstadoMonitoramentoParado());
         System.out.println("⏹️  Monitoramento parado (estava em erro)");
     }
 
     @Override
-    public void executarLeitura(MonitorConsumo contexto) {
+    public void executarLeitura(ContextoMonitoramento contexto) {
         // Estado ERRO: não executa leitura
         System.out.println("❌ Estado ERRO: Leitura bloqueada (" + motivoErro + ")");
     }
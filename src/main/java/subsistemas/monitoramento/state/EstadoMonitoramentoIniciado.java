@@ -1,6 +1,6 @@
 package subsistemas.monitoramento.state;
 
-import subsistemas.monitoramento.MonitorConsumo;
+import subsistemas.monitoramento.ContextoMonitoramento;
 
 /**
  * Estado INICIADO: Coleta ativa de dados em intervalos configurados.
@@ -19,29 +19,29 @@ import subsistemas.monitoramento.MonitorConsumo;
 public class EstadoMonitoramentoIniciado implements EstadoMonitoramento {
 
     @Override
-    public void iniciar(MonitorConsumo contexto) {
+    public void iniciar(ContextoMonitoramento contexto) {
         System.out.println("⚠️  Monitoramento já está iniciado");
     }
 
     @Override
-    public void pausar(MonitorConsumo contexto) {
+    public void pausar(ContextoMonitoramento contexto) {
         contexto.setEstadoMonitoramento(new EstadoMonitoramentoPausado());
         System.out.println("⏸️  Monitoramento pausado");
     }
 
     @Override
-    public void retomar(MonitorConsumo contexto) {
+    public void retomar(ContextoMonitoramento contexto) {
         System.out.println("⚠️  Monitoramento já está ativo");
     }
 
     @Override
-    public void parar(MonitorConsumo contexto) {
+    public void parar(ContextoMonitoramento contexto) {
         contexto.setEstadoMonitoramento(new EstadoMonitoramentoParado());
         System.out.println("⏹️  Monitoramento parado");
     }
 
     @Override
-    public void executarLeitura(MonitorConsumo contexto) {
+    public void executarLeitura(ContextoMonitoramento contexto) {
         // Estado INICIADO: executa leitura normalmente
         // A lógica real de leitura está no MonitorConsumo
         System.out.println("📊 Estado INICIADO: Executando leitura...");
@@ -1,6 +1,6 @@
 package subsistemas.monitoramento.state;
 
-import subsistemas.monitoramento.MonitorConsumo;
+import subsistemas.monitoramento.ContextoMonitoramento;
 
 /**
  * Estado PARADO: Monitoramento inativo.
@@ -19,28 +19,28 @@ import subsistemas.monitoramento.MonitorConsumo;
 public class EstadoMonitoramentoParado implements EstadoMonitoramento {
 
     @Override
-    public void iniciar(MonitorConsumo contexto) {
+    public void iniciar(ContextoMonitoramento contexto) {
         contexto.setEstadoMonitoramento(new EstadoMonitoramentoIniciado());
         System.out.println("▶️  Monitoramento iniciado");
     }
 
     @Override
-    public void pausar(MonitorConsumo contexto) {
+    public void pausar(ContextoMonitoramento contexto) {
         System.out.println("⚠️  Monitoramento não está ativo");
     }
 
     @Override
-    public void retomar(MonitorConsumo contexto) {
+    public void retomar(ContextoMonitoramento contexto) {
         System.out.println("⚠️  Monitoramento não está pausado. Use iniciar()");
     }
 
     @Override
-    public void parar(MonitorConsumo contexto) {
+    public void parar(ContextoMonitoramento contexto) {
         System.out.println("⚠️  Monitoramento já está parado");
     }
 
     @Override
-    public void executarLeitura(MonitorConsumo contexto) {
+    public void executarLeitura(ContextoMonitoramento contexto) {
         // Estado PARADO: não executa leitura
         System.out.println("⏹️  Estado PARADO: Leitura bloqueada");
     }
@@ -1,6 +1,6 @@
 package subsistemas.monitoramento.state;
 
-import subsistemas.monitoramento.MonitorConsumo;
+import subsistemas.monitoramento.ContextoMonitoramento;
 
 /**
  * Estado PAUSADO: Mantém configuração, mas não coleta dados.
@@ -19,29 +19,29 @@ import subsistemas.monitoramento.MonitorConsumo;
 public class EstadoMonitoramentoPausado implements EstadoMonitoramento {
 
     @Override
-    public void iniciar(MonitorConsumo contexto) {
+    public void iniciar(ContextoMonitoramento contexto) {
         System.out.println("⚠️  Use retomar() para voltar ao estado ativo");
     }
 
     @Override
-    public void pausar(MonitorConsumo contexto) {
+    public void pausar(ContextoMonitoramento contexto) {
         System.out.println("⚠️  Monitoramento já está pausado");
     }
 
     @Override
-    public void retomar(MonitorConsumo contexto) {
+    public void retomar(ContextoMonitoramento contexto) {
         contexto.setEstadoMonitoramento(new EstadoMonitoramentoIniciado());
         System.out.println("▶️  Monitoramento retomado");
     }
 
     @Override
-    public void parar(MonitorConsumo contexto) {
+    public void parar(ContextoMonitoramento contexto) {
         contexto.setEstadoMonitoramento(new EstadoMonitoramentoParado());
         System.out.println("⏹️  Monitoramento parado");
     }
 
     @Override
-    public void executarLeitura(MonitorConsumo contexto) {
+    public void executarLeitura(ContextoMonitoramento contexto) {
         // Estado PAUSADO: não executa leitura
         System.out.println("⏸️  Estado PAUSADO: Leitura bloqueada");
     }
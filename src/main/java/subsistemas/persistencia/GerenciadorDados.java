@@ -3,6 +3,8 @@ package subsistemas.persistencia;
 import modelo.Usuario;
 import modelo.ContaAgua;
 import modelo.Alerta;
+import modelo.RegiaoVisor;
+import modelo.AgendamentoMonitoramento;
 
 import java.util.List;
 
@@ -24,6 +26,8 @@ import java.util.List;
  * - "Usuario" → CPF como chave
  * - "Conta" → numeroConta como chave
  * - "Alerta" → ID como chave
+ * - "RegiaoVisor" → ID do SHA como chave
+ * - "AgendamentoMonitoramento" → numeroConta como chave
  *
  * @pattern Bridge (Abstração)
  * @author Pedro Henrique
@@ -330,5 +334,121 @@ public class GerenciadorDados {
             return false;
         }
     }
-}
 
+    // ========================================================================
+    // REGIÕES DO VISOR (ROI por SHA) - Métodos de Alto Nível
+    // ========================================================================
+
+    /**
+     * Salva a região do visor detectada para um SHA.
+     *
+     * @param regiao Região a ser salva
+     * @return true se salvou com sucesso
+     */
+    public boolean salvarRegiaoVisor(RegiaoVisor regiao) {
+        if (regiao == null) {
+            return false;
+        }
+
+        try {
+            // BRIDGE: Delega para o implementador
+            String chave = String.valueOf(regiao.getIdSHA());
+            implementador.gravarRegistro("RegiaoVisor", chave, regiao);
+            return true;
+        } catch (Exception e) {
+            System.err.println("Erro ao salvar região do visor: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Lista todas as regiões de visor persistidas.
+     *
+     * @return Lista de regiões (vazia se nenhuma)
+     */
+    public List<RegiaoVisor> listarRegioesVisor() {
+        try {
+            // BRIDGE: Delega para o implementador
+            return implementador.listarRegistros("RegiaoVisor", RegiaoVisor.class);
+        } catch (Exception e) {
+            System.err.println("Erro ao listar regiões do visor: " + e.getMessage());
+            return List.of();
+        }
+    }
+
+    /**
+     * Remove a região do visor de um SHA.
+     *
+     * @param idSHA ID do SHA
+     * @return true se removeu com sucesso
+     */
+    public boolean removerRegiaoVisor(int idSHA) {
+        try {
+            // BRIDGE: Delega para o implementador
+            return implementador.removerRegistro("RegiaoVisor", String.valueOf(idSHA));
+        } catch (Exception e) {
+            System.err.println("Erro ao remover região do visor: " + e.getMessage());
+            return false;
+        }
+    }
+
+    // ========================================================================
+    // AGENDAMENTOS DE MONITORAMENTO - Métodos de Alto Nível
+    // ========================================================================
+
+    /**
+     * Salva (ou substitui) o agendamento de monitoramento de uma conta.
+     *
+     * @param agendamento Agendamento a ser salvo
+     * @return true se salvou com sucesso
+     */
+    public boolean salvarAgendamentoMonitoramento(AgendamentoMonitoramento agendamento) {
+        if (agendamento == null || agendamento.getNumeroConta() == null) {
+            return false;
+        }
+
+        try {
+            // BRIDGE: Delega para o implementador
+            implementador.gravarRegistro("AgendamentoMonitoramento", agendamento.getNumeroConta(), agendamento);
+            return true;
+        } catch (Exception e) {
+            System.err.println("Erro ao salvar agendamento de monitoramento: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Lista todos os agendamentos de monitoramento persistidos.
+     *
+     * @return Lista de agendamentos (vazia se nenhum)
+     */
+    public List<AgendamentoMonitoramento> listarAgendamentosMonitoramento() {
+        try {
+            // BRIDGE: Delega para o implementador
+            return implementador.listarRegistros("AgendamentoMonitoramento", AgendamentoMonitoramento.class);
+        } catch (Exception e) {
+            System.err.println("Erro ao listar agendamentos de monitoramento: " + e.getMessage());
+            return List.of();
+        }
+    }
+
+    /**
+     * Remove o agendamento de monitoramento de uma conta.
+     *
+     * @param numeroConta Número da conta
+     * @return true se removeu com sucesso
+     */
+    public boolean removerAgendamentoMonitoramento(String numeroConta) {
+        if (numeroConta == null || numeroConta.trim().isEmpty()) {
+            return false;
+        }
+
+        try {
+            // BRIDGE: Delega para o implementador
+            return implementador.removerRegistro("AgendamentoMonitoramento", numeroConta);
+        } catch (Exception e) {
+            System.err.println("Erro ao remover agendamento de monitoramento: " + e.getMessage());
+            return false;
+        }
+    }
+}
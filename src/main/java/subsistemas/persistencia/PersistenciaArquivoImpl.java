@@ -3,8 +3,14 @@ package subsistemas.persistencia;
 import modelo.Usuario;
 import modelo.ContaAgua;
 import modelo.Alerta;
+import modelo.RegiaoVisor;
+import modelo.AgendamentoMonitoramento;
 import modelo.enums.PerfilUsuario;
 import modelo.enums.TipoEstadoConta;
+import subsistemas.contas.state.EstadoContaAtiva;
+import subsistemas.contas.state.EstadoContaCancelada;
+import subsistemas.contas.state.EstadoContaInadimplente;
+import subsistemas.contas.state.EstadoContaSuspensa;
 
 import java.io.*;
 import java.nio.file.Files;
@@ -149,6 +155,10 @@ public class PersistenciaArquivoImpl implements PersistenciaImplementador {
             return contaParaJson((ContaAgua) objeto);
         } else if (objeto instanceof Alerta) {
             return alertaParaJson((Alerta) objeto);
+        } else if (objeto instanceof RegiaoVisor) {
+            return regiaoVisorParaJson((RegiaoVisor) objeto);
+        } else if (objeto instanceof AgendamentoMonitoramento) {
+            return agendamentoParaJson((AgendamentoMonitoramento) objeto);
         }
         throw new IllegalArgumentException("Tipo não suportado: " + objeto.getClass().getName());
     }
@@ -161,6 +171,10 @@ public class PersistenciaArquivoImpl implements PersistenciaImplementador {
             return (T) jsonParaConta(json);
         } else if (classe == Alerta.class) {
             return (T) jsonParaAlerta(json);
+        } else if (classe == RegiaoVisor.class) {
+            return (T) jsonParaRegiaoVisor(json);
+        } else if (classe == AgendamentoMonitoramento.class) {
+            return (T) jsonParaAgendamento(json);
         }
         throw new IllegalArgumentException("Tipo não suportado: " + classe.getName());
     }
@@ -237,6 +251,22 @@ public class PersistenciaArquivoImpl implements PersistenciaImplementador {
 
         ContaAgua conta = new ContaAgua(numeroConta, cpfUsuario);
 
+        // PADRÃO STATE: restaura o estado salvo (não é uma transição)
+        conta.setTipoEstado(estado);
+        switch (estado) {
+            case SUSPENSA:
+                conta.setEstado(new EstadoContaSuspensa());
+                break;
+            case INADIMPLENTE:
+                conta.setEstado(new EstadoContaInadimplente());
+                break;
+            case CANCELADA:
+                conta.setEstado(new EstadoContaCancelada());
+                break;
+            default:
+                conta.setEstado(new EstadoContaAtiva());
+        }
+
         // Extrai SHAs (array de inteiros)
         String shasStr = extrairArray(json, "shaIds");
         if (shasStr != null && !shasStr.isEmpty()) {
@@ -300,6 +330,82 @@ public class PersistenciaArquivoImpl implements PersistenciaImplementador {
         return alerta;
     }
 
+    // RegiaoVisor -> JSON
+    private String regiaoVisorParaJson(RegiaoVisor r) {
+        return String.format(
+            "{\n" +
+            "  \"idSHA\": %d,\n" +
+            "  \"x\": %d,\n" +
+            "  \"y\": %d,\n" +
+            "  \"largura\": %d,\n" +
+            "  \"altura\": %d,\n" +
+            "  \"larguraQuadro\": %d,\n" +
+            "  \"alturaQuadro\": %d,\n" +
+            "  \"inclinacao\": %s,\n" +
+            "  \"dataDeteccao\": \"%s\"\n" +
+            "}",
+            r.getIdSHA(),
+            r.getX(),
+            r.getY(),
+            r.getLargura(),
+            r.getAltura(),
+            r.getLarguraQuadro(),
+            r.getAlturaQuadro(),
+            String.valueOf(r.getInclinacao()),
+            r.getDataDeteccao().format(FORMATTER)
+        );
+    }
+
+    // JSON -> RegiaoVisor
+    private RegiaoVisor jsonParaRegiaoVisor(String json) {
+        RegiaoVisor regiao = new RegiaoVisor(
+            Integer.parseInt(extrairValor(json, "idSHA")),
+            Integer.parseInt(extrairValor(json, "x")),
+            Integer.parseInt(extrairValor(json, "y")),
+            Integer.parseInt(extrairValor(json, "largura")),
+            Integer.parseInt(extrairValor(json, "altura")),
+            Integer.parseInt(extrairValor(json, "larguraQuadro")),
+            Integer.parseInt(extrairValor(json, "alturaQuadro")),
+            Double.parseDouble(extrairValor(json, "inclinacao"))
+        );
+        try {
+            regiao.setDataDeteccao(LocalDateTime.parse(extrairValor(json, "dataDeteccao"), FORMATTER));
+        } catch (Exception ignored) {}
+        return regiao;
+    }
+
+    // AgendamentoMonitoramento -> JSON
+    private String agendamentoParaJson(AgendamentoMonitoramento a) {
+        return String.format(
+            "{\n" +
+            "  \"numeroConta\": \"%s\",\n" +
+            "  \"intervaloMinimoSegundos\": %d,\n" +
+            "  \"intervaloMaximoSegundos\": %d,\n" +
+            "  \"pausado\": %s,\n" +
+            "  \"dataAtualizacao\": \"%s\"\n" +
+            "}",
+            escapar(a.getNumeroConta()),
+            a.getIntervaloMinimoSegundos(),
+            a.getIntervaloMaximoSegundos(),
+            a.isPausado(),
+            a.getDataAtualizacao().format(FORMATTER)
+        );
+    }
+
+    // JSON -> AgendamentoMonitoramento
+    private AgendamentoMonitoramento jsonParaAgendamento(String json) {
+        AgendamentoMonitoramento agendamento = new AgendamentoMonitoramento(
+            extrairValor(json, "numeroConta"),
+            Integer.parseInt(extrairValor(json, "intervaloMinimoSegundos")),
+            Integer.parseInt(extrairValor(json, "intervaloMaximoSegundos")),
+            Boolean.parseBoolean(extrairValor(json, "pausado"))
+        );
+        try {
+            agendamento.setDataAtualizacao(LocalDateTime.parse(extrairValor(json, "dataAtualizacao"), FORMATTER));
+        } catch (Exception ignored) {}
+        return agendamento;
+    }
+
     // ========================================================================
     // MÉTODOS AUXILIARES
     // ========================================================================
@@ -1,17 +1,24 @@
 package subsistemas.sincronizacao;
 
 import subsistemas.log.SistemaLog;
+import subsistemas.monitoramento.EstagioPipeline;
 
 import java.io.*;
 import java.nio.file.*;
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Gerenciador de sincronização de múltiplos simuladores de hidrômetro.
  * Executa em background e sincroniza automaticamente as imagens dos simuladores
  * para o diretório saida/ do painel.
  *
+ * A cada rodada o timer apenas enfileira uma cópia por simulador no estágio
+ * de chegada de imagens (fila limitada, threads próprias): um simulador lento
+ * não atrasa os demais, e uma cópia ainda pendente não é enfileirada de novo
+ * (a próxima rodada já copia uma imagem mais nova).
+ *
  * @pattern Singleton
  * @author Pedro Henrique
  */
@@ -20,7 +27,15 @@ public class GerenciadorSincronizacao {
     private static GerenciadorSincronizacao instancia;
     private final SistemaLog log;
 
+    private static final int THREADS_CHEGADA = 2;
+
     private ScheduledExecutorService executor;
+    private EstagioPipeline<Map.Entry<String, String>> estagioChegada;
+    private final Set<String> copiasPendentes = ConcurrentHashMap.newKeySet();
+    private int pendentesUltimaRodada = 0;
+    // Cópias concluídas pelo estágio de chegada desde a última rodada
+    private final AtomicInteger sucessosRodada = new AtomicInteger(0);
+    private final AtomicInteger falhasRodada = new AtomicInteger(0);
     private final Map<String, String> simuladores; // Caminho -> SHA ID
     private final String diretorioSaida;
     private boolean executando = false;
@@ -157,6 +172,14 @@ public class GerenciadorSincronizacao {
             return;
         }
 
+        // Capacidade fixa: simuladores adicionados depois também cabem, e
+        // copiasPendentes já limita cada simulador a uma cópia enfileirada
+        estagioChegada = new EstagioPipeline<>("chegada", THREADS_CHEGADA,
+            EstagioPipeline.CAPACIDADE_PADRAO, this::copiarSimulador);
+        pendentesUltimaRodada = 0;
+        sucessosRodada.set(0);
+        falhasRodada.set(0);
+
         executor = Executors.newSingleThreadScheduledExecutor(r -> {
             Thread t = new Thread(r, "SincronizadorSHA");
             t.setDaemon(true);
@@ -194,6 +217,10 @@ public class GerenciadorSincronizacao {
                 Thread.currentThread().interrupt();
             }
         }
+        if (estagioChegada != null) {
+            estagioChegada.encerrar();
+            copiasPendentes.clear();
+        }
 
         executando = false;
         log.info("Sincronização automática parada");
@@ -207,31 +234,61 @@ public class GerenciadorSincronizacao {
     }
 
     /**
-     * Sincroniza todos os simuladores (ciclo único)
+     * Sincroniza todos os simuladores (ciclo único): enfileira uma cópia por
+     * simulador no estágio de chegada, exceto os que ainda têm cópia pendente,
+     * e registra as cópias concluídas desde a rodada anterior.
      */
     private void sincronizarTodos() {
-        int sucesso = 0;
-        int falhas = 0;
+        int sucesso = sucessosRodada.getAndSet(0);
+        int falhas = falhasRodada.getAndSet(0);
+        if (sucesso > 0 || falhas > 0) {
+            log.info(String.format("Sincronização: %d sucesso(s), %d falha(s), %d total",
+                                  sucesso, falhas, simuladores.size()));
+        }
 
-        for (Map.Entry<String, String> entry : simuladores.entrySet()) {
-            String caminho = entry.getKey();
-            String shaId = entry.getValue();
+        int enfileirados = 0;
+        int pendentes = 0;
 
-            try {
-                if (sincronizarSimulador(caminho, shaId)) {
-                    sucesso++;
-                } else {
-                    falhas++;
-                }
-            } catch (Exception e) {
-                falhas++;
-                log.error("Erro ao sincronizar SHA " + shaId + ": " + e.getMessage());
+        for (Map.Entry<String, String> entry : new ArrayList<>(simuladores.entrySet())) {
+            if (!copiasPendentes.add(entry.getKey())) {
+                pendentes++;
+                continue;
+            }
+            if (estagioChegada.oferecer(new AbstractMap.SimpleImmutableEntry<>(entry))) {
+                enfileirados++;
+            } else {
+                copiasPendentes.remove(entry.getKey());
+                pendentes++;
             }
         }
 
-        if (sucesso > 0 || falhas > 0) {
-            log.info(String.format("Sincronização: %d sucesso(s), %d falha(s), %d total",
-                                  sucesso, falhas, simuladores.size()));
+        // Registra só mudanças no número de pendentes, não toda rodada
+        if (pendentes != pendentesUltimaRodada) {
+            if (pendentes > 0) {
+                log.warn(String.format("Sincronização: %d cópia(s) enfileirada(s), %d ainda pendente(s)",
+                                      enfileirados, pendentes));
+            } else {
+                log.info("Sincronização: cópias pendentes concluídas");
+            }
+            pendentesUltimaRodada = pendentes;
+        }
+    }
+
+    /**
+     * Estágio de chegada: copia a imagem mais recente de um simulador.
+     */
+    private void copiarSimulador(Map.Entry<String, String> simulador) {
+        try {
+            if (sincronizarSimulador(simulador.getKey(), simulador.getValue())) {
+                sucessosRodada.incrementAndGet();
+            } else {
+                falhasRodada.incrementAndGet();
+            }
+        } catch (Exception e) {
+            falhasRodada.incrementAndGet();
+            log.error("Erro ao sincronizar SHA " + simulador.getValue() + ": " + e.getMessage());
+        } finally {
+            copiasPendentes.remove(simulador.getKey());
         }
     }
 
@@ -367,7 +424,7 @@ public class GerenciadorSincronizacao {
         if (!executando) {
             return "Parado";
         }
-        return String.format("Executando (%d simulador(es), intervalo de %ds)",
-                           simuladores.size(), intervaloSegundos);
+        return String.format("Executando (%d simulador(es), intervalo de %ds) | %s",
+                           simuladores.size(), intervaloSegundos, estagioChegada.getEstatisticas());
     }
 }
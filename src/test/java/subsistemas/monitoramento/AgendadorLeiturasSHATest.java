@@ -0,0 +1,116 @@
+package subsistemas.monitoramento;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Testes do AgendadorLeiturasSHA: período efetivo por SHA, um agendamento
+ * por SHA na roda e remoção da entrada após o último cancelamento.
+ *
+ * @author Pedro Henrique
+ * @date 2026-10-16
+ */
+public class AgendadorLeiturasSHATest {
+
+    private static final int SHA = 3;
+
+    private RodaTemporizacao roda;
+    private AgendadorLeiturasSHA agendador;
+
+    @Before
+    public void criar() {
+        roda = new RodaTemporizacao(10, 64, "roda-teste");
+        agendador = new AgendadorLeiturasSHA(roda, Runnable::run,
+            idSHA -> ResultadoLeitura.sucesso("sha" + idSHA + ".jpg", idSHA));
+    }
+
+    @After
+    public void encerrar() {
+        roda.encerrar();
+    }
+
+    @Test
+    public void periodoEfetivoEhOMenorEntreOsAssinantes() {
+        agendador.assinar(SHA, "conta:1", 5_000, null);
+        assertEquals(5_000, agendador.getPeriodoEfetivoMs(SHA));
+
+        agendador.assinar(SHA, "conta:2", 2_000, null);
+        assertEquals(2_000, agendador.getPeriodoEfetivoMs(SHA));
+
+        agendador.cancelar(SHA, "conta:2");
+        assertEquals(5_000, agendador.getPeriodoEfetivoMs(SHA));
+    }
+
+    @Test
+    public void novaAssinaturaDoMesmoAssinanteSubstituiAAnterior() {
+        agendador.assinar(SHA, "conta:1", 1_000, null);
+        agendador.assinar(SHA, "conta:1", 3_000, null);
+        assertEquals(3_000, agendador.getPeriodoEfetivoMs(SHA));
+    }
+
+    @Test
+    public void demandaSemOuvinteNaoAgendaLeituras() {
+        agendador.assinar(SHA, "conta:1", 1_000, null);
+        assertEquals(0, roda.getQuantidadeAgendamentos());
+    }
+
+    @Test
+    public void umAgendamentoPorSHAReagendadoQuandoOPeriodoMuda() {
+        agendador.assinar(SHA, "conta:1", 5_000, resultado -> { });
+        assertEquals(1, roda.getQuantidadeAgendamentos());
+
+        agendador.assinar(SHA, "conta:2", 1_000, resultado -> { });
+        assertEquals(1, roda.getQuantidadeAgendamentos());
+
+        agendador.cancelar(SHA, "conta:2");
+        assertEquals(1, roda.getQuantidadeAgendamentos());
+        assertEquals(5_000, agendador.getPeriodoEfetivoMs(SHA));
+    }
+
+    @Test
+    public void ultimoCancelamentoRemoveAEntradaEOAgendamento() {
+        agendador.assinar(SHA, "conta:1", 1_000, resultado -> { });
+        agendador.assinar(SHA, "conta:2", 2_000, null);
+
+        agendador.cancelar(SHA, "conta:1");
+        agendador.cancelar(SHA, "conta:2");
+        assertEquals(0, agendador.getPeriodoEfetivoMs(SHA));
+        assertEquals(0, roda.getQuantidadeAgendamentos());
+        assertTrue(agendador.getEstatisticas().startsWith("Agendador por SHA: 0 SHAs, 0 assinaturas"));
+
+        // A entrada removida não impede novas assinaturas
+        agendador.assinar(SHA, "conta:3", 4_000, null);
+        assertEquals(4_000, agendador.getPeriodoEfetivoMs(SHA));
+    }
+
+    @Test
+    public void cancelarAssinanteRemoveDeTodosOsSHAs() {
+        agendador.assinar(1, "conta:1", 1_000, null);
+        agendador.assinar(2, "conta:1", 1_000, null);
+        agendador.assinar(2, "conta:2", 3_000, null);
+
+        agendador.cancelarAssinante("conta:1");
+        assertEquals(0, agendador.getPeriodoEfetivoMs(1));
+        assertEquals(3_000, agendador.getPeriodoEfetivoMs(2));
+    }
+
+    @Test
+    public void leiturasSaoEntreguesAosOuvintes() throws InterruptedException {
+        CountDownLatch entregas = new CountDownLatch(2);
+        agendador.assinar(SHA, "conta:1", 20, resultado -> {
+            if (resultado.isSucesso() && resultado.getConsumo() == SHA) {
+                entregas.countDown();
+            }
+        });
+
+        assertTrue(entregas.await(2, TimeUnit.SECONDS));
+        assertTrue(agendador.getLeituras() >= 2);
+    }
+}
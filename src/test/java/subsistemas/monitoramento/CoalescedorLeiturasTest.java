@@ -0,0 +1,116 @@
+package subsistemas.monitoramento;
+
+import excecoes.ErroDeLeituraImagemException;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Testes do CoalescedorLeituras: líder e seguidores, janela de frescor e
+ * falhas que não são reaproveitadas.
+ *
+ * @author Pedro Henrique
+ * @date 2026-10-16
+ */
+public class CoalescedorLeiturasTest {
+
+    private static final int SHA = 7;
+    private static final String CAMINHO = "sha7.jpg";
+
+    private static ResultadoLeitura sucesso() {
+        return ResultadoLeitura.sucesso(CAMINHO, 12.5);
+    }
+
+    private static ResultadoLeitura falha() {
+        return ResultadoLeitura.falha(CAMINHO, new ErroDeLeituraImagemException("câmera sem imagem"));
+    }
+
+    @Test
+    public void primeiroChamadorLideraEOsDemaisAguardamOMesmoResultado() throws Exception {
+        CoalescedorLeituras coalescedor = new CoalescedorLeituras(10_000);
+        CoalescedorLeituras.Participacao lider = coalescedor.entrar(SHA);
+        CoalescedorLeituras.Participacao seguidor = coalescedor.entrar(SHA);
+
+        assertTrue(lider.isLider());
+        assertFalse(seguidor.isLider());
+        assertFalse(seguidor.getFuturo().isDone());
+
+        ResultadoLeitura resultado = sucesso();
+        coalescedor.concluir(lider, resultado);
+        assertSame(resultado, seguidor.getFuturo().get());
+        assertEquals(1, coalescedor.getLeituras());
+        assertEquals(1, coalescedor.getCompartilhadas());
+    }
+
+    @Test
+    public void shasDiferentesTemLideresProprios() {
+        CoalescedorLeituras coalescedor = new CoalescedorLeituras();
+        assertTrue(coalescedor.entrar(1).isLider());
+        assertTrue(coalescedor.entrar(2).isLider());
+        assertEquals(2, coalescedor.getLeituras());
+    }
+
+    @Test
+    public void sucessoDentroDaJanelaEhReaproveitado() throws Exception {
+        CoalescedorLeituras coalescedor = new CoalescedorLeituras(10_000);
+        CoalescedorLeituras.Participacao lider = coalescedor.entrar(SHA);
+        ResultadoLeitura resultado = sucesso();
+        coalescedor.concluir(lider, resultado);
+
+        CoalescedorLeituras.Participacao depois = coalescedor.entrar(SHA);
+        assertFalse(depois.isLider());
+        assertSame(resultado, depois.getFuturo().get());
+        assertEquals(1, coalescedor.getReaproveitadas());
+        assertSame(resultado, coalescedor.getRecente(SHA, 10_000));
+    }
+
+    @Test
+    public void sucessoForaDaJanelaIniciaNovaLeitura() throws InterruptedException {
+        CoalescedorLeituras coalescedor = new CoalescedorLeituras(20);
+        coalescedor.concluir(coalescedor.entrar(SHA), sucesso());
+
+        Thread.sleep(40);
+        assertTrue(coalescedor.entrar(SHA).isLider());
+        assertEquals(2, coalescedor.getLeituras());
+    }
+
+    @Test
+    public void janelaInformadaNaEntradaSubstituiAPadrao() {
+        CoalescedorLeituras coalescedor = new CoalescedorLeituras(10_000);
+        coalescedor.concluir(coalescedor.entrar(SHA), sucesso());
+
+        // Janela 0: apenas leituras em andamento são compartilhadas
+        assertTrue(coalescedor.entrar(SHA, 0).isLider());
+    }
+
+    @Test
+    public void falhaNaoEhReaproveitada() {
+        CoalescedorLeituras coalescedor = new CoalescedorLeituras(10_000);
+        coalescedor.concluir(coalescedor.entrar(SHA), falha());
+
+        assertNull(coalescedor.getRecente(SHA, 10_000));
+        assertTrue(coalescedor.entrar(SHA).isLider());
+        assertEquals(0, coalescedor.getReaproveitadas());
+    }
+
+    @Test
+    public void seguidoresDeUmaLeituraComFalhaRecebemAFalha() throws Exception {
+        CoalescedorLeituras coalescedor = new CoalescedorLeituras(10_000);
+        CoalescedorLeituras.Participacao lider = coalescedor.entrar(SHA);
+        CoalescedorLeituras.Participacao seguidor = coalescedor.entrar(SHA);
+
+        coalescedor.concluir(lider, falha());
+        assertFalse(seguidor.getFuturo().get().isSucesso());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void seguidorNaoConcluiALeitura() {
+        CoalescedorLeituras coalescedor = new CoalescedorLeituras();
+        coalescedor.entrar(SHA);
+        coalescedor.concluir(coalescedor.entrar(SHA), sucesso());
+    }
+}
@@ -0,0 +1,138 @@
+package subsistemas.monitoramento;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Testes das transições do DisjuntorLeitura (FECHADO → ABERTO → SEMIABERTO)
+ * e do recuo exponencial.
+ *
+ * @author Pedro Henrique
+ * @date 2026-10-16
+ */
+public class DisjuntorLeituraTest {
+
+    private static final long RECUO_INICIAL_MS = 50;
+    private static final long RECUO_MAXIMO_MS = 150;
+
+    private DisjuntorLeitura criar() {
+        return new DisjuntorLeitura(3, RECUO_INICIAL_MS, RECUO_MAXIMO_MS);
+    }
+
+    private DisjuntorLeitura abrir() {
+        DisjuntorLeitura disjuntor = criar();
+        for (int i = 0; i < 3; i++) {
+            assertTrue(disjuntor.permitir());
+            disjuntor.registrarFalha();
+        }
+        return disjuntor;
+    }
+
+    private static void aguardarRecuo(DisjuntorLeitura disjuntor) throws InterruptedException {
+        Thread.sleep(disjuntor.getTempoAteSondagemMs() + 20);
+    }
+
+    @Test
+    public void abreSomenteNoLimiteDeFalhasConsecutivas() {
+        DisjuntorLeitura disjuntor = criar();
+        disjuntor.registrarFalha();
+        disjuntor.registrarFalha();
+        assertEquals(DisjuntorLeitura.Estado.FECHADO, disjuntor.getEstado());
+        assertTrue(disjuntor.permitir());
+
+        disjuntor.registrarFalha();
+        assertEquals(DisjuntorLeitura.Estado.ABERTO, disjuntor.getEstado());
+        assertEquals(1, disjuntor.getAberturas());
+    }
+
+    @Test
+    public void sucessoZeraAsFalhasConsecutivas() {
+        DisjuntorLeitura disjuntor = criar();
+        disjuntor.registrarFalha();
+        disjuntor.registrarFalha();
+        disjuntor.registrarSucesso();
+        disjuntor.registrarFalha();
+        disjuntor.registrarFalha();
+        assertEquals(DisjuntorLeitura.Estado.FECHADO, disjuntor.getEstado());
+        assertEquals(2, disjuntor.getFalhasConsecutivas());
+    }
+
+    @Test
+    public void abertoBloqueiaAteOFimDoRecuo() {
+        DisjuntorLeitura disjuntor = abrir();
+        assertFalse(disjuntor.permitir());
+        assertEquals(1, disjuntor.getBloqueios());
+        assertTrue(disjuntor.getTempoAteSondagemMs() > 0);
+    }
+
+    @Test
+    public void aposORecuoPermiteUmaUnicaSondagem() throws InterruptedException {
+        DisjuntorLeitura disjuntor = abrir();
+        aguardarRecuo(disjuntor);
+
+        assertTrue(disjuntor.permitir());
+        assertEquals(DisjuntorLeitura.Estado.SEMIABERTO, disjuntor.getEstado());
+        assertFalse(disjuntor.permitir());
+    }
+
+    @Test
+    public void sondagemComSucessoFechaEZeraORecuo() throws InterruptedException {
+        DisjuntorLeitura disjuntor = abrir();
+        aguardarRecuo(disjuntor);
+        assertTrue(disjuntor.permitir());
+        disjuntor.registrarFalha();
+        assertEquals(2 * RECUO_INICIAL_MS, disjuntor.getRecuoAtualMs());
+
+        aguardarRecuo(disjuntor);
+        assertTrue(disjuntor.permitir());
+        disjuntor.registrarSucesso();
+        assertEquals(DisjuntorLeitura.Estado.FECHADO, disjuntor.getEstado());
+        assertEquals(RECUO_INICIAL_MS, disjuntor.getRecuoAtualMs());
+        assertEquals(0, disjuntor.getFalhasConsecutivas());
+    }
+
+    @Test
+    public void sondagemFalhaDobraORecuoAteOTeto() throws InterruptedException {
+        DisjuntorLeitura disjuntor = abrir();
+        assertEquals(RECUO_INICIAL_MS, disjuntor.getRecuoAtualMs());
+
+        long[] esperados = {100, 150, 150};
+        for (long esperado : esperados) {
+            aguardarRecuo(disjuntor);
+            assertTrue(disjuntor.permitir());
+            disjuntor.registrarFalha();
+            assertEquals(DisjuntorLeitura.Estado.ABERTO, disjuntor.getEstado());
+            assertEquals(esperado, disjuntor.getRecuoAtualMs());
+        }
+    }
+
+    @Test
+    public void sondagemInconclusivaLiberaNovaSondagemSemMudarOEstado() throws InterruptedException {
+        DisjuntorLeitura disjuntor = abrir();
+        aguardarRecuo(disjuntor);
+        assertTrue(disjuntor.permitir());
+
+        disjuntor.registrarInconclusiva();
+        assertEquals(DisjuntorLeitura.Estado.SEMIABERTO, disjuntor.getEstado());
+        assertEquals(RECUO_INICIAL_MS, disjuntor.getRecuoAtualMs());
+        assertTrue(disjuntor.permitir());
+    }
+
+    @Test
+    public void inconclusivaNaoContaComoFalha() {
+        DisjuntorLeitura disjuntor = criar();
+        disjuntor.registrarFalha();
+        disjuntor.registrarFalha();
+        disjuntor.registrarInconclusiva();
+        assertEquals(DisjuntorLeitura.Estado.FECHADO, disjuntor.getEstado());
+        assertEquals(2, disjuntor.getFalhasConsecutivas());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void recuoMaximoMenorQueInicialEhInvalido() {
+        new DisjuntorLeitura(3, 100, 50);
+    }
+}
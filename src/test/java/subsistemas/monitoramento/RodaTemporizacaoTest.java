@@ -0,0 +1,135 @@
+package subsistemas.monitoramento;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Testes da RodaTemporizacao: arredondamentos, voltas, cancelamento e
+ * rearme periódico.
+ *
+ * @author Pedro Henrique
+ * @date 2026-10-16
+ */
+public class RodaTemporizacaoTest {
+
+    private static final long TICK_MS = 10;
+
+    private RodaTemporizacao roda;
+
+    @After
+    public void encerrar() {
+        if (roda != null) {
+            roda.encerrar();
+        }
+    }
+
+    @Test
+    public void numeroDeSlotsEhArredondadoParaPotenciaDeDois() {
+        roda = new RodaTemporizacao(TICK_MS, 5, "roda-teste");
+        assertEquals(8, roda.getNumeroSlots());
+    }
+
+    @Test
+    public void periodoEhArredondadoParaCimaEmTicks() {
+        roda = new RodaTemporizacao(TICK_MS, 8, "roda-teste");
+        RodaTemporizacao.Agendamento agendamento = roda.agendarPeriodico(() -> { }, 0, 25);
+        assertEquals(30, agendamento.getPeriodoMs());
+
+        // Período menor que um tick ainda dispara a cada tick
+        assertEquals(TICK_MS, roda.agendarPeriodico(() -> { }, 0, 1).getPeriodoMs());
+    }
+
+    @Test
+    public void rearmaPeriodicamente() throws InterruptedException {
+        roda = new RodaTemporizacao(TICK_MS, 8, "roda-teste");
+        CountDownLatch disparos = new CountDownLatch(5);
+        roda.agendarPeriodico(disparos::countDown, 0, 20);
+
+        assertTrue(disparos.await(2, TimeUnit.SECONDS));
+        assertTrue(roda.getDisparos() >= 5);
+    }
+
+    @Test
+    public void atrasoMaiorQueUmaVoltaNaoDisparaAntes() throws InterruptedException {
+        // 4 slots de 10ms: uma volta = 40ms; 100ms exigem duas voltas e meia
+        roda = new RodaTemporizacao(TICK_MS, 4, "roda-teste");
+        AtomicLong primeiroDisparo = new AtomicLong();
+        CountDownLatch disparou = new CountDownLatch(1);
+        long inicio = System.nanoTime();
+        roda.agendarPeriodico(() -> {
+            if (primeiroDisparo.compareAndSet(0, System.nanoTime())) {
+                disparou.countDown();
+            }
+        }, 100, 1000);
+
+        assertTrue(disparou.await(2, TimeUnit.SECONDS));
+        long decorridoMs = TimeUnit.NANOSECONDS.toMillis(primeiroDisparo.get() - inicio);
+        assertTrue("disparou em " + decorridoMs + "ms", decorridoMs >= 100 - TICK_MS);
+    }
+
+    @Test
+    public void periodoMaiorQueUmaVoltaRespeitaOIntervalo() throws InterruptedException {
+        roda = new RodaTemporizacao(TICK_MS, 4, "roda-teste");
+        long[] instantes = new long[2];
+        AtomicInteger contador = new AtomicInteger();
+        CountDownLatch disparos = new CountDownLatch(2);
+        roda.agendarPeriodico(() -> {
+            int i = contador.getAndIncrement();
+            if (i < 2) {
+                instantes[i] = System.nanoTime();
+                disparos.countDown();
+            }
+        }, 0, 100);
+
+        assertTrue(disparos.await(2, TimeUnit.SECONDS));
+        long intervaloMs = TimeUnit.NANOSECONDS.toMillis(instantes[1] - instantes[0]);
+        assertTrue("intervalo de " + intervaloMs + "ms", intervaloMs >= 100 - TICK_MS);
+    }
+
+    @Test
+    public void cancelarInterrompeOsDisparos() throws InterruptedException {
+        roda = new RodaTemporizacao(TICK_MS, 8, "roda-teste");
+        AtomicInteger contador = new AtomicInteger();
+        CountDownLatch primeiro = new CountDownLatch(1);
+        RodaTemporizacao.Agendamento agendamento = roda.agendarPeriodico(() -> {
+            contador.incrementAndGet();
+            primeiro.countDown();
+        }, 0, TICK_MS);
+        assertEquals(1, roda.getQuantidadeAgendamentos());
+
+        assertTrue(primeiro.await(2, TimeUnit.SECONDS));
+        agendamento.cancelar();
+        assertTrue(agendamento.isCancelado());
+        assertEquals(0, roda.getQuantidadeAgendamentos());
+
+        // Um disparo em andamento pode terminar; depois disso, nenhum outro
+        int aposCancelar = contador.get();
+        Thread.sleep(10 * TICK_MS);
+        assertTrue(contador.get() <= aposCancelar + 1);
+    }
+
+    @Test
+    public void cancelarAntesDoPrimeiroDisparoNaoDispara() throws InterruptedException {
+        roda = new RodaTemporizacao(TICK_MS, 8, "roda-teste");
+        AtomicInteger contador = new AtomicInteger();
+        roda.agendarPeriodico(contador::incrementAndGet, 5 * TICK_MS, TICK_MS).cancelar();
+
+        Thread.sleep(15 * TICK_MS);
+        assertEquals(0, contador.get());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void rodaEncerradaRecusaAgendamentos() {
+        roda = new RodaTemporizacao(TICK_MS, 8, "roda-teste");
+        roda.encerrar();
+        roda.agendarPeriodico(() -> { }, 0, TICK_MS);
+    }
+}